@@ -0,0 +1,56 @@
+package com.example.icbc_road_test_notifier.appointment;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AppointmentResultsBenchmark {
+
+    @Param({"8", "100", "1000", "5000"})
+    public int slotCount;
+
+    private Map<String, List<String>> mapping;
+    private List<String> dates;
+    private List<String> timeSlots;
+    private AppointmentResults results;
+
+    @Setup
+    public void setUp() {
+        mapping = SlotFixtures.dateToSlots(slotCount);
+        dates = new ArrayList<>(mapping.keySet());
+        timeSlots = mapping.values().stream().flatMap(List::stream).toList();
+        results = new AppointmentResults(dates, timeSlots, mapping);
+    }
+
+    @Benchmark
+    public AppointmentResults construct() {
+        return new AppointmentResults(dates, timeSlots, mapping);
+    }
+
+    @Benchmark
+    public AppointmentResults renderFromSlots() {
+        return AppointmentResults.fromSlots(results.getSlots());
+    }
+
+    // What callers did with the old defensive-copy getters: read every view once
+    @Benchmark
+    public void readViews(Blackhole blackhole) {
+        blackhole.consume(results.getDates().size());
+        blackhole.consume(results.getTimeSlots().size());
+        for (Map.Entry<String, List<String>> entry : results.getDateToSlotsMap().entrySet()) {
+            blackhole.consume(entry.getValue().size());
+        }
+    }
+
+    @Benchmark
+    public String summary() {
+        return results.getSummary();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.icbc_road_test_notifier.appointment;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+// Deterministic availability shaped like the portal's: weekday slots on a 5-minute grid between 8:00 and 17:00
+public final class SlotFixtures {
+    public static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 5);
+    private static final int SLOTS_PER_DAY = 12;
+
+    private SlotFixtures() {
+    }
+
+    public static Map<String, List<String>> dateToSlots(int slotCount) {
+        Random random = new Random(slotCount);
+        Map<String, List<String>> mapping = new LinkedHashMap<>();
+        LocalDate day = FIRST_DAY;
+        int remaining = slotCount;
+
+        while (remaining > 0) {
+            if (day.getDayOfWeek().getValue() <= 5) {
+                int count = Math.min(remaining, 1 + random.nextInt(SLOTS_PER_DAY));
+                TreeSet<Integer> minutes = new TreeSet<>();
+                while (minutes.size() < count) {
+                    minutes.add(8 * 60 + 5 * random.nextInt(9 * 12));
+                }
+                mapping.put(SlotText.formatDate(day), minutes.stream()
+                        .map(minute -> SlotText.formatTime(LocalTime.of(minute / 60, minute % 60)))
+                        .toList());
+                remaining -= count;
+            }
+            day = day.plusDays(1);
+        }
+        return mapping;
+    }
+
+    public static AppointmentResults results(int slotCount) {
+        Map<String, List<String>> mapping = dateToSlots(slotCount);
+        List<String> timeSlots = mapping.values().stream().flatMap(List::stream).toList();
+        return new AppointmentResults(new ArrayList<>(mapping.keySet()), timeSlots, mapping);
+    }
+}
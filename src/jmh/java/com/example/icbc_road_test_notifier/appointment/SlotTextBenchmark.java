@@ -0,0 +1,116 @@
+package com.example.icbc_road_test_notifier.appointment;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// SlotText's scanners against the regex and formatter code they replaced
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SlotTextBenchmark {
+    private static final String[] DATES = {
+            "Tuesday, January 6th, 2026", "Wednesday, January 7th, 2026", "Friday, February 20th, 2026",
+            "Monday, March 2nd, 2026", "Sunday, March 1st, 2026", "Thursday, December 31st, 2026"
+    };
+    private static final String[] TIMES = {"9:35 AM", "10:05 AM", "12:00 PM", "1:15 PM", "3:40 PM", "11:55 AM"};
+    // Headings and labels the DOM parser validates, including placeholders it must reject
+    private static final String[] LABELS = {
+            "Tuesday, January 6th, 2026", "9:35 AM", "1/6", "Jan 6", "No appointments available",
+            "Select a location", "10:05", "3 pm", "View more"
+    };
+
+    @Benchmark
+    public void parseDateLegacy(Blackhole blackhole) {
+        for (String date : DATES) blackhole.consume(Legacy.parseDate(date));
+    }
+
+    @Benchmark
+    public void parseDateScanner(Blackhole blackhole) {
+        for (String date : DATES) blackhole.consume(SlotText.parseEpochDay(date));
+    }
+
+    @Benchmark
+    public void parseTimeLegacy(Blackhole blackhole) {
+        for (String time : TIMES) blackhole.consume(Legacy.parseTime(time));
+    }
+
+    @Benchmark
+    public void parseTimeScanner(Blackhole blackhole) {
+        for (String time : TIMES) blackhole.consume(SlotText.parseMinuteOfDay(time));
+    }
+
+    @Benchmark
+    public void validateLegacy(Blackhole blackhole) {
+        for (String label : LABELS) {
+            blackhole.consume(Legacy.isValidDateText(label));
+            blackhole.consume(Legacy.isValidTimeText(label));
+        }
+    }
+
+    @Benchmark
+    public void validateScanner(Blackhole blackhole) {
+        for (String label : LABELS) {
+            blackhole.consume(SlotText.looksLikeDate(label));
+            blackhole.consume(SlotText.looksLikeTime(label));
+        }
+    }
+
+    // Verbatim copies of the previous AppointmentFilterServiceImpl and AppointmentParsingServiceImpl helpers
+    static final class Legacy {
+        private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH);
+        private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("h:mm a", Locale.ENGLISH);
+
+        static LocalDate parseDate(String dateString) {
+            try {
+                String cleaned = dateString
+                        .replaceFirst("^\\w+,\\s*", "")
+                        .replaceAll("(\\d+)(st|nd|rd|th)", "$1");
+                return LocalDate.parse(cleaned, DATE_FORMATTER);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        static LocalTime parseTime(String timeString) {
+            try {
+                return LocalTime.parse(timeString.trim(), TIME_FORMATTER);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        static boolean isValidDateText(String dateText) {
+            if (dateText == null || dateText.trim().isEmpty()) {
+                return false;
+            }
+            String normalized = dateText.toLowerCase().trim();
+            if (normalized.contains("no appointment") || normalized.contains("not available")
+                    || normalized.contains("select") || normalized.length() < 3) {
+                return false;
+            }
+            return dateText.matches(".*\\d{1,2}[/\\-]\\d{1,2}.*")
+                    || dateText.matches(".*\\w+ \\d{1,2}.*")
+                    || dateText.matches(".*\\d{1,2} \\w+.*");
+        }
+
+        static boolean isValidTimeText(String timeText) {
+            if (timeText == null || timeText.trim().isEmpty()) {
+                return false;
+            }
+            String normalized = timeText.toLowerCase().trim();
+            if (normalized.contains("no appointment") || normalized.contains("not available")
+                    || normalized.contains("select") || normalized.length() < 3) {
+                return false;
+            }
+            return timeText.matches(".*\\d{1,2}:\\d{2}.*")
+                    || timeText.matches(".*\\d{1,2} ?[ap]m.*")
+                    || timeText.matches(".*\\d{1,2}:\\d{2} ?[ap]m.*");
+        }
+    }
+}
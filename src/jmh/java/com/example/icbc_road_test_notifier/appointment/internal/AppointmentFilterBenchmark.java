@@ -0,0 +1,51 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.example.icbc_road_test_notifier.appointment.SlotFixtures;
+import com.example.icbc_road_test_notifier.shared.DateRangePreference;
+import com.example.icbc_road_test_notifier.shared.TimePreference;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AppointmentFilterBenchmark {
+
+    @Param({"8", "100", "1000", "5000"})
+    public int slotCount;
+
+    private final AppointmentFilterServiceImpl filterService = new AppointmentFilterServiceImpl();
+    private final DateRangePreference firstMonth = new DateRangePreference(
+            SlotFixtures.FIRST_DAY, SlotFixtures.FIRST_DAY.plusDays(30));
+    private AppointmentResults parsed;
+    private AppointmentResults unmapped;
+
+    @Setup
+    public void setUp() {
+        parsed = SlotFixtures.results(slotCount);
+        // No date -> slots mapping, so the filter falls back to the string path
+        Map<String, List<String>> mapping = SlotFixtures.dateToSlots(slotCount);
+        unmapped = new AppointmentResults(new ArrayList<>(mapping.keySet()),
+                mapping.values().stream().flatMap(List::stream).toList());
+    }
+
+    @Benchmark
+    public AppointmentResults morningInFirstMonth() {
+        return filterService.filterByPreferences(parsed, TimePreference.MORNING, firstMonth);
+    }
+
+    @Benchmark
+    public AppointmentResults morningInFirstMonthStringPath() {
+        return filterService.filterByPreferences(unmapped, TimePreference.MORNING, firstMonth);
+    }
+
+    @Benchmark
+    public AppointmentResults anyTimeNoRange() {
+        return filterService.filterByPreferences(parsed, TimePreference.ANY, null);
+    }
+}
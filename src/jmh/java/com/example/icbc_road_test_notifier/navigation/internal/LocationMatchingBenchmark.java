@@ -0,0 +1,82 @@
+package com.example.icbc_road_test_notifier.navigation.internal;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+
+// The office-card matching selectSpecificLocation does once the titles have been read from the page
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LocationMatchingBenchmark {
+    private static final String[] CITIES = {
+            "Vancouver", "North Vancouver", "Burnaby", "Richmond", "Surrey", "Coquitlam", "Port Coquitlam",
+            "Langley", "Abbotsford", "Chilliwack", "Victoria", "Nanaimo", "Kelowna", "Kamloops", "Prince George"
+    };
+    private static final String[] BRANCHES = {"Kingsway", "Point Grey", "Metrotown", "Lougheed", "Guildford", "Downtown"};
+
+    @Param({"10", "50", "200"})
+    public int officeCount;
+
+    private List<String> titles;
+    private LocationIndex index;
+
+    @Setup
+    public void setUp() {
+        titles = new ArrayList<>(officeCount);
+        List<LocationIndex.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < officeCount; i++) {
+            String title = CITIES[i % CITIES.length] + " driver licensing (" + BRANCHES[(i / CITIES.length) % BRANCHES.length]
+                    + (i >= CITIES.length * BRANCHES.length ? " " + i : "") + ")";
+            titles.add(title);
+            entries.add(new LocationIndex.Entry(title, LocationKind.OFFICE, List.of()));
+        }
+        index = LocationIndex.build(entries);
+    }
+
+    @Benchmark
+    public OptionalInt bestCandidateExact() {
+        return LocationIndex.bestCandidate(titles.get(titles.size() - 1), titles);
+    }
+
+    @Benchmark
+    public OptionalInt bestCandidateCity() {
+        return LocationIndex.bestCandidate("Kelowna, BC", titles);
+    }
+
+    @Benchmark
+    public Object resolveWithTypo() {
+        return index.resolve("Chiliwack", LocationKind.OFFICE);
+    }
+
+    // The nested word-by-word loops selectSpecificLocation ran before the catalog
+    @Benchmark
+    public int legacyMatch() {
+        String normalizedPreferred = "kelowna, bc";
+        int best = -1;
+        for (int i = 0; i < titles.size(); i++) {
+            String normalizedTitle = titles.get(i).toLowerCase();
+            if (normalizedTitle.equals(normalizedPreferred)) {
+                return i;
+            }
+            boolean contains = normalizedTitle.contains(normalizedPreferred) || normalizedPreferred.contains(normalizedTitle);
+            boolean cityMatch = false;
+            for (String titleWord : normalizedTitle.split("\\s+")) {
+                for (String preferredWord : normalizedPreferred.split("\\s+")) {
+                    if (titleWord.equals(preferredWord) && titleWord.length() > 3) {
+                        cityMatch = true;
+                        break;
+                    }
+                }
+                if (cityMatch) break;
+            }
+            if ((contains || cityMatch) && best < 0) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
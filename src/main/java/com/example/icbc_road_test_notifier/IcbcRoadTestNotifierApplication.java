@@ -6,11 +6,13 @@ import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.modulith.ApplicationModule;
 import org.springframework.retry.annotation.EnableRetry;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ApplicationModule
 @EnableRetry
 @EnableAsync
+@EnableScheduling
 @ConfigurationPropertiesScan
 public class IcbcRoadTestNotifierApplication {
 
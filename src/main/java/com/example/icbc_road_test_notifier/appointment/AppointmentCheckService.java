@@ -0,0 +1,11 @@
+package com.example.icbc_road_test_notifier.appointment;
+
+import com.example.icbc_road_test_notifier.shared.IcbcConfig;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface AppointmentCheckService {
+    CheckJob submit(IcbcConfig icbcConfig);
+    Optional<CheckJob> findJob(UUID jobId);
+}
@@ -6,6 +6,23 @@ import org.jmolecules.event.types.DomainEvent;
  * Event published when available appointments are found.
  *
  * @param message Details about the found appointments
+ * @param location The office the new slots were found at, or {@code null} if none was configured
+ * @param recipient Address to notify for this search, or {@code null} for the default recipient
+ * @param firstCheck Whether this is the first check of the office since startup, in which case the slots may have
+ *                   opened at any time before it
  */
-public record AppointmentFound(String message) implements DomainEvent {
-}
\ No newline at end of file
+public record AppointmentFound(String message, String location, String recipient, boolean firstCheck)
+        implements DomainEvent {
+
+    public AppointmentFound(String message) {
+        this(message, null, null);
+    }
+
+    public AppointmentFound(String message, String location) {
+        this(message, location, null);
+    }
+
+    public AppointmentFound(String message, String location, String recipient) {
+        this(message, location, recipient, false);
+    }
+}
@@ -3,5 +3,10 @@ package com.example.icbc_road_test_notifier.appointment;
 import com.microsoft.playwright.Page;
 
 public interface AppointmentParsingService {
-    AppointmentResults parseResults(Page page);
+    default AppointmentResults parseResults(Page page) {
+        return parseResults(page, SlotQuery.unrestricted());
+    }
+
+    // Only slots matching the query are returned; expansion stops once no later slot can match or the quota is met
+    AppointmentResults parseResults(Page page, SlotQuery query);
 }
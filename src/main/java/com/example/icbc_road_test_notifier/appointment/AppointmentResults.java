@@ -1,32 +1,251 @@
 package com.example.icbc_road_test_notifier.appointment;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.*;
+import java.util.function.BiPredicate;
 
 public class AppointmentResults {
+    // Stands in for the slot of text that couldn't be placed in time; such text has no slot and so no office
+    private static final long UNPLACED = Long.MIN_VALUE;
+
     private final List<String> dates;
     private final List<String> timeSlots;
     private final Map<String, List<String>> dateToSlotsMap;
+    // Parsed once here; text the parser doesn't recognise stays in the string views only. Each listed entry's slot is
+    // looked up here rather than stored beside the text, see forEachEntry
+    private final SlotSet slots;
+    // Set when the listing was only read up to this date, so later dates say nothing about what is still offered
+    private final LocalDate truncatedAfter;
+    // Office names for the slots' location ids (id i + 1 is entry i); empty when the results cover a single search
+    private final List<String> locations;
 
     public AppointmentResults(List<String> dates, List<String> timeSlots) {
         this(dates, timeSlots, null);
     }
 
     public AppointmentResults(List<String> dates, List<String> timeSlots, Map<String, List<String>> dateToSlotsMap) {
-        this.dates = new ArrayList<>(dates);
-        this.timeSlots = new ArrayList<>(timeSlots);
-        this.dateToSlotsMap = dateToSlotsMap != null ? new LinkedHashMap<>(dateToSlotsMap) : new LinkedHashMap<>();
+        this.dates = List.copyOf(dates);
+        this.timeSlots = List.copyOf(timeSlots);
+
+        Map<String, List<String>> mapping = new LinkedHashMap<>();
+        if (dateToSlotsMap != null) {
+            dateToSlotsMap.forEach((date, slotsForDate) -> mapping.put(date, List.copyOf(slotsForDate)));
+        }
+        this.dateToSlotsMap = Collections.unmodifiableMap(mapping);
+        this.slots = toSlotSet(packSlots(this.dateToSlotsMap, SlotSet.NO_LOCATION));
+        this.truncatedAfter = null;
+        this.locations = List.of();
+    }
+
+    private AppointmentResults(Map<String, List<String>> dateToSlotsMap, SlotSet slots, List<String> locations) {
+        this.dates = List.copyOf(dateToSlotsMap.keySet());
+        this.timeSlots = dateToSlotsMap.values().stream().flatMap(List::stream).toList();
+        this.dateToSlotsMap = Collections.unmodifiableMap(dateToSlotsMap);
+        this.slots = slots;
+        this.truncatedAfter = null;
+        this.locations = List.copyOf(locations);
+    }
+
+    private AppointmentResults(AppointmentResults results, LocalDate truncatedAfter) {
+        this.dates = results.dates;
+        this.timeSlots = results.timeSlots;
+        this.dateToSlotsMap = results.dateToSlotsMap;
+        this.slots = results.slots;
+        this.truncatedAfter = truncatedAfter;
+        this.locations = results.locations;
+    }
+
+    public static AppointmentResults fromSlots(SlotSet slots) {
+        return fromSlots(slots, List.of());
+    }
+
+    // Renders slots with the portal's display text, one entry per slot: the same date and time at two locations is
+    // listed twice, so getTotalSlots() always matches getSlots().size()
+    public static AppointmentResults fromSlots(SlotSet slots, List<String> locations) {
+        Map<String, List<LocatedSlot>> byDate = new LinkedHashMap<>();
+        List<LocatedSlot> entriesForDate = null;
+        long previousDay = Long.MIN_VALUE;
+
+        for (int i = 0; i < slots.size(); i++) {
+            long slot = slots.get(i);
+            long epochDay = SlotSet.epochDayOf(slot);
+
+            if (epochDay != previousDay) {
+                entriesForDate = new ArrayList<>();
+                byDate.put(SlotText.formatDate(LocalDate.ofEpochDay(epochDay)), entriesForDate);
+                previousDay = epochDay;
+            }
+            entriesForDate.add(new LocatedSlot(SlotText.formatTime(LocalTime.ofSecondOfDay(SlotSet.minuteOfDay(slot) * 60L)), slot));
+        }
+        return toResults(byDate, slots, locations);
+    }
+
+    // One results page listing several offices. Each slot keeps its office's own text and is tagged with the office,
+    // so the same date and time at two offices are two slots; dates come out in calendar order
+    public static AppointmentResults byLocation(Map<String, Map<String, List<String>>> slotsByLocation) {
+        if (slotsByLocation.size() <= 1) {
+            Map<String, List<String>> single = slotsByLocation.isEmpty()
+                    ? Map.of()
+                    : slotsByLocation.values().iterator().next();
+            return new AppointmentResults(List.copyOf(single.keySet()),
+                    single.values().stream().flatMap(List::stream).toList(), single);
+        }
+
+        List<String> locations = new ArrayList<>(slotsByLocation.keySet());
+        Map<String, List<LocatedSlot>> merged = new LinkedHashMap<>();
+        for (int i = 0; i < locations.size(); i++) {
+            Map<String, long[]> packed = packSlots(slotsByLocation.get(locations.get(i)), i + 1);
+            slotsByLocation.get(locations.get(i)).forEach((date, slotsForDate) -> {
+                List<LocatedSlot> entries = merged.computeIfAbsent(date, d -> new ArrayList<>());
+                long[] packedForDate = packed.get(date);
+                for (int j = 0; j < slotsForDate.size(); j++) {
+                    entries.add(new LocatedSlot(slotsForDate.get(j), packedForDate[j]));
+                }
+            });
+        }
+        return fromLocatedSlots(merged, locations);
+    }
+
+    // The slots of each office on their own, with the text they were listed with. Text that couldn't be placed in
+    // time has no office and is left out
+    public Map<String, AppointmentResults> splitByLocation() {
+        Map<String, Map<String, List<String>>> split = new LinkedHashMap<>();
+        locations.forEach(location -> split.put(location, new LinkedHashMap<>()));
+        forEachEntry((date, text, packed) -> locationOf(packed).ifPresent(location -> split.get(location)
+                .computeIfAbsent(date, d -> new ArrayList<>())
+                .add(text)));
+
+        Map<String, AppointmentResults> results = new LinkedHashMap<>();
+        split.forEach((location, mapping) -> {
+            AppointmentResults forLocation = new AppointmentResults(List.copyOf(mapping.keySet()),
+                    mapping.values().stream().flatMap(List::stream).toList(), mapping);
+            results.put(location, truncatedAfter != null ? forLocation.truncatedAfter(truncatedAfter) : forLocation);
+        });
+        return results;
+    }
+
+    // Same results without the slots the predicate rejects, given the date and slot text; kept slots keep their office
+    public AppointmentResults retain(BiPredicate<String, String> dateAndSlot) {
+        return retainEntries((date, text, packed) -> dateAndSlot.test(date, text));
+    }
+
+    // The listed slots that are in the given subset of getSlots(), with the text they were listed with.
+    // Text that couldn't be placed in time is dropped
+    public AppointmentResults select(SlotSet subset) {
+        return retainEntries((date, text, packed) -> isPlaced(packed) && subset.contains(packed));
+    }
+
+    private AppointmentResults retainEntries(EntryFilter filter) {
+        Map<String, List<LocatedSlot>> kept = new LinkedHashMap<>();
+        forEachEntry((date, text, packed) -> {
+            if (filter.keep(date, text, packed)) {
+                kept.computeIfAbsent(date, d -> new ArrayList<>()).add(new LocatedSlot(text, packed));
+            }
+        });
+        return toResults(kept, locations);
+    }
+
+    // One time-ordered view of the earliest `limit` slots across the offices searched, each tagged with its office and
+    // listed with the text that office's page used. Results that already cover several offices contribute each office
+    // under its own name. Text the parser couldn't place has no position in the order and is left out
+    public static AppointmentResults earliestAcross(Map<String, AppointmentResults> resultsByLocation, int limit) {
+        List<String> locations = new ArrayList<>();
+        List<AppointmentResults> sources = new ArrayList<>();
+        List<Integer> sourceLocationIds = new ArrayList<>();
+        resultsByLocation.forEach((location, results) -> {
+            Map<String, AppointmentResults> offices = results.locations.isEmpty()
+                    ? Map.of(location, results)
+                    : results.splitByLocation();
+            offices.forEach((office, officeResults) -> {
+                if (!locations.contains(office)) {
+                    locations.add(office);
+                }
+                sources.add(officeResults);
+                sourceLocationIds.add(locations.indexOf(office) + 1);
+            });
+        });
+
+        List<SlotSet> tagged = new ArrayList<>(sources.size());
+        for (int i = 0; i < sources.size(); i++) {
+            tagged.add(sources.get(i).getSlots().withLocation(sourceLocationIds.get(i)));
+        }
+        SlotSet earliest = SlotSet.earliest(tagged, limit);
+
+        // Dates are keyed by the first text seen for the day, so offices agreeing on a day share one date entry
+        Map<Long, String> dateTextByDay = new HashMap<>();
+        Map<String, List<LocatedSlot>> byDate = new LinkedHashMap<>();
+        Set<Long> listed = new HashSet<>();
+        for (int i = 0; i < sources.size(); i++) {
+            int locationId = sourceLocationIds.get(i);
+            sources.get(i).forEachEntry((date, text, packed) -> {
+                if (!isPlaced(packed)) {
+                    return;
+                }
+                long epochDay = SlotSet.epochDayOf(packed);
+                long slot = SlotSet.pack(epochDay, SlotSet.minuteOfDay(packed), locationId);
+                if (earliest.contains(slot) && listed.add(slot)) {
+                    byDate.computeIfAbsent(dateTextByDay.computeIfAbsent(epochDay, day -> date), d -> new ArrayList<>())
+                            .add(new LocatedSlot(text, slot));
+                }
+            });
+        }
+        return fromLocatedSlots(byDate, locations);
+    }
+
+    // Same slots, marked as read only up to the given date
+    public AppointmentResults truncatedAfter(LocalDate lastRevealedDate) {
+        return new AppointmentResults(this, lastRevealedDate);
     }
 
+    public Optional<LocalDate> getTruncatedAfter() {
+        return Optional.ofNullable(truncatedAfter);
+    }
+
+    // Unmodifiable views; no copy is made
     public List<String> getDates() {
-        return new ArrayList<>(dates);
+        return dates;
     }
 
     public List<String> getTimeSlots() {
-        return new ArrayList<>(timeSlots);
+        return timeSlots;
     }
 
     public Map<String, List<String>> getDateToSlotsMap() {
-        return new LinkedHashMap<>(dateToSlotsMap);
+        return dateToSlotsMap;
+    }
+
+    public SlotSet getSlots() {
+        return slots;
+    }
+
+    public List<String> getLocations() {
+        return locations;
+    }
+
+    public Optional<String> locationOf(long slot) {
+        int locationId = SlotSet.locationOf(slot);
+        return locationId > 0 && locationId <= locations.size()
+                ? Optional.of(locations.get(locationId - 1))
+                : Optional.empty();
+    }
+
+    // "date time at office" for each listed slot in order, in the text it was listed with; empty unless the results
+    // cover several offices
+    public List<String> getSlotsWithLocation() {
+        if (locations.isEmpty()) {
+            return List.of();
+        }
+        List<String> described = new ArrayList<>(timeSlots.size());
+        forEachEntry((date, text, packed) -> described.add(locationOf(packed)
+                .map(location -> String.format("%s %s at %s", date, text, location))
+                .orElse(date + " " + text)));
+        return described;
+    }
+
+    // True when every listed slot was recognised, so the typed view can stand in for the strings
+    public boolean isFullyParsed() {
+        return !dateToSlotsMap.isEmpty() && slots.size() == timeSlots.size();
     }
 
     public boolean hasAvailableAppointments() {
@@ -71,4 +290,105 @@ public class AppointmentResults {
     public static AppointmentResults empty() {
         return new AppointmentResults(Collections.emptyList(), Collections.emptyList());
     }
-}
\ No newline at end of file
+
+    private static AppointmentResults fromLocatedSlots(Map<String, List<LocatedSlot>> byDate, List<String> locations) {
+        List<String> dateOrder = new ArrayList<>(byDate.keySet());
+        dateOrder.sort(Comparator.comparingLong(AppointmentResults::sortableDay));
+
+        Map<String, List<LocatedSlot>> sorted = new LinkedHashMap<>();
+        for (String date : dateOrder) {
+            List<LocatedSlot> entries = new ArrayList<>(byDate.get(date));
+            entries.sort(Comparator.comparingLong(entry -> isPlaced(entry.packed()) ? entry.packed() : Long.MAX_VALUE));
+            sorted.put(date, entries);
+        }
+        return toResults(sorted, locations);
+    }
+
+    private static AppointmentResults toResults(Map<String, List<LocatedSlot>> byDate, List<String> locations) {
+        SlotSet.Builder slots = SlotSet.builder();
+        byDate.values().forEach(entries -> entries.stream()
+                .mapToLong(LocatedSlot::packed)
+                .filter(AppointmentResults::isPlaced)
+                .forEach(slots::add));
+        return toResults(byDate, slots.build(), locations);
+    }
+
+    private static AppointmentResults toResults(Map<String, List<LocatedSlot>> byDate, SlotSet slots, List<String> locations) {
+        Map<String, List<String>> mapping = new LinkedHashMap<>();
+        byDate.forEach((date, entries) -> mapping.put(date, entries.stream().map(LocatedSlot::text).toList()));
+        return new AppointmentResults(mapping, slots, locations);
+    }
+
+    // Visits each listed entry with its slot, or UNPLACED. A slot's text gives its date and time but not its office,
+    // so the slot is found in the set: offices sharing a time are listed in slot order, which makes the n-th entry
+    // at a date and time the n-th slot held there. Text repeated within one office shares that office's slot
+    private void forEachEntry(EntryVisitor visitor) {
+        Map<Long, Integer> seen = new HashMap<>();
+        dateToSlotsMap.forEach((date, slotsForDate) -> {
+            long epochDay = SlotText.parseEpochDay(date);
+            for (String text : slotsForDate) {
+                int minuteOfDay = epochDay != SlotText.NO_DATE ? SlotText.parseMinuteOfDay(text) : SlotText.NO_TIME;
+                long packed = UNPLACED;
+                if (minuteOfDay != SlotText.NO_TIME) {
+                    SlotSet offered = slots.at(epochDay, minuteOfDay);
+                    int nth = seen.merge(SlotSet.pack(epochDay, minuteOfDay, SlotSet.NO_LOCATION), 1, Integer::sum) - 1;
+                    packed = offered.isEmpty()
+                            ? SlotSet.pack(epochDay, minuteOfDay, SlotSet.NO_LOCATION)
+                            : offered.get(Math.min(nth, offered.size() - 1));
+                }
+                visitor.accept(date, text, packed);
+            }
+        });
+    }
+
+    // Unparseable dates sort after every real one, in the order they were listed
+    private static long sortableDay(String date) {
+        long epochDay = SlotText.parseEpochDay(date);
+        return epochDay == SlotText.NO_DATE ? Long.MAX_VALUE : epochDay;
+    }
+
+    private static Map<String, long[]> packSlots(Map<String, List<String>> dateToSlotsMap, int locationId) {
+        Map<String, long[]> packed = new LinkedHashMap<>();
+        dateToSlotsMap.forEach((dateText, slotsForDate) -> {
+            long epochDay = SlotText.parseEpochDay(dateText);
+            long[] packedForDate = new long[slotsForDate.size()];
+            for (int i = 0; i < packedForDate.length; i++) {
+                int minuteOfDay = epochDay != SlotText.NO_DATE ? SlotText.parseMinuteOfDay(slotsForDate.get(i)) : SlotText.NO_TIME;
+                packedForDate[i] = minuteOfDay != SlotText.NO_TIME
+                        ? SlotSet.pack(epochDay, minuteOfDay, locationId)
+                        : UNPLACED;
+            }
+            packed.put(dateText, packedForDate);
+        });
+        return packed;
+    }
+
+    private static SlotSet toSlotSet(Map<String, long[]> packedByDate) {
+        SlotSet.Builder builder = SlotSet.builder();
+        packedByDate.values().forEach(packed -> {
+            for (long slot : packed) {
+                if (isPlaced(slot)) {
+                    builder.add(slot);
+                }
+            }
+        });
+        return builder.build();
+    }
+
+    private static boolean isPlaced(long packed) {
+        return packed != UNPLACED;
+    }
+
+    private record LocatedSlot(String text, long packed) {
+    }
+
+    @FunctionalInterface
+    private interface EntryVisitor {
+        void accept(String date, String text, long packed);
+    }
+
+    @FunctionalInterface
+    private interface EntryFilter {
+        boolean keep(String date, String text, long packed);
+    }
+}
@@ -8,9 +8,8 @@ import com.microsoft.playwright.Page;
 import java.util.Set;
 
 public interface AppointmentSearchService {
-    void configureAndSearch(Page page, String preferredLocation,
-                            Set<DaysOfTheWeek> preferredDays,
-                            TimePreference timePreference,
-                            DateRangePreference dateRangePreference);
-    AppointmentResults getLastResults();
+    AppointmentResults configureAndSearch(Page page, String preferredLocation,
+                                          Set<DaysOfTheWeek> preferredDays,
+                                          TimePreference timePreference,
+                                          DateRangePreference dateRangePreference);
 }
\ No newline at end of file
@@ -1,10 +1,7 @@
 package com.example.icbc_road_test_notifier.appointment;
 
-import com.example.icbc_road_test_notifier.shared.DaysOfTheWeek;
 import com.example.icbc_road_test_notifier.shared.IcbcConfig;
 
-import java.util.Set;
-
 public interface AppointmentService {
-    void authenticateAndSearchAppointments(IcbcConfig icbcConfig);
+    AppointmentResults authenticateAndSearchAppointments(IcbcConfig icbcConfig);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.example.icbc_road_test_notifier.appointment;
+
+import org.jmolecules.event.types.DomainEvent;
+
+/**
+ * Event published when previously announced appointments are no longer offered.
+ *
+ * @param message Details about the withdrawn appointments
+ */
+public record AppointmentsWithdrawn(String message) implements DomainEvent {
+}
@@ -0,0 +1,33 @@
+package com.example.icbc_road_test_notifier.appointment;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A single run of the appointment check for one profile. Triggers that arrive while a job for the
+ * same profile is still running are handed this job instead of starting another browser.
+ * Read-only: only the check service moves a job through its states.
+ */
+public interface CheckJob {
+    UUID getId();
+
+    String getProfileKey();
+
+    Instant getSubmittedAt();
+
+    CheckStatus getStatus();
+
+    Instant getStartedAt();
+
+    Instant getCompletedAt();
+
+    AppointmentResults getResults();
+
+    String getError();
+
+    // Completes with the job; a copy, so waiting callers can't complete the job themselves
+    CompletableFuture<AppointmentResults> getCompletion();
+
+    boolean isDone();
+}
@@ -0,0 +1,34 @@
+package com.example.icbc_road_test_notifier.appointment;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public record CheckJobResponse(
+        UUID id,
+        CheckStatus status,
+        Instant submittedAt,
+        Instant startedAt,
+        Instant completedAt,
+        String summary,
+        Map<String, List<String>> appointments,
+        // Earliest slots across offices with the office named; empty for a single-office check
+        List<String> earliestSlots,
+        String error
+) {
+    public static CheckJobResponse from(CheckJob job) {
+        AppointmentResults results = job.getResults();
+        return new CheckJobResponse(
+                job.getId(),
+                job.getStatus(),
+                job.getSubmittedAt(),
+                job.getStartedAt(),
+                job.getCompletedAt(),
+                results != null ? results.getSummary() : null,
+                results != null ? results.getDateToSlotsMap() : null,
+                results != null ? results.getSlotsWithLocation() : null,
+                job.getError()
+        );
+    }
+}
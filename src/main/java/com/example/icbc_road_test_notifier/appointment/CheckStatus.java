@@ -0,0 +1,8 @@
+package com.example.icbc_road_test_notifier.appointment;
+
+public enum CheckStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
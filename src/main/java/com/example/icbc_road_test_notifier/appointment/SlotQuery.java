@@ -0,0 +1,75 @@
+package com.example.icbc_road_test_notifier.appointment;
+
+import com.example.icbc_road_test_notifier.shared.DateRangePreference;
+import com.example.icbc_road_test_notifier.shared.TimePreference;
+
+/**
+ * Time and date preferences compiled to epoch-day and minute-of-day bounds, so slots can be matched as
+ * soon as they are revealed on the results page instead of after the whole list has been expanded.
+ *
+ * @param firstEpochDay Earliest accepted date, or {@link Long#MIN_VALUE} for no lower bound
+ * @param lastEpochDay Latest accepted date, or {@link Long#MAX_VALUE} for no upper bound
+ * @param startMinute First accepted minute of the day, inclusive
+ * @param endMinute Last accepted minute of the day, exclusive
+ * @param maxMatches Stop revealing more results once this many slots match; 0 for no quota
+ */
+public record SlotQuery(long firstEpochDay, long lastEpochDay, int startMinute, int endMinute, int maxMatches) {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final SlotQuery UNRESTRICTED = new SlotQuery(Long.MIN_VALUE, Long.MAX_VALUE, 0, MINUTES_PER_DAY, 0);
+
+    public static SlotQuery unrestricted() {
+        return UNRESTRICTED;
+    }
+
+    public static SlotQuery of(TimePreference timePreference, DateRangePreference dateRangePreference, int maxMatches) {
+        long firstEpochDay = Long.MIN_VALUE;
+        long lastEpochDay = Long.MAX_VALUE;
+        if (dateRangePreference != null) {
+            if (dateRangePreference.getStartDate() != null) {
+                firstEpochDay = dateRangePreference.getStartDate().toEpochDay();
+            }
+            if (dateRangePreference.getEndDate() != null) {
+                lastEpochDay = dateRangePreference.getEndDate().toEpochDay();
+            }
+        }
+
+        int startMinute = 0;
+        int endMinute = MINUTES_PER_DAY;
+        if (timePreference != null && timePreference != TimePreference.ANY) {
+            startMinute = timePreference.getStartHour() * 60;
+            endMinute = timePreference.getEndHour() * 60;
+        }
+        return new SlotQuery(firstEpochDay, lastEpochDay, startMinute, endMinute, Math.max(0, maxMatches));
+    }
+
+    public boolean restrictsDates() {
+        return firstEpochDay != Long.MIN_VALUE || lastEpochDay != Long.MAX_VALUE;
+    }
+
+    public boolean restrictsTimes() {
+        return startMinute > 0 || endMinute < MINUTES_PER_DAY;
+    }
+
+    // Text the parser can't place only matches when there is nothing to compare it against, as in the filter service
+    public boolean matchesDate(long epochDay) {
+        if (epochDay == SlotText.NO_DATE) {
+            return !restrictsDates();
+        }
+        return epochDay >= firstEpochDay && epochDay <= lastEpochDay;
+    }
+
+    public boolean matchesTime(int minuteOfDay) {
+        if (minuteOfDay == SlotText.NO_TIME) {
+            return !restrictsTimes();
+        }
+        return minuteOfDay >= startMinute && minuteOfDay < endMinute;
+    }
+
+    public boolean isPastRange(long epochDay) {
+        return epochDay != SlotText.NO_DATE && epochDay > lastEpochDay;
+    }
+
+    public boolean hasQuota() {
+        return maxMatches > 0;
+    }
+}
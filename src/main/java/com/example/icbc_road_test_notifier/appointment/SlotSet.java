@@ -0,0 +1,261 @@
+package com.example.icbc_road_test_notifier.appointment;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+
+/**
+ * Immutable, sorted set of appointment slots, each packed into a {@code long}:
+ * epoch day in the high bits, then minute of day (11 bits), then a location id (16 bits).
+ * Sorting the longs therefore orders slots by date, time and location. Range views share the backing array.
+ */
+public final class SlotSet {
+    public static final int NO_LOCATION = 0;
+
+    private static final int LOCATION_BITS = 16;
+    private static final int MINUTE_BITS = 11;
+    private static final long LOCATION_MASK = (1L << LOCATION_BITS) - 1;
+    private static final long MINUTE_MASK = (1L << MINUTE_BITS) - 1;
+    private static final SlotSet EMPTY = new SlotSet(new long[0], 0, 0);
+
+    private final long[] slots;
+    private final int from;
+    private final int to;
+
+    private SlotSet(long[] slots, int from, int to) {
+        this.slots = slots;
+        this.from = from;
+        this.to = to;
+    }
+
+    public static SlotSet empty() {
+        return EMPTY;
+    }
+
+    public static SlotSet of(long... packedSlots) {
+        return sortedDistinct(packedSlots.clone());
+    }
+
+    // Takes ownership of the array
+    private static SlotSet sortedDistinct(long[] sorted) {
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[distinct - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return distinct == 0 ? EMPTY : new SlotSet(sorted, 0, distinct);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static long pack(LocalDate date, LocalTime time, int locationId) {
+        return pack(date.toEpochDay(), time.getHour() * 60 + time.getMinute(), locationId);
+    }
+
+    public static long pack(long epochDay, int minuteOfDay, int locationId) {
+        if (locationId < 0 || locationId > LOCATION_MASK) {
+            throw new IllegalArgumentException("Location id out of range: " + locationId);
+        }
+        return (epochDay << (MINUTE_BITS + LOCATION_BITS))
+                | ((long) minuteOfDay << LOCATION_BITS)
+                | locationId;
+    }
+
+    public static LocalDate dateOf(long slot) {
+        return LocalDate.ofEpochDay(epochDayOf(slot));
+    }
+
+    public static LocalTime timeOf(long slot) {
+        return LocalTime.ofSecondOfDay(minuteOfDay(slot) * 60L);
+    }
+
+    public static long epochDayOf(long slot) {
+        return slot >> (MINUTE_BITS + LOCATION_BITS);
+    }
+
+    public static int minuteOfDay(long slot) {
+        return (int) ((slot >>> LOCATION_BITS) & MINUTE_MASK);
+    }
+
+    public static int locationOf(long slot) {
+        return (int) (slot & LOCATION_MASK);
+    }
+
+    public int size() {
+        return to - from;
+    }
+
+    public boolean isEmpty() {
+        return to == from;
+    }
+
+    public long get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return slots[from + index];
+    }
+
+    public boolean contains(long slot) {
+        return Arrays.binarySearch(slots, from, to, slot) >= 0;
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(slots, from, to);
+    }
+
+    public void forEach(LongConsumer action) {
+        for (int i = from; i < to; i++) {
+            action.accept(slots[i]);
+        }
+    }
+
+    // View of the slots on dates within [start, end]; either bound may be null for an open range
+    public SlotSet between(LocalDate start, LocalDate end) {
+        int lower = start != null ? insertionPoint(start.toEpochDay() << (MINUTE_BITS + LOCATION_BITS)) : from;
+        int upper = end != null ? insertionPoint((end.toEpochDay() + 1) << (MINUTE_BITS + LOCATION_BITS)) : to;
+        if (lower >= upper) {
+            return EMPTY;
+        }
+        return lower == from && upper == to ? this : new SlotSet(slots, lower, upper);
+    }
+
+    // View of the slots at one date and time, one per location
+    public SlotSet at(long epochDay, int minuteOfDay) {
+        int lower = insertionPoint(pack(epochDay, minuteOfDay, NO_LOCATION));
+        int upper = insertionPoint(pack(epochDay, minuteOfDay, NO_LOCATION) + (1L << LOCATION_BITS));
+        return lower >= upper ? EMPTY : new SlotSet(slots, lower, upper);
+    }
+
+    public SlotSet filter(LongPredicate predicate) {
+        long[] kept = new long[size()];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (predicate.test(slots[i])) {
+                kept[count++] = slots[i];
+            }
+        }
+        if (count == size()) {
+            return this;
+        }
+        return count == 0 ? EMPTY : new SlotSet(kept, 0, count);
+    }
+
+    // Slots starting in [startHour, endHour)
+    public SlotSet withinHours(int startHour, int endHour) {
+        int startMinute = startHour * 60;
+        int endMinute = endHour * 60;
+        return filter(slot -> minuteOfDay(slot) >= startMinute && minuteOfDay(slot) < endMinute);
+    }
+
+    // Same slots tagged with the given location; order is kept because the location sits in the lowest bits
+    public SlotSet withLocation(int locationId) {
+        long[] tagged = new long[size()];
+        for (int i = from; i < to; i++) {
+            long slot = slots[i];
+            tagged[i - from] = pack(epochDayOf(slot), minuteOfDay(slot), locationId);
+        }
+        return tagged.length == 0 ? EMPTY : sortedDistinct(tagged);
+    }
+
+    // The earliest slots across several sets, merged cursor by cursor so only the first `limit` are ever visited
+    public static SlotSet earliest(List<SlotSet> sets, int limit) {
+        PriorityQueue<int[]> cursors = new PriorityQueue<>(
+                (a, b) -> Long.compare(sets.get(a[0]).get(a[1]), sets.get(b[0]).get(b[1])));
+        for (int i = 0; i < sets.size(); i++) {
+            if (!sets.get(i).isEmpty()) {
+                cursors.add(new int[]{i, 0});
+            }
+        }
+
+        Builder merged = builder();
+        int taken = 0;
+        long previous = 0;
+        while (!cursors.isEmpty() && taken < limit) {
+            int[] cursor = cursors.poll();
+            SlotSet set = sets.get(cursor[0]);
+            long slot = set.get(cursor[1]);
+            if (taken == 0 || slot != previous) {
+                merged.add(slot);
+                previous = slot;
+                taken++;
+            }
+            if (++cursor[1] < set.size()) {
+                cursors.add(cursor);
+            }
+        }
+        return merged.build();
+    }
+
+    public int dateCount() {
+        int count = 0;
+        long previousDay = Long.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            long day = epochDayOf(slots[i]);
+            if (day != previousDay) {
+                count++;
+                previousDay = day;
+            }
+        }
+        return count;
+    }
+
+    private int insertionPoint(long key) {
+        int index = Arrays.binarySearch(slots, from, to, key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof SlotSet that) || that.size() != size()) return false;
+        return Arrays.equals(slots, from, to, that.slots, that.from, that.to);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + Long.hashCode(slots[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "SlotSet[" + size() + " slots]";
+    }
+
+    public static final class Builder {
+        private long[] slots = new long[16];
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder add(LocalDate date, LocalTime time, int locationId) {
+            return add(pack(date, time, locationId));
+        }
+
+        public Builder add(long packedSlot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = packedSlot;
+            return this;
+        }
+
+        public SlotSet build() {
+            return sortedDistinct(Arrays.copyOf(slots, size));
+        }
+    }
+}
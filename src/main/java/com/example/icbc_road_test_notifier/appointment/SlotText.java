@@ -0,0 +1,303 @@
+package com.example.icbc_road_test_notifier.appointment;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Reads and writes the portal's display text, e.g. "Tuesday, January 6th, 2026" and "9:35 AM".
+ * The readers are single-pass scanners over the characters: no regex, no substrings, no formatter.
+ */
+public final class SlotText {
+    public static final long NO_DATE = Long.MIN_VALUE;
+    public static final int NO_TIME = -1;
+
+    private static final DateTimeFormatter DAY_AND_MONTH = DateTimeFormatter.ofPattern("EEEE, MMMM d", Locale.ENGLISH);
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("h:mm a", Locale.ENGLISH);
+    private static final String[] MONTHS = {
+            "january", "february", "march", "april", "may", "june",
+            "july", "august", "september", "october", "november", "december"
+    };
+    private static final String[] PLACEHOLDERS = {"no appointment", "not available", "select"};
+
+    private SlotText() {
+    }
+
+    public static LocalDate parseDate(String dateText) {
+        long epochDay = parseEpochDay(dateText);
+        return epochDay != NO_DATE ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+
+    public static LocalTime parseTime(String timeText) {
+        int minuteOfDay = parseMinuteOfDay(timeText);
+        return minuteOfDay != NO_TIME ? LocalTime.ofSecondOfDay(minuteOfDay * 60L) : null;
+    }
+
+    // "[Weekday, ]Month d[st|nd|rd|th], yyyy" -> epoch day, or NO_DATE
+    public static long parseEpochDay(CharSequence text) {
+        if (text == null) {
+            return NO_DATE;
+        }
+        int end = trimmedEnd(text);
+        int pos = skipSpaces(text, 0, end);
+
+        // Optional leading weekday: a word followed by a comma
+        int wordEnd = skipWordChars(text, pos, end);
+        if (wordEnd > pos && wordEnd < end && text.charAt(wordEnd) == ',') {
+            pos = skipSpaces(text, wordEnd + 1, end);
+            wordEnd = skipWordChars(text, pos, end);
+        }
+
+        int month = monthOf(text, pos, wordEnd);
+        if (month == 0 || wordEnd == pos) {
+            return NO_DATE;
+        }
+        pos = wordEnd;
+
+        int afterSpaces = skipSpaces(text, pos, end);
+        if (afterSpaces == pos) {
+            return NO_DATE;
+        }
+        pos = afterSpaces;
+
+        int day = 0;
+        int dayStart = pos;
+        while (pos < end && pos - dayStart < 2 && isDigit(text.charAt(pos))) {
+            day = day * 10 + (text.charAt(pos++) - '0');
+        }
+        if (pos == dayStart) {
+            return NO_DATE;
+        }
+        if (pos + 1 < end && isOrdinalSuffix(text.charAt(pos), text.charAt(pos + 1))) {
+            pos += 2;
+        }
+
+        if (pos >= end || text.charAt(pos) != ',') {
+            return NO_DATE;
+        }
+        pos = skipSpaces(text, pos + 1, end);
+
+        int year = 0;
+        int yearStart = pos;
+        while (pos < end && isDigit(text.charAt(pos))) {
+            year = year * 10 + (text.charAt(pos++) - '0');
+        }
+        if (pos != end || pos - yearStart != 4) {
+            return NO_DATE;
+        }
+
+        if (day < 1 || day > lengthOfMonth(year, month)) {
+            return NO_DATE;
+        }
+        return epochDay(year, month, day);
+    }
+
+    // "h:mm AM" -> minute of day, or NO_TIME
+    public static int parseMinuteOfDay(CharSequence text) {
+        if (text == null) {
+            return NO_TIME;
+        }
+        int end = trimmedEnd(text);
+        int pos = skipSpaces(text, 0, end);
+
+        int hour = 0;
+        int hourStart = pos;
+        while (pos < end && pos - hourStart < 2 && isDigit(text.charAt(pos))) {
+            hour = hour * 10 + (text.charAt(pos++) - '0');
+        }
+        if (pos == hourStart || hour < 1 || hour > 12 || pos >= end || text.charAt(pos) != ':') {
+            return NO_TIME;
+        }
+        pos++;
+
+        if (pos + 2 > end || !isDigit(text.charAt(pos)) || !isDigit(text.charAt(pos + 1))) {
+            return NO_TIME;
+        }
+        int minute = (text.charAt(pos) - '0') * 10 + (text.charAt(pos + 1) - '0');
+        if (minute > 59) {
+            return NO_TIME;
+        }
+        pos += 2;
+
+        if (pos + 3 != end || text.charAt(pos) != ' ') {
+            return NO_TIME;
+        }
+        char meridiem = Character.toLowerCase(text.charAt(pos + 1));
+        if (Character.toLowerCase(text.charAt(pos + 2)) != 'm' || (meridiem != 'a' && meridiem != 'p')) {
+            return NO_TIME;
+        }
+
+        int hourOfDay = hour % 12 + (meridiem == 'p' ? 12 : 0);
+        return hourOfDay * 60 + minute;
+    }
+
+    // Loose check for text that could be a date heading: "1/6", "01-06", "January 6", "6 January", ...
+    public static boolean looksLikeDate(CharSequence text) {
+        if (isPlaceholder(text)) {
+            return false;
+        }
+        int end = text.length();
+        for (int i = 0; i + 2 < end; i++) {
+            char first = text.charAt(i);
+            char middle = text.charAt(i + 1);
+            char last = text.charAt(i + 2);
+            if (isDigit(first) && (middle == '/' || middle == '-') && isDigit(last)) return true;
+            if (isWordChar(first) && middle == ' ' && isDigit(last)) return true;
+            if (isDigit(first) && middle == ' ' && isWordChar(last)) return true;
+        }
+        return false;
+    }
+
+    // Loose check for text that could be a time label: "9:35", "9:35 AM", "9am", "9 pm", ...
+    public static boolean looksLikeTime(CharSequence text) {
+        if (isPlaceholder(text)) {
+            return false;
+        }
+        int end = text.length();
+        for (int i = 0; i < end; i++) {
+            if (!isDigit(text.charAt(i))) continue;
+
+            if (i + 3 < end && text.charAt(i + 1) == ':' && isDigit(text.charAt(i + 2)) && isDigit(text.charAt(i + 3))) {
+                return true;
+            }
+            int next = i + 1 < end && text.charAt(i + 1) == ' ' ? i + 2 : i + 1;
+            if (next + 1 < end && isMeridiemLetter(text.charAt(next))
+                    && Character.toLowerCase(text.charAt(next + 1)) == 'm') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static String formatDate(LocalDate date) {
+        return DAY_AND_MONTH.format(date) + ordinalSuffix(date.getDayOfMonth()) + ", " + date.getYear();
+    }
+
+    public static String formatTime(LocalTime time) {
+        return TIME_FORMATTER.format(time);
+    }
+
+    // Blank, too short, or one of the portal's placeholder labels
+    private static boolean isPlaceholder(CharSequence text) {
+        if (text == null) {
+            return true;
+        }
+        int end = trimmedEnd(text);
+        int start = skipSpaces(text, 0, end);
+        if (end - start < 3) {
+            return true;
+        }
+        for (String placeholder : PLACEHOLDERS) {
+            if (containsIgnoreCase(text, start, end, placeholder)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsIgnoreCase(CharSequence text, int start, int end, String lowerNeedle) {
+        int last = end - lowerNeedle.length();
+        outer:
+        for (int i = start; i <= last; i++) {
+            for (int j = 0; j < lowerNeedle.length(); j++) {
+                if (Character.toLowerCase(text.charAt(i + j)) != lowerNeedle.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static int monthOf(CharSequence text, int start, int end) {
+        int length = end - start;
+        outer:
+        for (int month = 0; month < MONTHS.length; month++) {
+            String name = MONTHS[month];
+            if (name.length() != length) continue;
+            for (int i = 0; i < length; i++) {
+                if (Character.toLowerCase(text.charAt(start + i)) != name.charAt(i)) {
+                    continue outer;
+                }
+            }
+            return month + 1;
+        }
+        return 0;
+    }
+
+    private static boolean isOrdinalSuffix(char first, char second) {
+        char a = Character.toLowerCase(first);
+        char b = Character.toLowerCase(second);
+        return (a == 's' && b == 't') || (a == 'n' && b == 'd') || (a == 'r' && b == 'd') || (a == 't' && b == 'h');
+    }
+
+    private static boolean isMeridiemLetter(char c) {
+        char lower = Character.toLowerCase(c);
+        return lower == 'a' || lower == 'p';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWordChar(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    private static int skipWordChars(CharSequence text, int pos, int end) {
+        while (pos < end && isWordChar(text.charAt(pos))) pos++;
+        return pos;
+    }
+
+    private static int skipSpaces(CharSequence text, int pos, int end) {
+        while (pos < end && Character.isWhitespace(text.charAt(pos))) pos++;
+        return pos;
+    }
+
+    private static int trimmedEnd(CharSequence text) {
+        int end = text.length();
+        while (end > 0 && Character.isWhitespace(text.charAt(end - 1))) end--;
+        return end;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    // Same arithmetic as LocalDate.toEpochDay, without creating the LocalDate
+    private static long epochDay(int year, int month, int day) {
+        long y = year;
+        long total = 365 * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += (367L * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (lengthOfMonth(year, 2) == 28) {
+                total--;
+            }
+        }
+        return total - 719528; // days from 0000-01-01 to 1970-01-01
+    }
+
+    private static String ordinalSuffix(int day) {
+        if (day >= 11 && day <= 13) {
+            return "th";
+        }
+        return switch (day % 10) {
+            case 1 -> "st";
+            case 2 -> "nd";
+            case 3 -> "rd";
+            default -> "th";
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentCheckService;
+import com.example.icbc_road_test_notifier.appointment.AppointmentService;
+import com.example.icbc_road_test_notifier.appointment.CheckJob;
+import com.example.icbc_road_test_notifier.shared.IcbcConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+@Slf4j
+public class AppointmentCheckServiceImpl implements AppointmentCheckService {
+    private final AppointmentService appointmentService;
+    private final Duration jobRetention;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("appointment-check-", 0).factory());
+    private final Map<String, CheckJobImpl> inFlightByProfile = new ConcurrentHashMap<>();
+    private final Map<UUID, CheckJobImpl> jobs = new ConcurrentHashMap<>();
+
+    public AppointmentCheckServiceImpl(
+            AppointmentService appointmentService,
+            @Value("${icbc.check.job-retention:PT1H}") Duration jobRetention
+    ) {
+        this.appointmentService = appointmentService;
+        this.jobRetention = jobRetention;
+    }
+
+    @Override
+    public CheckJob submit(IcbcConfig config) {
+        String profileKey = config.licenseNumber();
+        CheckJobImpl[] started = new CheckJobImpl[1];
+
+        // Single-flight: a trigger for a profile that is already being checked joins the running job
+        CheckJobImpl job = inFlightByProfile.compute(profileKey, (key, existing) -> {
+            if (existing != null && !existing.isDone()) {
+                return existing;
+            }
+            started[0] = new CheckJobImpl(key);
+            return started[0];
+        });
+
+        if (started[0] == null) {
+            log.info("Check already in progress for this profile, joining job {}", job.getId());
+            return job;
+        }
+
+        jobs.put(job.getId(), job);
+        executor.submit(() -> run(job, config));
+        log.info("Submitted appointment check job {}", job.getId());
+        return job;
+    }
+
+    @Override
+    public Optional<CheckJob> findJob(UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    @Scheduled(fixedDelayString = "${icbc.check.job-retention:PT1H}")
+    public void evictCompletedJobs() {
+        Instant cutoff = Instant.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.isDone() && job.getCompletedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(CheckJobImpl job, IcbcConfig config) {
+        job.markRunning();
+        try {
+            job.complete(appointmentService.authenticateAndSearchAppointments(config));
+        } catch (Exception e) {
+            log.warn("Appointment check job {} failed: {}", job.getId(), e.getMessage());
+            job.fail(e);
+        } finally {
+            inFlightByProfile.remove(job.getProfileKey(), job);
+        }
+    }
+}
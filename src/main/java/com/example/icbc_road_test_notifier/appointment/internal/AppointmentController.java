@@ -1,21 +1,33 @@
 package com.example.icbc_road_test_notifier.appointment.internal;
 
-import com.example.icbc_road_test_notifier.appointment.AppointmentService;
+import com.example.icbc_road_test_notifier.appointment.AppointmentCheckService;
+import com.example.icbc_road_test_notifier.appointment.CheckJobResponse;
 import com.example.icbc_road_test_notifier.shared.IcbcConfig;
 import lombok.RequiredArgsConstructor;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.UUID;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("api/v1/appointments")
 public class AppointmentController {
-    private final AppointmentService appointmentService;
+    private final AppointmentCheckService checkService;
     private final IcbcConfig icbcConfig;
 
     @PostMapping("/check")
-    public void checkAppointments() {
-        appointmentService.authenticateAndSearchAppointments(icbcConfig);
+    public ResponseEntity<CheckJobResponse> checkAppointments() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(CheckJobResponse.from(checkService.submit(icbcConfig)));
+    }
+
+    @GetMapping("/check/{jobId}")
+    public CheckJobResponse getCheckStatus(@PathVariable UUID jobId) {
+        return checkService.findJob(jobId)
+                .map(CheckJobResponse::from)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Check job " + jobId + " not found"));
     }
 }
@@ -0,0 +1,70 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentFound;
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.example.icbc_road_test_notifier.appointment.AppointmentsWithdrawn;
+import com.example.icbc_road_test_notifier.shared.DateRangePreference;
+import com.example.icbc_road_test_notifier.shared.IcbcConfig;
+import com.example.icbc_road_test_notifier.shared.TimePreference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// Module listeners only run after a commit, and the publication registry records events within the publishing
+// transaction; kept apart from AppointmentServiceImpl so the call goes through the transactional proxy
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AppointmentEventPublisher {
+    private final ApplicationEventPublisher events;
+
+    @Transactional
+    public void publishChanges(SlotDiff diff, String location, IcbcConfig config) {
+        if (diff.appeared().hasAvailableAppointments()) {
+            publishAppointmentFound(diff.appeared(), config.timePreference(), config.dateRangePreference(),
+                    location, config.notificationRecipient(), diff.firstCheck());
+        }
+        if (diff.disappeared().hasAvailableAppointments()) {
+            events.publishEvent(new AppointmentsWithdrawn(String.format("Appointments no longer available: %s",
+                    diff.disappeared().getSummary())));
+        }
+    }
+
+    private void publishAppointmentFound(AppointmentResults results, TimePreference timePreference,
+                                         DateRangePreference dateRangePreference, String location, String recipient,
+                                         boolean firstCheck) {
+        StringBuilder messageBuilder = new StringBuilder();
+        messageBuilder.append(String.format("New appointments found%s: %d dates with %d new time slots. %s",
+                location != null ? " at " + location : "",
+                results.getDateCount(),
+                results.getTotalSlots(),
+                results.getSummary()));
+        // Results pages can list nearby offices alongside the one searched
+        if (!results.getLocations().isEmpty()) {
+            messageBuilder.append(" Slots: ").append(String.join("; ", results.getSlotsWithLocation())).append('.');
+        }
+
+        // Add filtering information to the message
+        if (timePreference != null || dateRangePreference != null) {
+            messageBuilder.append(" [Filtered by: ");
+            if (timePreference != null) {
+                messageBuilder.append("time=").append(timePreference.getDisplayName());
+            }
+            if (dateRangePreference != null) {
+                if (timePreference != null) messageBuilder.append(", ");
+                messageBuilder.append("date range");
+            }
+            messageBuilder.append("]");
+        }
+
+        String eventMessage = messageBuilder.toString();
+        events.publishEvent(new AppointmentFound(eventMessage, location, recipient, firstCheck));
+
+        log.info("Published appointment found event: {} dates, {} slots{}",
+                results.getDateCount(),
+                results.getTotalSlots(),
+                (timePreference != null || dateRangePreference != null) ? " (filtered)" : "");
+    }
+}
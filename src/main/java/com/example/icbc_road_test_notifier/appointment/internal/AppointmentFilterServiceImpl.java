@@ -2,6 +2,8 @@ package com.example.icbc_road_test_notifier.appointment.internal;
 
 import com.example.icbc_road_test_notifier.appointment.AppointmentFilterService;
 import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.example.icbc_road_test_notifier.appointment.SlotSet;
+import com.example.icbc_road_test_notifier.appointment.SlotText;
 import com.example.icbc_road_test_notifier.shared.DateRangePreference;
 import com.example.icbc_road_test_notifier.shared.TimePreference;
 import lombok.extern.slf4j.Slf4j;
@@ -9,14 +11,11 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 @Service
 @Slf4j
 public class AppointmentFilterServiceImpl implements AppointmentFilterService {
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH);
-    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("h:mm a", Locale.ENGLISH);
     private static final int DEFAULT_SLOTS_PER_DATE = 8;
 
     @Override
@@ -32,10 +31,42 @@ public class AppointmentFilterServiceImpl implements AppointmentFilterService {
                 rawResults.getDateCount(), rawResults.getTotalSlots(),
                 timePreference != null ? timePreference.getDisplayName() : "ANY");
 
-        Map<String, List<String>> dateToTimeSlots = buildDateToSlotsMapping(rawResults);
-        Map<String, List<String>> filteredMapping = filterDateSlotMapping(dateToTimeSlots, timePreference, dateRangePreference);
+        AppointmentResults filtered;
+        if (rawResults.isFullyParsed()) {
+            filtered = filterSlots(rawResults, timePreference, dateRangePreference);
+        } else {
+            Map<String, List<String>> dateToTimeSlots = buildDateToSlotsMapping(rawResults);
+            Map<String, List<String>> filteredMapping = filterDateSlotMapping(dateToTimeSlots, timePreference, dateRangePreference);
+            filtered = buildFilteredResults(filteredMapping, rawResults);
+        }
+
+        // Filtering never reveals more dates, so a truncated listing stays truncated
+        return rawResults.getTruncatedAfter()
+                .filter(lastRevealed -> filtered.getTruncatedAfter().isEmpty())
+                .map(filtered::truncatedAfter)
+                .orElse(filtered);
+    }
+
+    // Range query and minute comparison on the pre-parsed slots; no strings are re-parsed, and the kept slots are
+    // returned with the portal's own text
+    private AppointmentResults filterSlots(AppointmentResults rawResults,
+                                           TimePreference timePreference,
+                                           DateRangePreference dateRangePreference) {
+        SlotSet slots = rawResults.getSlots();
+        if (dateRangePreference != null) {
+            slots = slots.between(dateRangePreference.getStartDate(), dateRangePreference.getEndDate());
+        }
+        if (timePreference != null && timePreference != TimePreference.ANY) {
+            slots = slots.withinHours(timePreference.getStartHour(), timePreference.getEndHour());
+        }
 
-        return buildFilteredResults(filteredMapping, rawResults);
+        if (slots.isEmpty()) {
+            return AppointmentResults.empty();
+        }
+
+        log.info("Filtered results: {} dates with {} time slots (from {} original dates with {} slots)",
+                slots.dateCount(), slots.size(), rawResults.getDateCount(), rawResults.getTotalSlots());
+        return slots == rawResults.getSlots() ? rawResults : rawResults.select(slots);
     }
 
     private Map<String, List<String>> buildDateToSlotsMapping(AppointmentResults results) {
@@ -129,28 +160,20 @@ public class AppointmentFilterServiceImpl implements AppointmentFilterService {
         return filtered;
     }
 
-    // Parse date format "Tuesday, January 6th, 2026" - removes day prefix and ordinal suffixes
     private LocalDate parseDateString(String dateString) {
-        try {
-            String cleaned = dateString
-                    .replaceFirst("^\\w+,\\s*", "") // Remove "Tuesday, "
-                    .replaceAll("(\\d+)(st|nd|rd|th)", "$1"); // Remove ordinal suffixes
-
-            return LocalDate.parse(cleaned, DATE_FORMATTER);
-
-        } catch (Exception e) {
-            log.error("Failed to parse date string '{}': {}", dateString, e.getMessage());
-            return null;
+        LocalDate date = SlotText.parseDate(dateString);
+        if (date == null) {
+            log.error("Failed to parse date string '{}'", dateString);
         }
+        return date;
     }
 
     private LocalTime parseTimeString(String timeString) {
-        try {
-            return LocalTime.parse(timeString.trim(), TIME_FORMATTER);
-        } catch (Exception e) {
-            log.warn("Could not parse time string '{}': {}", timeString, e.getMessage());
-            return null;
+        LocalTime time = SlotText.parseTime(timeString);
+        if (time == null) {
+            log.warn("Could not parse time string '{}'", timeString);
         }
+        return time;
     }
 
     private boolean isTimeInPreferredRange(LocalTime appointmentTime, TimePreference timePreference) {
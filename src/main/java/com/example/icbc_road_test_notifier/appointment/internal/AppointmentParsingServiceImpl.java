@@ -2,234 +2,186 @@ package com.example.icbc_road_test_notifier.appointment.internal;
 
 import com.example.icbc_road_test_notifier.appointment.AppointmentParsingService;
 import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.example.icbc_road_test_notifier.appointment.SlotQuery;
+import com.example.icbc_road_test_notifier.appointment.SlotText;
+import com.example.icbc_road_test_notifier.navigation.DebugArtifactService;
+import com.example.icbc_road_test_notifier.navigation.WaitStrategy;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.PlaywrightException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.nio.file.Paths;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class AppointmentParsingServiceImpl implements AppointmentParsingService {
+    private static final String VIEW_MORE_SELECTOR = ".view-more-btn";
+    private static final int MAX_EXPANSIONS = 10;
 
+    private final WaitStrategy waits;
+    private final ResultsExtractor resultsExtractor;
+    private final DebugArtifactService debugArtifacts;
+
+    // Each 'view more' click reveals the next batch of dates; the batch is matched against the query straight away
+    // so expansion can stop as soon as the listing has moved past the end date or the quota is met
     @Override
-    public AppointmentResults parseResults(Page page) {
+    public AppointmentResults parseResults(Page page, SlotQuery query) {
         log.debug("Parsing appointment results");
 
-        List<String> dates = new ArrayList<>();
-        List<String> timeSlots = new ArrayList<>();
+        Map<String, Map<String, List<String>>> slotsByLocation = new LinkedHashMap<>();
+        long lastListedDay;
+        // Set when expansion stopped with dates still hidden, whose absence then says nothing about withdrawn slots
+        boolean truncated = false;
 
         try {
-            expandAllSections(page);
-            parseDates(page, dates);
-            parseTimeSlots(page, timeSlots);
-
-            log.info("Parsed {} dates and {} time slots", dates.size(), timeSlots.size());
-
-            if (dates.isEmpty() && timeSlots.isEmpty()) {
-                log.debug("No appointments found, checking for 'no results' messages");
-                checkForNoResultsMessages(page);
-            }
-
-        } catch (Exception e) {
-            log.error("Error parsing appointment results: {}", e.getMessage());
-            takeDebugScreenshot(page, "debug-parsing-error-" + System.currentTimeMillis() + ".png");
-        }
-
-        return new AppointmentResults(dates, timeSlots);
-    }
-
-    private void expandAllSections(Page page) {
-        log.debug("Expanding all collapsed sections");
-
-        try {
-            Locator viewMoreButton = page.locator(".view-more-btn");
+            ResultsSnapshot snapshot = resultsExtractor.extract(page, query);
             int expansions = 0;
-            int maxExpansions = 10; // Prevent infinite loops
-
-            while (viewMoreButton.count() > 0 && viewMoreButton.isVisible() && expansions < maxExpansions) {
-                log.debug("Found 'view more' button, expanding section {}", expansions + 1);
+            String stopReason;
 
-                try {
-                    viewMoreButton.first().scrollIntoViewIfNeeded();
-                    page.waitForTimeout(200);
-                    viewMoreButton.first().click();
-                    page.waitForTimeout(1000);
-                    expansions++;
+            while (true) {
+                int matches = collectSlots(snapshot, query, slotsByLocation);
+                lastListedDay = lastListedDay(snapshot);
 
-                    // Re-query after DOM changes
-                    viewMoreButton = page.locator(".view-more-btn");
-
-                } catch (PlaywrightException e) {
-                    log.warn("Failed to click 'view more' button: {}", e.getMessage());
+                if (snapshot.viewMoreButtons() == 0) {
+                    stopReason = "fully expanded";
                     break;
                 }
+                if (query.isPastRange(lastListedDay)) {
+                    stopReason = "past end date";
+                    break;
+                }
+                if (query.hasQuota() && matches >= query.maxMatches()) {
+                    stopReason = "quota of " + query.maxMatches() + " met";
+                    truncated = true;
+                    break;
+                }
+                if (expansions == MAX_EXPANSIONS) {
+                    stopReason = "expansion limit reached";
+                    truncated = true;
+                    break;
+                }
+                if (!expandNext(page, expansions + 1)) {
+                    stopReason = "could not expand further";
+                    truncated = true;
+                    break;
+                }
+                expansions++;
+                snapshot = resultsExtractor.extract(page, query);
             }
 
-            if (expansions > 0) {
-                log.debug("Expanded {} sections", expansions);
-                // Give time for all content to load after expansions
-                page.waitForTimeout(2000);
-            } else {
-                log.debug("No expandable sections found or all sections already expanded");
+            log.info("Parsed {} matching time slots across {} locations after {} expansions ({})",
+                    countSlots(slotsByLocation), snapshot.locations().size(), expansions, stopReason);
+
+            if (slotsByLocation.isEmpty()) {
+                log.debug("No appointments found, checking for 'no results' messages");
+                logNoResultsMessages(snapshot);
             }
 
         } catch (Exception e) {
-            log.warn("Error expanding sections: {}", e.getMessage());
+            log.error("Error parsing appointment results: {}", e.getMessage());
+            debugArtifacts.capture(page, "parsing", "parsing-error");
+            // Partial results would report every slot past the failure as withdrawn, so the check fails instead
+            throw new IllegalStateException("Could not parse appointment results", e);
         }
+
+        AppointmentResults results = AppointmentResults.byLocation(slotsByLocation);
+        return truncated && lastListedDay != SlotText.NO_DATE
+                ? results.truncatedAfter(LocalDate.ofEpochDay(lastListedDay))
+                : results;
     }
 
-    private void parseDates(Page page, List<String> dates) {
-        log.debug("Parsing available dates");
+    // Slots are kept per office, since the page can list nearby offices under the one searched. The browser has
+    // already dropped what it could tell doesn't match; the query is applied again here as the authoritative check.
+    // Returns the number of matching slots collected so far
+    int collectSlots(ResultsSnapshot snapshot, SlotQuery query, Map<String, Map<String, List<String>>> slotsByLocation) {
+        for (ResultsSnapshot.LocationBlock location : snapshot.locations()) {
+            Map<String, List<String>> dateToSlots = slotsByLocation.computeIfAbsent(
+                    location.name() != null ? location.name() : "", name -> new LinkedHashMap<>());
+            for (ResultsSnapshot.DateBlock dateBlock : location.dates()) {
+                if (!SlotText.looksLikeDate(dateBlock.date())) {
+                    log.debug("Skipping non-date heading '{}'", dateBlock.date());
+                    continue;
+                }
+                if (!query.matchesDate(SlotText.parseEpochDay(dateBlock.date()))) {
+                    continue;
+                }
 
-        try {
-            // Multiple selectors to handle different page layouts and element structures
-            Locator dateTitles = page.locator(".date-title")
-                    .or(page.locator(".appointment-date"))
-                    .or(page.locator("[class*='date']"))
-                    .or(page.locator("h3, h4, h5").filter(new Locator.FilterOptions()
-                            .setHasText(java.util.regex.Pattern.compile("\\d{1,2}/\\d{1,2}|\\w+ \\d{1,2}"))));
-
-            int dateCount = dateTitles.count();
-            log.debug("Found {} date elements", dateCount);
-
-            for (int i = 0; i < dateCount; i++) {
-                try {
-                    String dateText = dateTitles.nth(i).textContent().trim();
-                    if (!dateText.isEmpty() && isValidDateText(dateText)) {
-                        dates.add(dateText);
-                        log.debug("Added date: '{}'", dateText);
+                List<String> slots = dateToSlots.computeIfAbsent(dateBlock.date(), d -> new ArrayList<>());
+                for (String slot : dateBlock.slots()) {
+                    if (SlotText.looksLikeTime(slot) && query.matchesTime(SlotText.parseMinuteOfDay(slot))
+                            && !slots.contains(slot)) {
+                        slots.add(slot);
                     }
-                } catch (PlaywrightException e) {
-                    log.debug("Could not read date element {}: {}", i, e.getMessage());
                 }
             }
-
-            log.debug("Successfully parsed {} dates", dates.size());
-
-        } catch (Exception e) {
-            log.warn("Error parsing dates: {}", e.getMessage());
         }
+        slotsByLocation.values().forEach(dateToSlots -> dateToSlots.values().removeIf(List::isEmpty));
+        slotsByLocation.values().removeIf(Map::isEmpty);
+        return countSlots(slotsByLocation);
     }
 
-    private void parseTimeSlots(Page page, List<String> timeSlots) {
-        log.debug("Parsing available time slots");
+    private static int countSlots(Map<String, Map<String, List<String>>> slotsByLocation) {
+        return slotsByLocation.values().stream()
+                .flatMap(dateToSlots -> dateToSlots.values().stream())
+                .mapToInt(List::size)
+                .sum();
+    }
 
-        try {
-            // Multiple selectors for different time slot UI patterns
-            Locator timeSlotButtons = page.locator(".mat-button-toggle-button .mat-button-toggle-label-content")
-                    .or(page.locator(".time-slot"))
-                    .or(page.locator(".appointment-time"))
-                    .or(page.locator("button").filter(new Locator.FilterOptions()
-                            .setHasText(java.util.regex.Pattern.compile("\\d{1,2}:\\d{2}|\\d{1,2} ?[ap]m", java.util.regex.Pattern.CASE_INSENSITIVE))))
-                    .or(page.locator("[class*='time']").filter(new Locator.FilterOptions()
-                            .setHasText(java.util.regex.Pattern.compile("\\d{1,2}:\\d{2}|\\d{1,2} ?[ap]m", java.util.regex.Pattern.CASE_INSENSITIVE))));
-
-            int timeSlotCount = timeSlotButtons.count();
-            log.debug("Found {} time slot elements", timeSlotCount);
-
-            for (int i = 0; i < timeSlotCount; i++) {
-                try {
-                    String timeText = timeSlotButtons.nth(i).textContent().trim();
-                    if (!timeText.isEmpty() && isValidTimeText(timeText)) {
-                        timeSlots.add(timeText);
-                        log.debug("Added time slot: '{}'", timeText);
+    // Each office lists its dates in ascending order, so the office whose list ends earliest bounds what has been
+    // revealed everywhere; NO_DATE when no office has a recognisable date yet
+    private long lastListedDay(ResultsSnapshot snapshot) {
+        long revealedThrough = SlotText.NO_DATE;
+        for (ResultsSnapshot.LocationBlock location : snapshot.locations()) {
+            // lastDate still counts dates the browser filtered out of the block
+            long lastDay = location.lastDate() != null ? SlotText.parseEpochDay(location.lastDate()) : SlotText.NO_DATE;
+            if (lastDay == SlotText.NO_DATE) {
+                for (ResultsSnapshot.DateBlock dateBlock : location.dates()) {
+                    long epochDay = SlotText.parseEpochDay(dateBlock.date());
+                    if (epochDay != SlotText.NO_DATE) {
+                        lastDay = epochDay;
                     }
-                } catch (PlaywrightException e) {
-                    log.debug("Could not read time slot element {}: {}", i, e.getMessage());
                 }
             }
-
-            log.debug("Successfully parsed {} time slots", timeSlots.size());
-
-        } catch (Exception e) {
-            log.warn("Error parsing time slots: {}", e.getMessage());
-        }
-    }
-
-    private boolean isValidDateText(String dateText) {
-        if (dateText == null || dateText.trim().isEmpty()) {
-            return false;
-        }
-
-        String normalized = dateText.toLowerCase().trim();
-
-        // Filter out common non-date UI text
-        if (normalized.contains("no appointment") ||
-                normalized.contains("not available") ||
-                normalized.contains("select") ||
-                normalized.length() < 3) {
-            return false;
-        }
-
-        // Match common date patterns: mm/dd, mm-dd, Month dd, dd Month
-        return dateText.matches(".*\\d{1,2}[/\\-]\\d{1,2}.*") ||
-                dateText.matches(".*\\w+ \\d{1,2}.*") ||
-                dateText.matches(".*\\d{1,2} \\w+.*");
-    }
-
-    private boolean isValidTimeText(String timeText) {
-        if (timeText == null || timeText.trim().isEmpty()) {
-            return false;
-        }
-
-        String normalized = timeText.toLowerCase().trim();
-
-        // Filter out common non-time UI text
-        if (normalized.contains("no appointment") ||
-                normalized.contains("not available") ||
-                normalized.contains("select") ||
-                normalized.length() < 3) {
-            return false;
+            if (lastDay != SlotText.NO_DATE && (revealedThrough == SlotText.NO_DATE || lastDay < revealedThrough)) {
+                revealedThrough = lastDay;
+            }
         }
-
-        // Match common time patterns: HH:MM, H AM/PM, HH:MM AM/PM
-        return timeText.matches(".*\\d{1,2}:\\d{2}.*") ||
-                timeText.matches(".*\\d{1,2} ?[ap]m.*") ||
-                timeText.matches(".*\\d{1,2}:\\d{2} ?[ap]m.*");
+        return revealedThrough;
     }
 
-    private void checkForNoResultsMessages(Page page) {
+    private boolean expandNext(Page page, int expansion) {
         try {
-            Locator noResultsMessages = page.locator(":has-text('No appointments')")
-                    .or(page.locator(":has-text('not available')"))
-                    .or(page.locator(":has-text('No results')"))
-                    .or(page.locator(".no-results"))
-                    .or(page.locator(".empty-results"))
-                    .or(page.locator("[class*='no-appointment']"));
-
-            if (noResultsMessages.count() > 0) {
-                for (int i = 0; i < noResultsMessages.count(); i++) {
-                    try {
-                        String messageText = noResultsMessages.nth(i).textContent().trim();
-                        if (!messageText.isEmpty()) {
-                            log.info("Found 'no results' message: '{}'", messageText);
-                        }
-                    } catch (Exception e) {
-                        log.debug("Could not read no-results message {}: {}", i, e.getMessage());
-                    }
-                }
-            } else {
-                log.debug("No explicit 'no results' messages found");
+            Locator viewMoreButton = page.locator(VIEW_MORE_SELECTOR).first();
+            if (!viewMoreButton.isVisible()) {
+                return false;
             }
 
-        } catch (Exception e) {
-            log.warn("Error checking for no-results messages: {}", e.getMessage());
+            log.debug("Found 'view more' button, expanding section {}", expansion);
+            viewMoreButton.scrollIntoViewIfNeeded();
+            waits.settle(page, 200);
+            viewMoreButton.click();
+            waits.forQuiescence(page, "body", 1000);
+            return true;
+
+        } catch (PlaywrightException e) {
+            log.warn("Failed to click 'view more' button: {}", e.getMessage());
+            return false;
         }
     }
 
-    private void takeDebugScreenshot(Page page, String filename) {
-        try {
-            page.screenshot(new Page.ScreenshotOptions()
-                    .setPath(Paths.get(filename))
-                    .setFullPage(true));
-            log.debug("Saved debug screenshot: {}", filename);
-        } catch (Exception e) {
-            log.warn("Could not take debug screenshot: {}", e.getMessage());
+    private void logNoResultsMessages(ResultsSnapshot snapshot) {
+        if (snapshot.noResultsMessages().isEmpty()) {
+            log.debug("No explicit 'no results' messages found");
+            return;
         }
+        snapshot.noResultsMessages().forEach(message -> log.info("Found 'no results' message: '{}'", message));
     }
-}
\ No newline at end of file
+}
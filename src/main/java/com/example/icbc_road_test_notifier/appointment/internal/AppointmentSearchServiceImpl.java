@@ -2,7 +2,10 @@ package com.example.icbc_road_test_notifier.appointment.internal;
 
 import com.example.icbc_road_test_notifier.appointment.*;
 import com.example.icbc_road_test_notifier.navigation.DaySelectionService;
+import com.example.icbc_road_test_notifier.navigation.DebugArtifactService;
 import com.example.icbc_road_test_notifier.navigation.LocationSelectionService;
+import com.example.icbc_road_test_notifier.navigation.WaitStrategy;
+import com.example.icbc_road_test_notifier.shared.CheckMetrics;
 import com.example.icbc_road_test_notifier.shared.DateRangePreference;
 import com.example.icbc_road_test_notifier.shared.DaysOfTheWeek;
 import com.example.icbc_road_test_notifier.shared.TimePreference;
@@ -10,89 +13,135 @@ import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.PlaywrightException;
 import com.microsoft.playwright.options.AriaRole;
-import com.microsoft.playwright.options.LoadState;
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.nio.file.Paths;
+import java.util.Optional;
 import java.util.Set;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class AppointmentSearchServiceImpl implements AppointmentSearchService {
     private final LocationSelectionService locationService;
     private final DaySelectionService daySelectionService;
     private final AppointmentParsingService parsingService;
     private final AppointmentFilterService filterService;
-    @Getter private AppointmentResults lastResults = AppointmentResults.empty();
+    private final AvailabilityPayloadParser payloadParser;
+    private final WaitStrategy waits;
+    private final CheckMetrics metrics;
+    private final DebugArtifactService debugArtifacts;
+    private final boolean networkCaptureEnabled;
+    private final int matchQuota;
+
+    public AppointmentSearchServiceImpl(
+            LocationSelectionService locationService,
+            DaySelectionService daySelectionService,
+            AppointmentParsingService parsingService,
+            AppointmentFilterService filterService,
+            AvailabilityPayloadParser payloadParser,
+            WaitStrategy waits,
+            CheckMetrics metrics,
+            DebugArtifactService debugArtifacts,
+            @Value("${icbc.parsing.network-capture:true}") boolean networkCaptureEnabled,
+            @Value("${icbc.parsing.match-quota:0}") int matchQuota
+    ) {
+        this.locationService = locationService;
+        this.daySelectionService = daySelectionService;
+        this.parsingService = parsingService;
+        this.filterService = filterService;
+        this.payloadParser = payloadParser;
+        this.waits = waits;
+        this.metrics = metrics;
+        this.debugArtifacts = debugArtifacts;
+        this.networkCaptureEnabled = networkCaptureEnabled;
+        this.matchQuota = matchQuota;
+    }
 
     @Override
-    public void configureAndSearch(Page page, String preferredLocation, Set<DaysOfTheWeek> preferredDays,
+    public AppointmentResults configureAndSearch(Page page, String preferredLocation, Set<DaysOfTheWeek> preferredDays,
                                    TimePreference timePreference, DateRangePreference dateRangePreference) {
         log.debug("Configuring search preferences");
 
-        page.waitForLoadState(LoadState.NETWORKIDLE);
+        waits.settleAfterNetwork(page, 0);
 
         if (preferredLocation != null && !preferredLocation.trim().isEmpty()) {
-            locationService.selectLocation(page, preferredLocation);
+            metrics.time("select-location", preferredLocation,
+                    () -> locationService.selectLocation(page, preferredLocation));
         }
 
         page.evaluate("window.scrollTo(0, document.body.scrollHeight / 2)");
-        page.waitForTimeout(1000);
+        waits.settle(page, 1000);
 
         if (preferredDays != null && !preferredDays.isEmpty()) {
-            daySelectionService.selectDays(page, preferredDays);
+            metrics.time("select-days", preferredLocation,
+                    () -> daySelectionService.selectDays(page, preferredDays));
         }
 
         page.evaluate("window.scrollTo(0, document.body.scrollHeight)");
-        page.waitForTimeout(500);
+        waits.settle(page, 500);
 
-        executeSearch(page, preferredLocation, timePreference, dateRangePreference);
+        return executeSearch(page, preferredLocation, timePreference, dateRangePreference);
     }
 
-    private void executeSearch(Page page, String preferredLocationName,
+    private AppointmentResults executeSearch(Page page, String preferredLocationName,
                                TimePreference timePreference, DateRangePreference dateRangePreference) {
         log.debug("Executing appointment search");
 
-        try {
+        try (AvailabilityResponseCapture capture = AvailabilityResponseCapture.attach(page)) {
             Locator searchButton = findSearchButton(page);
 
             if (searchButton.first().isDisabled()) {
                 log.warn("Search button is disabled - required fields may not be filled");
-                takeDebugScreenshot(page, "debug-disabled-search-button-" + System.currentTimeMillis() + ".png");
-                lastResults = AppointmentResults.empty();
-                return;
+                debugArtifacts.capture(page, "search", "disabled-search-button");
+                return AppointmentResults.empty();
             }
 
-            searchButton.first().scrollIntoViewIfNeeded();
-            searchButton.first().click();
-            log.debug("Clicked search button");
+            metrics.time("search-click", preferredLocationName, () -> {
+                searchButton.first().scrollIntoViewIfNeeded();
+                searchButton.first().click();
+                log.debug("Clicked search button");
 
-            page.waitForLoadState(LoadState.NETWORKIDLE);
-            page.waitForTimeout(3000);
+                waits.settleAfterNetwork(page, 3000);
 
-            handleLocationSelection(page, preferredLocationName);
+                handleLocationSelection(page, preferredLocationName);
+            });
 
-            AppointmentResults rawResults = parsingService.parseResults(page);
+            // The DOM parser applies the preferences while expanding; the captured payload is filtered below
+            SlotQuery query = SlotQuery.of(timePreference, dateRangePreference, matchQuota);
+            AppointmentResults rawResults = metrics.time("parse", preferredLocationName,
+                    () -> parseCapturedResults(capture).orElseGet(() -> parsingService.parseResults(page, query)));
 
             // Apply filtering only if preferences are provided
             if (timePreference != null || dateRangePreference != null) {
-                lastResults = filterService.filterByPreferences(rawResults, timePreference, dateRangePreference);
+                AppointmentResults filteredResults = metrics.time("filter", preferredLocationName,
+                        () -> filterService.filterByPreferences(rawResults, timePreference, dateRangePreference));
                 log.info("Filtered {} to {} appointments based on preferences",
-                        rawResults.getSummary(), lastResults.getSummary());
-            } else {
-                lastResults = rawResults;
-                log.info("No filtering applied: {}", lastResults.getSummary());
+                        rawResults.getSummary(), filteredResults.getSummary());
+                return filteredResults;
             }
 
+            log.info("No filtering applied: {}", rawResults.getSummary());
+            return rawResults;
+
         } catch (PlaywrightException e) {
             log.error("Failed to execute search: {}", e.getMessage());
-            takeDebugScreenshot(page, "debug-search-error-" + System.currentTimeMillis() + ".png");
-            lastResults = AppointmentResults.empty();
+            debugArtifacts.capture(page, "search", "search-error");
+            return AppointmentResults.empty();
+        }
+    }
+
+    // The last captured response belongs to the final location selection; fall back to the DOM parser without one
+    private Optional<AppointmentResults> parseCapturedResults(AvailabilityResponseCapture capture) {
+        if (!networkCaptureEnabled) {
+            return Optional.empty();
         }
+
+        Optional<AppointmentResults> results = capture.latestPayload().flatMap(payloadParser::parse);
+        if (results.isEmpty()) {
+            log.debug("No usable availability response captured ({} seen), parsing the DOM instead", capture.capturedCount());
+        }
+        return results;
     }
 
     private Locator findSearchButton(Page page) {
@@ -109,16 +158,7 @@ public class AppointmentSearchServiceImpl implements AppointmentSearchService {
         if (locationResults.count() > 0) {
             log.debug("Location selection results appeared");
             locationService.selectSpecificLocation(page, preferredLocationName);
-            page.waitForLoadState(LoadState.NETWORKIDLE);
-            page.waitForTimeout(3000);
-        }
-    }
-
-    private void takeDebugScreenshot(Page page, String filename) {
-        try {
-            page.screenshot(new Page.ScreenshotOptions().setPath(Paths.get(filename)).setFullPage(true));
-        } catch (Exception e) {
-            log.warn("Could not take debug screenshot: {}", e.getMessage());
+            waits.settleAfterNetwork(page, 3000);
         }
     }
 }
\ No newline at end of file
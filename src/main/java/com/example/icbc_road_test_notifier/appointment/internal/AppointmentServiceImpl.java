@@ -2,28 +2,38 @@ package com.example.icbc_road_test_notifier.appointment.internal;
 
 import com.example.icbc_road_test_notifier.appointment.*;
 import com.example.icbc_road_test_notifier.navigation.NavigationService;
-import com.example.icbc_road_test_notifier.shared.DateRangePreference;
+import com.example.icbc_road_test_notifier.shared.CheckMetrics;
 import com.example.icbc_road_test_notifier.shared.IcbcConfig;
-import com.example.icbc_road_test_notifier.shared.TimePreference;
 import jakarta.validation.constraints.NotNull;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class AppointmentServiceImpl implements AppointmentService {
     private final @NonNull WebDriver webDriver;
+    private final @NonNull SessionStateStore sessionStateStore;
     private final @NonNull NavigationService navigationService;
     private final @NonNull AppointmentSearchService searchService;
-    private final @NonNull ApplicationEventPublisher events;
+    private final @NonNull MultiLocationSearch multiLocationSearch;
+    private final @NonNull LocationSearchProperties locationSearchProperties;
+    private final @NonNull AppointmentFilterService filterService;
+    private final @NonNull PortalHttpClient portalHttpClient;
+    private final @NonNull SlotStateStore slotStateStore;
+    private final @NonNull SessionRecorder sessionRecorder;
+    private final @NonNull CheckMetrics metrics;
+    private final @NonNull AppointmentEventPublisher eventPublisher;
 
     @Override
-    public void authenticateAndSearchAppointments(@NotNull IcbcConfig config) {
+    public AppointmentResults authenticateAndSearchAppointments(@NotNull IcbcConfig config) {
         validateInputs(config.lastName(), config.licenseNumber(), config.keyword());
 
         log.info("Starting ICBC appointment search for user: {} at location: {} with time preference: {} and date range: {}",
@@ -32,66 +42,117 @@ public class AppointmentServiceImpl implements AppointmentService {
                 config.timePreference() != null ? config.timePreference().getDisplayName() : "ANY",
                 config.dateRangePreference() != null ? "custom range" : "no restriction");
 
-        try (WebDriver.WebDriverSession session = webDriver.createSession()) {
-
-            navigationService.authenticate(
-                    session.getPage(),
-                    config.lastName(),
-                    config.licenseNumber(),
-                    config.keyword()
-            );
-
-            navigationService.navigateToAppointmentSection(session.getPage());
-
-            searchService.configureAndSearch(
-                    session.getPage(),
-                    config.preferredLocation(),
-                    config.preferredDays(),
-                    config.timePreference(),
-                    config.dateRangePreference()
-            );
-
-            AppointmentResults results = searchService.getLastResults();
-            if (results.hasAvailableAppointments()) {
-                publishAppointmentFoundEvent(results, config.timePreference(), config.dateRangePreference());
-            } else {
-                log.info("No appointments found matching the specified criteria");
+        return metrics.timeCheck(config.preferredLocation(), () -> check(config));
+    }
+
+    private AppointmentResults check(IcbcConfig config) {
+        String location = config.preferredLocation();
+        // The replayed request is bound to the office it was captured for, so only single-office checks use it
+        boolean singleLocation = config.searchLocations().size() <= 1;
+
+        Optional<AppointmentResults> browserlessResults = singleLocation
+                ? portalHttpClient.search(config.licenseNumber(), config.preferredLocation())
+                : Optional.empty();
+        if (browserlessResults.isPresent()) {
+            log.debug("Checked availability without a browser");
+            AppointmentResults results = metrics.time("filter", location,
+                    () -> applyPreferences(browserlessResults.get(), config));
+            return metrics.time("publish", location, () -> handleResults(results, config));
+        }
+
+        Optional<Path> storedSession = sessionStateStore.find(config.licenseNumber());
+
+        try (WebDriver.WebDriverSession session = metrics.time("session", location,
+                () -> webDriver.createSession(storedSession.orElse(null)));
+             PortalSessionCapture portalSession = PortalSessionCapture.attach(session.getPage())) {
+
+            metrics.time("authenticate", location, () -> {
+                if (storedSession.isEmpty() || !navigationService.resumeSession(session.getPage())) {
+                    login(session, config, storedSession.isPresent());
+                } else {
+                    sessionStateStore.save(config.licenseNumber(), session.getContext());
+                }
+            });
+            sessionRecorder.snapshot(session, "authenticated");
+
+            metrics.time("navigate", location, () -> navigationService.navigateToAppointmentSection(session.getPage()));
+
+            // Location, day selection, search, parsing and filtering are timed individually inside the search service
+            Map<String, AppointmentResults> resultsByLocation = multiLocationSearch.search(session, config);
+            sessionRecorder.snapshot(session, "results");
+
+            if (singleLocation) {
+                portalSession.latestSession().ifPresent(captured -> portalHttpClient.remember(config.licenseNumber(),
+                        config.preferredLocation(), captured));
             }
 
+            return metrics.time("publish", location, () -> handleResults(resultsByLocation, config));
+
         } catch (Exception e) {
             log.error("Appointment search failed: {}", e.getMessage());
             throw new RuntimeException("Appointment search failed", e);
         }
     }
 
-    @Transactional
-    public void publishAppointmentFoundEvent(AppointmentResults results, TimePreference timePreference, DateRangePreference dateRangePreference) {
-        StringBuilder messageBuilder = new StringBuilder();
-        messageBuilder.append(String.format("Available appointments found: %d dates with %d total time slots. %s",
-                results.getDateCount(),
-                results.getTotalSlots(),
-                results.getSummary()));
-
-        // Add filtering information to the message
-        if (timePreference != null || dateRangePreference != null) {
-            messageBuilder.append(" [Filtered by: ");
-            if (timePreference != null) {
-                messageBuilder.append("time=").append(timePreference.getDisplayName());
-            }
-            if (dateRangePreference != null) {
-                if (timePreference != null) messageBuilder.append(", ");
-                messageBuilder.append("date range");
-            }
-            messageBuilder.append("]");
+    private AppointmentResults applyPreferences(AppointmentResults rawResults, IcbcConfig config) {
+        if (config.timePreference() == null && config.dateRangePreference() == null) {
+            return rawResults;
         }
+        return filterService.filterByPreferences(rawResults, config.timePreference(), config.dateRangePreference());
+    }
 
-        String eventMessage = messageBuilder.toString();
-        events.publishEvent(new AppointmentFound(eventMessage));
+    private AppointmentResults handleResults(AppointmentResults results, IcbcConfig config) {
+        Map<String, AppointmentResults> resultsByLocation = new LinkedHashMap<>();
+        resultsByLocation.put(config.preferredLocation(), results);
+        return handleResults(resultsByLocation, config);
+    }
+
+    // Each office keeps its own last-seen state and raises its own events; several offices come back as one
+    // earliest-first view with every slot tagged with its office
+    private AppointmentResults handleResults(Map<String, AppointmentResults> resultsByLocation, IcbcConfig config) {
+        resultsByLocation.forEach((location, results) -> publishChanges(location, results, config));
+        if (resultsByLocation.size() == 1) {
+            return resultsByLocation.values().iterator().next();
+        }
+
+        AppointmentResults merged = AppointmentResults.earliestAcross(resultsByLocation,
+                locationSearchProperties.mergedSlotLimit());
+        log.info("Earliest slots across {} offices: {}", resultsByLocation.size(), merged.getSlotsWithLocation());
+        return merged;
+    }
+
+    // Only slots that opened or closed since the profile's last check produce events
+    private void publishChanges(String location, AppointmentResults results, IcbcConfig config) {
+        SlotDiff diff = slotStateStore.update(config.licenseNumber(), location, results);
+        if (diff.hasChanges()) {
+            eventPublisher.publishChanges(diff, location, config);
+        }
+
+        if (diff.appeared().hasAvailableAppointments()) {
+            log.debug("New appointments at {} handed to the event publisher", location);
+        } else if (results.hasAvailableAppointments()) {
+            log.info("No new appointments since the last check ({} slots still open)", results.getTotalSlots());
+        } else {
+            log.info("No appointments found matching the specified criteria");
+        }
+    }
+
+    private void login(WebDriver.WebDriverSession session, IcbcConfig config, boolean hadStoredSession) {
+        if (hadStoredSession) {
+            // Stale cookies and storage from the expired session can confuse the login form
+            sessionStateStore.invalidate(config.licenseNumber());
+            session.getContext().clearCookies();
+            session.getPage().evaluate("() => { try { localStorage.clear(); sessionStorage.clear(); } catch (e) {} }");
+        }
+
+        navigationService.authenticate(
+                session.getPage(),
+                config.lastName(),
+                config.licenseNumber(),
+                config.keyword()
+        );
 
-        log.info("Published appointment found event: {} dates, {} slots{}",
-                results.getDateCount(),
-                results.getTotalSlots(),
-                (timePreference != null || dateRangePreference != null) ? " (filtered)" : "");
+        sessionStateStore.save(config.licenseNumber(), session.getContext());
     }
 
     private void validateInputs(String lastName, String licenseNumber, String keyword) {
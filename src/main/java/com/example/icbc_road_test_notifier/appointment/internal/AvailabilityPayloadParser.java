@@ -0,0 +1,54 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.example.icbc_road_test_notifier.appointment.SlotSet;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+// Builds AppointmentResults from the portal's getAvailableAppointments JSON, using the same display
+// strings the DOM shows ("Tuesday, January 6th, 2026", "9:35 AM") so filtering is unchanged
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AvailabilityPayloadParser {
+    private final ObjectMapper objectMapper;
+
+    public Optional<AppointmentResults> parse(String payload) {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(payload);
+        } catch (Exception e) {
+            log.warn("Availability payload is not valid JSON: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        if (root == null || !root.isArray()) {
+            log.warn("Unexpected availability payload shape: {}", root != null ? root.getNodeType() : "empty");
+            return Optional.empty();
+        }
+
+        SlotSet.Builder slots = SlotSet.builder();
+        for (JsonNode appointment : root) {
+            try {
+                LocalDate date = LocalDate.parse(appointment.path("appointmentDt").path("date").asText());
+                LocalTime time = LocalTime.parse(appointment.path("startTm").asText());
+                slots.add(date, time, SlotSet.NO_LOCATION);
+            } catch (DateTimeParseException e) {
+                log.debug("Skipping malformed appointment entry {}: {}", appointment, e.getMessage());
+            }
+        }
+
+        AppointmentResults results = AppointmentResults.fromSlots(slots.build());
+        log.info("Parsed {} dates and {} time slots from availability response",
+                results.getDateCount(), results.getTotalSlots());
+        return Optional.of(results);
+    }
+}
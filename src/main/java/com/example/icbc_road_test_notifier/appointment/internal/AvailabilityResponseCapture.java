@@ -0,0 +1,62 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Records the appointment-search XHRs the Angular app issues so results can be read from JSON instead of the DOM
+@Slf4j
+public class AvailabilityResponseCapture implements AutoCloseable {
+    static final String AVAILABILITY_ENDPOINT = "/deas-api/v1/web/getAvailableAppointments";
+
+    private final Page page;
+    private final List<Response> responses = new CopyOnWriteArrayList<>();
+    private final Consumer<Response> listener = this::onResponse;
+
+    private AvailabilityResponseCapture(Page page) {
+        this.page = page;
+    }
+
+    public static AvailabilityResponseCapture attach(Page page) {
+        AvailabilityResponseCapture capture = new AvailabilityResponseCapture(page);
+        page.onResponse(capture.listener);
+        return capture;
+    }
+
+    // Bodies are read lazily: blocking on Response.text() inside the event handler would stall the dispatcher
+    public Optional<String> latestPayload() {
+        for (int i = responses.size() - 1; i >= 0; i--) {
+            try {
+                return Optional.of(responses.get(i).text());
+            } catch (Exception e) {
+                log.debug("Could not read captured availability response: {}", e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    public int capturedCount() {
+        return responses.size();
+    }
+
+    @Override
+    public void close() {
+        try {
+            page.offResponse(listener);
+        } catch (Exception e) {
+            log.debug("Could not detach availability listener: {}", e.getMessage());
+        }
+    }
+
+    private void onResponse(Response response) {
+        if (response.url().contains(AVAILABILITY_ENDPOINT) && response.ok()) {
+            log.debug("Captured availability response from {}", response.url());
+            responses.add(response);
+        }
+    }
+}
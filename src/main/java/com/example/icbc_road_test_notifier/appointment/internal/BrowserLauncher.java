@@ -0,0 +1,25 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class BrowserLauncher {
+    private final BrowserProperties properties;
+
+    public PooledBrowser launch() {
+        Playwright playwright = Playwright.create();
+        try {
+            Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
+                    .setHeadless(properties.headless()));
+            return new PooledBrowser(playwright, browser);
+        } catch (RuntimeException e) {
+            playwright.close();
+            throw e;
+        }
+    }
+}
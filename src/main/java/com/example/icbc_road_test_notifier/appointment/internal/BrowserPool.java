@@ -0,0 +1,243 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class BrowserPool {
+    private final BrowserLauncher launcher;
+    private final BrowserProperties.Pool config;
+    private final Semaphore leases;
+    // Most recently released browser at the head, so the tail holds the longest-idle ones
+    private final Deque<PooledBrowser> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger leased = new AtomicInteger();
+    private final AtomicLong launchNanosSaved = new AtomicLong();
+    private final Timer launchTimer;
+    private final Timer warmAcquireTimer;
+    private final Timer coldAcquireTimer;
+    private volatile boolean shutdown;
+
+    public BrowserPool(BrowserLauncher launcher, BrowserProperties properties, MeterRegistry registry) {
+        this.launcher = launcher;
+        this.config = properties.pool();
+        this.leases = new Semaphore(Math.max(1, config.maxSize()), true);
+
+        this.launchTimer = Timer.builder("icbc.browser.pool.launch")
+                .description("Cold start of a Playwright driver and Chromium process")
+                .register(registry);
+        this.warmAcquireTimer = Timer.builder("icbc.browser.pool.acquire")
+                .tag("source", "warm")
+                .register(registry);
+        this.coldAcquireTimer = Timer.builder("icbc.browser.pool.acquire")
+                .tag("source", "cold")
+                .register(registry);
+
+        FunctionCounter.builder("icbc.browser.pool.launch.saved", launchNanosSaved,
+                        saved -> saved.get() / (double) TimeUnit.SECONDS.toNanos(1))
+                .description("Launch latency avoided by handing out warm browsers")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("icbc.browser.pool.idle", idle, Deque::size).register(registry);
+        Gauge.builder("icbc.browser.pool.leased", leased, AtomicInteger::get).register(registry);
+    }
+
+    public PooledBrowser acquire() {
+        long start = System.nanoTime();
+        acquireLease();
+        return lend(start);
+    }
+
+    // Lends a browser only if the pool has a free lease right now; for optional extra work that must not queue
+    public Optional<PooledBrowser> tryAcquire() {
+        long start = System.nanoTime();
+        if (!leases.tryAcquire()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(lend(start));
+        } catch (RuntimeException e) {
+            log.warn("Could not lend an extra pooled browser: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // Caller holds a lease, which is given back if no browser can be handed out
+    private PooledBrowser lend(long start) {
+        try {
+            PooledBrowser browser;
+            while ((browser = idle.pollFirst()) != null) {
+                if (browser.isHealthy()) {
+                    recordWarmAcquire(System.nanoTime() - start);
+                    leased.incrementAndGet();
+                    return browser;
+                }
+                log.warn("Discarding disconnected pooled browser launched at {}", browser.getLaunchedAt());
+                browser.close();
+            }
+
+            browser = launch();
+            coldAcquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            leased.incrementAndGet();
+            return browser;
+
+        } catch (RuntimeException e) {
+            leases.release();
+            throw e;
+        }
+    }
+
+    public void release(PooledBrowser browser) {
+        try {
+            if (shutdown || !browser.isHealthy() || browser.getUses() >= config.maxUses()) {
+                log.debug("Retiring pooled browser after {} uses", browser.getUses());
+                browser.close();
+            } else {
+                browser.markReleased();
+                idle.offerFirst(browser);
+            }
+        } finally {
+            leased.decrementAndGet();
+            leases.release();
+        }
+    }
+
+    public void invalidate(PooledBrowser browser) {
+        try {
+            browser.close();
+        } finally {
+            leased.decrementAndGet();
+            leases.release();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${icbc.browser.pool.health-check-interval:PT1M}",
+            initialDelayString = "${icbc.browser.pool.health-check-interval:PT1M}")
+    public void maintain() {
+        evictIdleAndUnhealthy();
+        topUp();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (config.minSize() > 0) {
+            Thread.ofVirtual().name("browser-pool-warmup").start(this::topUp);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shutdown = true;
+        PooledBrowser browser;
+        while ((browser = idle.pollFirst()) != null) {
+            browser.close();
+        }
+    }
+
+    public int idleCount() {
+        return idle.size();
+    }
+
+    public int leasedCount() {
+        return leased.get();
+    }
+
+    private void acquireLease() {
+        try {
+            if (!leases.tryAcquire(config.acquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timed out after " + config.acquireTimeout()
+                        + " waiting for a pooled browser (max " + config.maxSize() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled browser", e);
+        }
+    }
+
+    private PooledBrowser launch() {
+        long start = System.nanoTime();
+        PooledBrowser browser = launcher.launch();
+        launchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.debug("Launched pooled browser in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return browser;
+    }
+
+    private void recordWarmAcquire(long acquireNanos) {
+        warmAcquireTimer.record(acquireNanos, TimeUnit.NANOSECONDS);
+        if (launchTimer.count() > 0) {
+            long meanLaunchNanos = (long) launchTimer.mean(TimeUnit.NANOSECONDS);
+            launchNanosSaved.addAndGet(Math.max(0, meanLaunchNanos - acquireNanos));
+        }
+    }
+
+    private void evictIdleAndUnhealthy() {
+        Instant idleCutoff = Instant.now().minus(config.idleTimeout());
+        List<PooledBrowser> evicted = new ArrayList<>();
+
+        // Each browser is taken out of the deque before it is probed, so acquire() can't hand it to a check
+        // while this thread is still talking to it
+        List<PooledBrowser> oldestFirst = new ArrayList<>(idle);
+        Collections.reverse(oldestFirst);
+        List<PooledBrowser> kept = new ArrayList<>();
+        for (PooledBrowser browser : oldestFirst) {
+            if (!idle.removeFirstOccurrence(browser)) {
+                continue;
+            }
+            boolean expired = browser.getLastReleasedAt().isBefore(idleCutoff)
+                    && idle.size() + kept.size() + 1 + leased.get() > config.minSize();
+
+            if (expired || !browser.isHealthy()) {
+                evicted.add(browser);
+            } else {
+                kept.add(browser);
+            }
+        }
+        // Back at the tail, newest of them first, so they still come after anything released meanwhile
+        for (int i = kept.size() - 1; i >= 0; i--) {
+            idle.offerLast(kept.get(i));
+        }
+
+        evicted.forEach(PooledBrowser::close);
+        if (!evicted.isEmpty()) {
+            log.debug("Evicted {} idle or unhealthy browsers, {} remain idle", evicted.size(), idle.size());
+        }
+    }
+
+    private void topUp() {
+        while (!shutdown && idle.size() + leased.get() < config.minSize()) {
+            if (!leases.tryAcquire()) {
+                return;
+            }
+            try {
+                PooledBrowser browser = launch();
+                browser.markReleased();
+                idle.offerFirst(browser);
+            } catch (RuntimeException e) {
+                log.warn("Could not pre-launch pooled browser: {}", e.getMessage());
+                return;
+            } finally {
+                leases.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "icbc.browser")
+public record BrowserProperties(
+        @DefaultValue("true")
+        boolean headless,
+
+        @DefaultValue("30")
+        int timeoutSeconds,
+
+        @DefaultValue("90")
+        int taskTimeoutSeconds,
+
+        @DefaultValue
+        Pool pool
+) {
+    public record Pool(
+            @DefaultValue("1")
+            int minSize,
+
+            @DefaultValue("4")
+            int maxSize,
+
+            // Recycle a browser after this many contexts to cap Chromium memory growth
+            @DefaultValue("50")
+            int maxUses,
+
+            @DefaultValue("PT10M")
+            Duration idleTimeout,
+
+            @DefaultValue("PT2M")
+            Duration acquireTimeout
+    ) {}
+}
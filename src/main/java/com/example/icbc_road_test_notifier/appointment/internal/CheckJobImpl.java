@@ -0,0 +1,58 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.example.icbc_road_test_notifier.appointment.CheckJob;
+import com.example.icbc_road_test_notifier.appointment.CheckStatus;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Getter
+class CheckJobImpl implements CheckJob {
+    private final UUID id = UUID.randomUUID();
+    private final String profileKey;
+    private final Instant submittedAt = Instant.now();
+    private volatile CheckStatus status = CheckStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant completedAt;
+    private volatile AppointmentResults results;
+    private volatile String error;
+    @Getter(AccessLevel.NONE)
+    private final CompletableFuture<AppointmentResults> completion = new CompletableFuture<>();
+
+    CheckJobImpl(String profileKey) {
+        this.profileKey = profileKey;
+    }
+
+    @Override
+    public CompletableFuture<AppointmentResults> getCompletion() {
+        return completion.copy();
+    }
+
+    @Override
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    void markRunning() {
+        startedAt = Instant.now();
+        status = CheckStatus.RUNNING;
+    }
+
+    void complete(AppointmentResults results) {
+        this.results = results;
+        this.completedAt = Instant.now();
+        this.status = CheckStatus.SUCCEEDED;
+        completion.complete(results);
+    }
+
+    void fail(Throwable cause) {
+        this.error = cause.getMessage();
+        this.completedAt = Instant.now();
+        this.status = CheckStatus.FAILED;
+        completion.completeExceptionally(cause);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+// RECORD writes a HAR plus DOM snapshots per session; REPLAY serves every request from a recorded HAR
+@ConfigurationProperties(prefix = "icbc.har")
+public record HarProperties(
+        @DefaultValue("OFF")
+        Mode mode,
+
+        @DefaultValue("recordings")
+        Path directory,
+
+        Path replayFile
+) {
+    public enum Mode {
+        OFF,
+        RECORD,
+        REPLAY
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// Offices beyond the first are searched in their own pooled browser while one is free, otherwise one after another
+@ConfigurationProperties(prefix = "icbc.search")
+public record LocationSearchProperties(
+        // Offices searched at once per check, the primary session included
+        @DefaultValue("3")
+        int maxParallelLocations,
+
+        // Size of the merged earliest-first view returned for multi-office checks
+        @DefaultValue("20")
+        int mergedSlotLimit
+) {
+}
@@ -0,0 +1,157 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.example.icbc_road_test_notifier.appointment.AppointmentSearchService;
+import com.example.icbc_road_test_notifier.navigation.BrowserSteps;
+import com.example.icbc_road_test_notifier.navigation.NavigationService;
+import com.example.icbc_road_test_notifier.shared.CheckMetrics;
+import com.example.icbc_road_test_notifier.shared.IcbcConfig;
+import com.microsoft.playwright.Page;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Searches every office a profile accepts within one authenticated session. Extra offices run in parallel in
+// contexts seeded with the session's storage state, each on its own pooled browser since Playwright isn't
+// thread-safe; offices that can't get a browser are searched afterwards on fresh pages of the primary context
+@Component
+@Slf4j
+public class MultiLocationSearch {
+    private final WebDriver webDriver;
+    private final SessionStateStore sessionStateStore;
+    private final NavigationService navigationService;
+    private final AppointmentSearchService searchService;
+    private final CheckMetrics metrics;
+    private final int maxParallelLocations;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("location-search-", 0).factory());
+
+    public MultiLocationSearch(
+            WebDriver webDriver,
+            SessionStateStore sessionStateStore,
+            NavigationService navigationService,
+            AppointmentSearchService searchService,
+            CheckMetrics metrics,
+            LocationSearchProperties properties
+    ) {
+        this.webDriver = webDriver;
+        this.sessionStateStore = sessionStateStore;
+        this.navigationService = navigationService;
+        this.searchService = searchService;
+        this.metrics = metrics;
+        this.maxParallelLocations = Math.max(1, properties.maxParallelLocations());
+    }
+
+    // The session's page must already be on the appointment section. Results are keyed by office in search order;
+    // an extra office whose search failed is left out so its slots aren't taken for withdrawn ones
+    public Map<String, AppointmentResults> search(WebDriver.WebDriverSession session, IcbcConfig config) {
+        List<String> locations = config.searchLocations();
+        String primary = locations.isEmpty() ? config.preferredLocation() : locations.getFirst();
+        List<String> others = locations.size() > 1 ? locations.subList(1, locations.size()) : List.of();
+
+        Map<String, Future<AppointmentResults>> parallel = new LinkedHashMap<>();
+        List<String> sequential = new ArrayList<>();
+        Optional<Path> authenticatedState = others.isEmpty() ? Optional.empty() : sessionStateStore.find(config.licenseNumber());
+
+        // Helpers own their sessions and close them when done, even if the primary search fails
+        for (String location : others) {
+            Optional<WebDriver.WebDriverSession> helper = parallel.size() < maxParallelLocations - 1
+                    ? authenticatedState.flatMap(this::lendSession)
+                    : Optional.empty();
+            if (helper.isPresent()) {
+                parallel.put(location, executor.submit(() -> searchInOwnContext(helper.get(), location, config)));
+            } else {
+                sequential.add(location);
+            }
+        }
+        if (!others.isEmpty()) {
+            log.info("Searching {} offices: {} in parallel, {} in turn", locations.size(), parallel.size() + 1,
+                    sequential.size());
+        }
+
+        Map<String, AppointmentResults> results = new LinkedHashMap<>();
+        results.put(primary, search(session.getPage(), primary, config));
+        for (String location : sequential) {
+            searchOnNewPage(session, location, config).ifPresent(found -> results.put(location, found));
+        }
+        parallel.forEach((location, future) -> await(location, future).ifPresent(found -> results.put(location, found)));
+
+        if (locations.size() <= 1) {
+            return results;
+        }
+        Map<String, AppointmentResults> ordered = new LinkedHashMap<>();
+        locations.stream().filter(results::containsKey).forEach(location -> ordered.put(location, results.get(location)));
+        return ordered;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Optional<WebDriver.WebDriverSession> lendSession(Path authenticatedState) {
+        try {
+            return webDriver.tryCreateSession(authenticatedState);
+        } catch (RuntimeException e) {
+            log.warn("Could not open a parallel search context: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private AppointmentResults searchInOwnContext(WebDriver.WebDriverSession helper, String location, IcbcConfig config) {
+        try (helper) {
+            return openAndSearch(helper.getPage(), location, config);
+        }
+    }
+
+    // Pages of one context share its thread confinement, so these run on the primary session's thread
+    private Optional<AppointmentResults> searchOnNewPage(WebDriver.WebDriverSession session, String location, IcbcConfig config) {
+        Page page = BrowserSteps.trace(session.getContext().newPage());
+        try {
+            return Optional.of(openAndSearch(page, location, config));
+        } catch (RuntimeException e) {
+            log.warn("Search at {} failed: {}", location, e.getMessage());
+            return Optional.empty();
+        } finally {
+            page.close();
+        }
+    }
+
+    private AppointmentResults openAndSearch(Page page, String location, IcbcConfig config) {
+        metrics.time("navigate", location, () -> {
+            if (!navigationService.resumeSession(page)) {
+                throw new IllegalStateException("Authenticated session was not accepted");
+            }
+            navigationService.navigateToAppointmentSection(page);
+        });
+        return search(page, location, config);
+    }
+
+    private AppointmentResults search(Page page, String location, IcbcConfig config) {
+        return searchService.configureAndSearch(page, location, config.preferredDays(),
+                config.timePreference(), config.dateRangePreference());
+    }
+
+    private Optional<AppointmentResults> await(String location, Future<AppointmentResults> future) {
+        try {
+            return Optional.of(future.get());
+        } catch (ExecutionException e) {
+            log.warn("Search at {} failed: {}", location, e.getCause().getMessage());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Playwright;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+
+// One Playwright driver plus its long-lived Chromium. Playwright is not thread-safe, so the pool
+// leases each instance to a single thread at a time and the lease boundary provides the synchronization.
+@Slf4j
+public class PooledBrowser {
+    private final Playwright playwright;
+    private final Browser browser;
+    @Getter private final Instant launchedAt;
+    @Getter private volatile Instant lastReleasedAt;
+    @Getter private int uses;
+
+    public PooledBrowser(Playwright playwright, Browser browser) {
+        this.playwright = playwright;
+        this.browser = browser;
+        this.launchedAt = Instant.now();
+        this.lastReleasedAt = launchedAt;
+    }
+
+    public BrowserContext newContext(Browser.NewContextOptions options) {
+        uses++;
+        return browser.newContext(options);
+    }
+
+    public boolean isHealthy() {
+        try {
+            return browser.isConnected();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    void markReleased() {
+        lastReleasedAt = Instant.now();
+    }
+
+    void close() {
+        try {
+            browser.close();
+        } catch (Exception e) {
+            log.debug("Error closing pooled browser: {}", e.getMessage());
+        }
+        try {
+            playwright.close();
+        } catch (Exception e) {
+            log.debug("Error closing pooled Playwright driver: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Browserless search engine: replays the portal's availability request with the cookies and token of an earlier Playwright login
+@Component
+@Slf4j
+public class PortalHttpClient {
+    private final HttpClient httpClient;
+    private final AvailabilityPayloadParser payloadParser;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final Duration sessionTtl;
+    private final Clock clock;
+    private final boolean enabled;
+    // The captured search names the office it was made for, so a session is only replayed for that office
+    private final Map<SessionKey, PortalSession> sessions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PortalHttpClient(
+            AvailabilityPayloadParser payloadParser,
+            ObjectMapper objectMapper,
+            @Value("${icbc.http-client.enabled:false}") boolean enabled,
+            @Value("${icbc.http-client.base-url:https://onlinebusiness.icbc.com}") String baseUrl,
+            @Value("${icbc.http-client.request-timeout:PT15S}") Duration requestTimeout,
+            @Value("${icbc.http-client.session-ttl:PT20M}") Duration sessionTtl,
+            @Value("${icbc.watch.adaptive.zone:America/Vancouver}") ZoneId portalZone
+    ) {
+        // The replayed exam date is the portal's today, not the host's
+        this(payloadParser, objectMapper, enabled, baseUrl, requestTimeout, sessionTtl, Clock.system(portalZone));
+    }
+
+    PortalHttpClient(AvailabilityPayloadParser payloadParser, ObjectMapper objectMapper, boolean enabled, String baseUrl,
+                     Duration requestTimeout, Duration sessionTtl, Clock clock) {
+        this.enabled = enabled;
+        this.payloadParser = payloadParser;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.sessionTtl = sessionTtl;
+        this.clock = clock;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(requestTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    public void remember(String profileKey, String location, PortalSession session) {
+        if (!enabled) {
+            return;
+        }
+        sessions.put(new SessionKey(profileKey, location), session);
+        log.debug("Stored portal session for browserless checks at {}", location);
+    }
+
+    public void forget(String profileKey, String location) {
+        sessions.remove(new SessionKey(profileKey, location));
+    }
+
+    public boolean hasSession(String profileKey, String location) {
+        return currentSession(new SessionKey(profileKey, location)).isPresent();
+    }
+
+    // Empty when there is no usable session; the caller should fall back to the browser flow
+    public Optional<AppointmentResults> search(String profileKey, String location) {
+        SessionKey key = new SessionKey(profileKey, location);
+        Optional<PortalSession> session = currentSession(key);
+        if (session.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            HttpResponse<String> response = httpClient.send(buildRequest(session.get()), HttpResponse.BodyHandlers.ofString());
+
+            if (response.statusCode() == 401 || response.statusCode() == 403) {
+                log.info("Portal session rejected with {}, a browser login is needed", response.statusCode());
+                sessions.remove(key);
+                return Optional.empty();
+            }
+            if (response.statusCode() != 200) {
+                log.warn("Availability request returned HTTP {}", response.statusCode());
+                return Optional.empty();
+            }
+
+            return payloadParser.parse(response.body());
+
+        } catch (IOException e) {
+            log.warn("Browserless availability request failed: {}", e.getMessage());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    private Optional<PortalSession> currentSession(SessionKey key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        PortalSession session = sessions.get(key);
+        if (session != null && session.capturedAt().plus(sessionTtl).isBefore(clock.instant())) {
+            sessions.remove(key, session);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(session);
+    }
+
+    private HttpRequest buildRequest(PortalSession session) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + session.pathAndQuery()))
+                .timeout(requestTimeout)
+                .POST(HttpRequest.BodyPublishers.ofString(refreshExamDate(session.body())));
+        session.headers().forEach(builder::header);
+        return builder.build();
+    }
+
+    // The search body is anchored on the day it was captured; move it to today so past days are not searched
+    private String refreshExamDate(String body) {
+        if (body == null || body.isBlank()) {
+            return "";
+        }
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            if (node instanceof ObjectNode object && object.has("examDate")) {
+                object.put("examDate", LocalDate.now(clock).toString());
+                return objectMapper.writeValueAsString(object);
+            }
+        } catch (IOException e) {
+            log.debug("Search body is not JSON, replaying as captured: {}", e.getMessage());
+        }
+        return body;
+    }
+
+    private record SessionKey(String profileKey, String location) {
+    }
+}
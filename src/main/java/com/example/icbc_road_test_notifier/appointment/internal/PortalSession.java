@@ -0,0 +1,16 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import java.time.Instant;
+import java.util.Map;
+
+// Authenticated search request lifted from a Playwright run so it can be replayed without a browser
+public record PortalSession(
+        String pathAndQuery,
+        Map<String, String> headers,
+        String body,
+        Instant capturedAt
+) {
+    public PortalSession {
+        headers = Map.copyOf(headers);
+    }
+}
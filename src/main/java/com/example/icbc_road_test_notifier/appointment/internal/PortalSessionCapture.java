@@ -0,0 +1,77 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Request;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// Watches the page for the availability search the Angular app sends and keeps the last one
+@Slf4j
+public class PortalSessionCapture implements AutoCloseable {
+    // Only headers that carry the session; hop-by-hop ones are restricted by java.net.http anyway
+    private static final Set<String> REPLAYED_HEADERS = Set.of("authorization", "cookie", "content-type", "accept");
+
+    private final Page page;
+    private final Consumer<Request> listener = this::onRequest;
+    private volatile Request lastSearchRequest;
+
+    private PortalSessionCapture(Page page) {
+        this.page = page;
+    }
+
+    public static PortalSessionCapture attach(Page page) {
+        PortalSessionCapture capture = new PortalSessionCapture(page);
+        page.onRequest(capture.listener);
+        return capture;
+    }
+
+    public Optional<PortalSession> latestSession() {
+        Request request = lastSearchRequest;
+        if (request == null) {
+            return Optional.empty();
+        }
+
+        try {
+            Map<String, String> headers = new LinkedHashMap<>();
+            request.allHeaders().forEach((name, value) -> {
+                if (REPLAYED_HEADERS.contains(name.toLowerCase())) {
+                    headers.put(name.toLowerCase(), value);
+                }
+            });
+
+            if (!headers.containsKey("authorization") && !headers.containsKey("cookie")) {
+                log.debug("Captured search request carries no session credentials");
+                return Optional.empty();
+            }
+
+            URI uri = URI.create(request.url());
+            String pathAndQuery = uri.getRawQuery() != null ? uri.getRawPath() + "?" + uri.getRawQuery() : uri.getRawPath();
+            return Optional.of(new PortalSession(pathAndQuery, headers, request.postData(), Instant.now()));
+        } catch (Exception e) {
+            log.debug("Could not read captured search request: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            page.offRequest(listener);
+        } catch (Exception e) {
+            log.debug("Could not detach session listener: {}", e.getMessage());
+        }
+    }
+
+    private void onRequest(Request request) {
+        if (request.url().contains(AvailabilityResponseCapture.AVAILABILITY_ENDPOINT)) {
+            lastSearchRequest = request;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Route;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Aborts non-essential requests (images, fonts, analytics beacons) before they leave the browser
+@Component
+@Slf4j
+public class ResourceFilter {
+    // Aborted requests never report a size, so savings are estimated from typical asset sizes on the portal
+    private static final Map<String, Long> ESTIMATED_BYTES_BY_TYPE = Map.of(
+            "image", 40_000L,
+            "media", 250_000L,
+            "font", 35_000L,
+            "stylesheet", 20_000L,
+            "script", 60_000L
+    );
+    private static final long DEFAULT_ESTIMATED_BYTES = 2_000L;
+
+    private final ResourceFilterProperties properties;
+    private final Set<String> blockedTypes;
+    private final List<String> blockedPatterns;
+    private final List<String> allowedPatterns;
+    private final MeterRegistry registry;
+    private final Counter bytesSavedCounter;
+
+    public ResourceFilter(ResourceFilterProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.blockedTypes = normalize(properties.blockedResourceTypes()).collect(Collectors.toSet());
+        this.blockedPatterns = normalize(properties.blockedUrlPatterns()).toList();
+        this.allowedPatterns = normalize(properties.allowedUrlPatterns()).toList();
+        this.registry = registry;
+        this.bytesSavedCounter = Counter.builder("icbc.browser.resource-filter.bytes.saved")
+                .description("Estimated response bytes avoided by blocking requests")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    public Stats install(BrowserContext context) {
+        Stats stats = new Stats();
+        if (!properties.enabled()) {
+            return stats;
+        }
+
+        context.route("**/*", route -> handle(route, stats));
+        return stats;
+    }
+
+    boolean shouldBlock(String resourceType, String url) {
+        String lowerUrl = url.toLowerCase(Locale.ROOT);
+        if (allowedPatterns.stream().anyMatch(lowerUrl::contains)) {
+            return false;
+        }
+        return blockedTypes.contains(resourceType) || blockedPatterns.stream().anyMatch(lowerUrl::contains);
+    }
+
+    private void handle(Route route, Stats stats) {
+        String resourceType = route.request().resourceType();
+        if (!shouldBlock(resourceType, route.request().url())) {
+            route.resume();
+            return;
+        }
+
+        route.abort("blockedbyclient");
+
+        long estimatedBytes = ESTIMATED_BYTES_BY_TYPE.getOrDefault(resourceType, DEFAULT_ESTIMATED_BYTES);
+        stats.record(estimatedBytes);
+        bytesSavedCounter.increment(estimatedBytes);
+        registry.counter("icbc.browser.resource-filter.blocked", "type", resourceType).increment();
+    }
+
+    private static Stream<String> normalize(List<String> values) {
+        return values.stream()
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .map(value -> value.toLowerCase(Locale.ROOT));
+    }
+
+    // Per-session tally, read once the check has finished
+    public static class Stats {
+        private final AtomicInteger blockedRequests = new AtomicInteger();
+        private final AtomicLong estimatedBytesSaved = new AtomicLong();
+
+        void record(long estimatedBytes) {
+            blockedRequests.incrementAndGet();
+            estimatedBytesSaved.addAndGet(estimatedBytes);
+        }
+
+        public int blockedRequests() {
+            return blockedRequests.get();
+        }
+
+        public long estimatedBytesSaved() {
+            return estimatedBytesSaved.get();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "icbc.browser.resource-filter")
+public record ResourceFilterProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        // Playwright resource types: document, stylesheet, image, media, font, script, xhr, fetch, ...
+        @DefaultValue({"image", "media", "font"})
+        List<String> blockedResourceTypes,
+
+        // Case-insensitive substrings of the request URL
+        @DefaultValue({"google-analytics.com", "googletagmanager.com", "doubleclick.net", "hotjar.com", "nr-data.net"})
+        List<String> blockedUrlPatterns,
+
+        // Always let these through, even if their type or URL matches a block rule
+        @DefaultValue("/deas-api/")
+        List<String> allowedUrlPatterns
+) {}
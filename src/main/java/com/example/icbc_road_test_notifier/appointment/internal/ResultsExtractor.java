@@ -0,0 +1,55 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.SlotQuery;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.Page;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+// Walks the results container once in the browser (office title -> date title -> time labels, in
+// document order) instead of one driver round-trip per element
+@Component
+@RequiredArgsConstructor
+public class ResultsExtractor {
+    private static final String EXTRACT_SCRIPT = loadScript("scripts/extract-appointments.js");
+
+    private final ObjectMapper objectMapper;
+
+    public ResultsSnapshot extract(Page page) {
+        return extract(page, SlotQuery.unrestricted());
+    }
+
+    // The query's bounds are passed into the script so non-matching dates and slots never cross the bridge
+    public ResultsSnapshot extract(Page page, SlotQuery query) {
+        Object raw = page.evaluate(EXTRACT_SCRIPT, scriptFilter(query));
+        return raw != null ? objectMapper.convertValue(raw, ResultsSnapshot.class) : ResultsSnapshot.empty();
+    }
+
+    // Open bounds are sent as null; Long.MIN_VALUE and MAX_VALUE don't survive the trip to a JS number
+    static Map<String, Object> scriptFilter(SlotQuery query) {
+        if (!query.restrictsDates() && !query.restrictsTimes()) {
+            return null;
+        }
+        Map<String, Object> filter = new HashMap<>();
+        filter.put("firstEpochDay", query.firstEpochDay() != Long.MIN_VALUE ? query.firstEpochDay() : null);
+        filter.put("lastEpochDay", query.lastEpochDay() != Long.MAX_VALUE ? query.lastEpochDay() : null);
+        filter.put("startMinute", query.startMinute());
+        filter.put("endMinute", query.endMinute());
+        return filter;
+    }
+
+    static String loadScript(String path) {
+        try {
+            return new ClassPathResource(path).getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load browser script " + path, e);
+        }
+    }
+}
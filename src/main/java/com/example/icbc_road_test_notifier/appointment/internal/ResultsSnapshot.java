@@ -0,0 +1,36 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import java.util.List;
+
+// Structured view of the results page captured in one page.evaluate round-trip
+public record ResultsSnapshot(
+        List<LocationBlock> locations,
+        List<String> noResultsMessages,
+        int viewMoreButtons
+) {
+    public ResultsSnapshot {
+        locations = locations != null ? List.copyOf(locations) : List.of();
+        noResultsMessages = noResultsMessages != null ? List.copyOf(noResultsMessages) : List.of();
+    }
+
+    // lastDate is the last recognisable date heading listed for the office, including any filtered out in the browser
+    public record LocationBlock(String name, List<DateBlock> dates, String lastDate) {
+        public LocationBlock {
+            dates = dates != null ? List.copyOf(dates) : List.of();
+        }
+
+        public LocationBlock(String name, List<DateBlock> dates) {
+            this(name, dates, null);
+        }
+    }
+
+    public record DateBlock(String date, List<String> slots) {
+        public DateBlock {
+            slots = slots != null ? List.copyOf(slots) : List.of();
+        }
+    }
+
+    public static ResultsSnapshot empty() {
+        return new ResultsSnapshot(List.of(), List.of(), 0);
+    }
+}
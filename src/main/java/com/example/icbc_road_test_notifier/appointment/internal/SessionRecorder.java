@@ -0,0 +1,136 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Route;
+import com.microsoft.playwright.options.HarContentPolicy;
+import com.microsoft.playwright.options.HarNotFound;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Records sessions as HAR files with DOM snapshots, and replays them offline for reproducible latency runs
+@Component
+@Slf4j
+public class SessionRecorder {
+    private static final DateTimeFormatter RECORDING_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String API_ROUTE = "**/deas-api/**";
+
+    private final HarProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<Path, Map<String, RecordedResponse>> apiResponsesByHar = new ConcurrentHashMap<>();
+
+    public SessionRecorder(HarProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+
+        if (properties.mode() == HarProperties.Mode.REPLAY
+                && (properties.replayFile() == null || !Files.isRegularFile(properties.replayFile()))) {
+            throw new IllegalStateException("icbc.har.replay-file must point to a recorded HAR in replay mode");
+        }
+    }
+
+    // Returns the recording id when this session is being recorded
+    public Optional<String> prepare(Browser.NewContextOptions options) {
+        if (properties.mode() != HarProperties.Mode.RECORD) {
+            return Optional.empty();
+        }
+
+        try {
+            Files.createDirectories(properties.directory());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create recording directory " + properties.directory(), e);
+        }
+
+        String recordingId = LocalDateTime.now().format(RECORDING_TIMESTAMP) + "-" + UUID.randomUUID().toString().substring(0, 8);
+        options.setRecordHarPath(properties.directory().resolve(recordingId + ".har"))
+                .setRecordHarContent(HarContentPolicy.EMBED);
+        log.info("Recording session {} to {}", recordingId, properties.directory());
+        return Optional.of(recordingId);
+    }
+
+    public void install(BrowserContext context) {
+        if (properties.mode() != HarProperties.Mode.REPLAY) {
+            return;
+        }
+
+        context.routeFromHAR(properties.replayFile(), new BrowserContext.RouteFromHAROptions()
+                .setNotFound(HarNotFound.ABORT));
+
+        // API posts carry today's date and fresh tokens, so they can't match the recording byte for byte.
+        // Registered last, this route runs first and serves them by method and path instead
+        Map<String, RecordedResponse> apiResponses = apiResponsesByHar.computeIfAbsent(properties.replayFile(), this::readApiResponses);
+        context.route(API_ROUTE, route -> replayApiCall(route, apiResponses));
+        log.debug("Replaying sessions from {} ({} API endpoints)", properties.replayFile(), apiResponses.size());
+    }
+
+    public void snapshot(WebDriver.WebDriverSession session, String label) {
+        session.getRecordingId().ifPresent(recordingId -> {
+            Path target = properties.directory().resolve(recordingId + "-" + label + ".html");
+            try {
+                Files.writeString(target, session.getPage().content(), StandardCharsets.UTF_8);
+            } catch (Exception e) {
+                log.warn("Could not write DOM snapshot {}: {}", target, e.getMessage());
+            }
+        });
+    }
+
+    private void replayApiCall(Route route, Map<String, RecordedResponse> apiResponses) {
+        RecordedResponse recorded = apiResponses.get(key(route.request().method(), route.request().url()));
+        if (recorded == null) {
+            route.fallback();
+            return;
+        }
+        route.fulfill(new Route.FulfillOptions()
+                .setStatus(recorded.status())
+                .setHeaders(Map.of("content-type", recorded.contentType()))
+                .setBodyBytes(recorded.body()));
+    }
+
+    // Last recorded response per method + path; later calls in a session reflect the final state
+    private Map<String, RecordedResponse> readApiResponses(Path harFile) {
+        try {
+            JsonNode entries = objectMapper.readTree(harFile.toFile()).path("log").path("entries");
+            Map<String, RecordedResponse> responses = new ConcurrentHashMap<>();
+            for (JsonNode entry : entries) {
+                String url = entry.path("request").path("url").asText();
+                if (!url.contains("/deas-api/")) continue;
+
+                JsonNode content = entry.path("response").path("content");
+                String text = content.path("text").asText("");
+                byte[] body = "base64".equals(content.path("encoding").asText())
+                        ? Base64.getDecoder().decode(text)
+                        : text.getBytes(StandardCharsets.UTF_8);
+                responses.put(key(entry.path("request").path("method").asText(), url), new RecordedResponse(
+                        entry.path("response").path("status").asInt(200),
+                        content.path("mimeType").asText("application/json"),
+                        body));
+            }
+            return responses;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read HAR " + harFile, e);
+        }
+    }
+
+    static String key(String method, String url) {
+        return method + " " + URI.create(url).getPath();
+    }
+
+    private record RecordedResponse(int status, String contentType, byte[] body) {}
+}
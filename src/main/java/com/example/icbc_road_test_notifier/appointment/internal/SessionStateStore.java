@@ -0,0 +1,98 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.microsoft.playwright.BrowserContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static com.example.icbc_road_test_notifier.shared.ProfileKeys.mask;
+
+// Persists authenticated BrowserContext storage state (cookies + localStorage) per profile
+@Component
+@Slf4j
+public class SessionStateStore {
+    private final Path storageDir;
+    private final Duration expiry;
+    private final Clock clock;
+
+    @Autowired
+    public SessionStateStore(
+            @Value("${icbc.auth.storage-dir}") Path storageDir,
+            @Value("${icbc.storage.expiry-hours:24}") long expiryHours
+    ) {
+        this(storageDir, expiryHours, Clock.systemUTC());
+    }
+
+    SessionStateStore(Path storageDir, long expiryHours, Clock clock) {
+        this.storageDir = storageDir;
+        this.expiry = Duration.ofHours(expiryHours);
+        this.clock = clock;
+    }
+
+    public Optional<Path> find(String profileKey) {
+        Path path = pathFor(profileKey);
+        try {
+            if (!Files.isRegularFile(path)) {
+                return Optional.empty();
+            }
+
+            Instant savedAt = Files.getLastModifiedTime(path).toInstant();
+            if (savedAt.plus(expiry).isBefore(clock.instant())) {
+                log.debug("Stored session for profile {} expired at {}", mask(profileKey), savedAt.plus(expiry));
+                invalidate(profileKey);
+                return Optional.empty();
+            }
+
+            return Optional.of(path);
+        } catch (IOException e) {
+            log.warn("Could not read stored session {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // Expiry counts from the last save, so callers re-save after every successful resume to keep a live
+    // session (and any cookies the portal rotated) on disk
+    public void save(String profileKey, BrowserContext context) {
+        Path path = pathFor(profileKey);
+        try {
+            Files.createDirectories(storageDir);
+            context.storageState(new BrowserContext.StorageStateOptions().setPath(path));
+            Files.setLastModifiedTime(path, FileTime.from(clock.instant()));
+            log.debug("Saved session state for profile {}", mask(profileKey));
+        } catch (Exception e) {
+            log.warn("Could not save session state to {}: {}", path, e.getMessage());
+        }
+    }
+
+    public void invalidate(String profileKey) {
+        try {
+            Files.deleteIfExists(pathFor(profileKey));
+        } catch (IOException e) {
+            log.warn("Could not delete stored session for profile {}: {}", mask(profileKey), e.getMessage());
+        }
+    }
+
+    // Hash the key so licence numbers never appear in file names
+    private Path pathFor(String profileKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(profileKey.getBytes(StandardCharsets.UTF_8));
+            return storageDir.resolve(HexFormat.of().formatHex(digest, 0, 16) + ".json");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+
+// firstCheck: no earlier state for this profile and office since startup, so "appeared" holds every open slot
+public record SlotDiff(AppointmentResults appeared, AppointmentResults disappeared, boolean firstCheck) {
+
+    public SlotDiff(AppointmentResults appeared, AppointmentResults disappeared) {
+        this(appeared, disappeared, false);
+    }
+
+    public boolean hasChanges() {
+        return !appeared.isEmpty() || !disappeared.isEmpty();
+    }
+}
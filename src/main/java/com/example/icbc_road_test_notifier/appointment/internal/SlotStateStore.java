@@ -0,0 +1,222 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.example.icbc_road_test_notifier.appointment.SlotText;
+import com.example.icbc_road_test_notifier.shared.WatchProfileChanged;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.example.icbc_road_test_notifier.shared.ProfileKeys.mask;
+
+// Last-seen slots per profile and location. Each slot is one bit at (day offset from the check date) * SLOTS_PER_DAY
+// + (5-minute slot of the day), so a check is a pair of bitset differences instead of string set comparisons
+@Component
+@Slf4j
+public class SlotStateStore {
+    static final int SLOT_MINUTES = 5;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    // Separates date and time in keys for text the parser can't place on the grid
+    private static final char RAW_KEY_SEPARATOR = '\u0000';
+
+    private final Map<String, SlotState> states = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    // Days roll over on the portal's calendar, not the host's
+    @Autowired
+    public SlotStateStore(@Value("${icbc.watch.adaptive.zone:America/Vancouver}") ZoneId portalZone) {
+        this(Clock.system(portalZone));
+    }
+
+    SlotStateStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    public SlotDiff update(String profileKey, String location, AppointmentResults results) {
+        LocalDate today = LocalDate.now(clock);
+        Map<String, List<String>> dateToSlots = slotsByDate(results);
+        String key = stateKey(profileKey, location);
+        SlotState previous = states.get(key);
+        SlotState baseline = previous != null ? previous.rebase(today) : SlotState.empty(today);
+
+        SlotState current = SlotState.of(today, dateToSlots);
+        if (results.getTruncatedAfter().isPresent()) {
+            // Dates past the truncation point weren't read this time; assume they are unchanged
+            current = current.carryOver(baseline, bitIndex(today, results.getTruncatedAfter().get().toEpochDay() + 1, 0));
+        }
+        states.put(key, current);
+
+        BitSet appearedBits = (BitSet) current.bits().clone();
+        appearedBits.andNot(baseline.bits());
+        BitSet disappearedBits = (BitSet) baseline.bits().clone();
+        disappearedBits.andNot(current.bits());
+
+        Set<String> appearedRaw = new LinkedHashSet<>(current.unparsed());
+        appearedRaw.removeAll(baseline.unparsed());
+        Set<String> disappearedRaw = new LinkedHashSet<>(baseline.unparsed());
+        disappearedRaw.removeAll(current.unparsed());
+
+        SlotDiff diff = new SlotDiff(
+                selectAppeared(results, dateToSlots, today, appearedBits, appearedRaw),
+                toResults(today, disappearedBits, disappearedRaw),
+                previous == null
+        );
+        log.debug("Slot state for {} at {}: {} open, {} new, {} gone", mask(profileKey), location,
+                current.size(), diff.appeared().getTotalSlots(), diff.disappeared().getTotalSlots());
+        return diff;
+    }
+
+    // An edited profile starts over, so slots it saw under its old settings aren't reported as withdrawn
+    @ApplicationModuleListener
+    public void profileChanged(WatchProfileChanged event) {
+        forget(event.licenseNumber());
+        log.debug("Forgot slot state for profile {}", mask(event.licenseNumber()));
+    }
+
+    void forget(String profileKey) {
+        states.keySet().removeIf(key -> key.startsWith(profileKey + RAW_KEY_SEPARATOR));
+    }
+
+    // Keeps the portal's own text for new slots so notifications read exactly like the page. Results listing several
+    // offices also keep each slot's office; the grid itself is per date and time, so an office opening a time another
+    // listed office already offers is not reported as new
+    private AppointmentResults selectAppeared(AppointmentResults results, Map<String, List<String>> dateToSlots,
+                                              LocalDate today, BitSet appearedBits, Set<String> appearedRaw) {
+        if (!results.getLocations().isEmpty()) {
+            return results.retain((date, slot) -> isNew(today, date, slot, appearedBits, appearedRaw));
+        }
+
+        Map<String, List<String>> appeared = new LinkedHashMap<>();
+        dateToSlots.forEach((date, slots) -> {
+            for (String slot : slots) {
+                if (isNew(today, date, slot, appearedBits, appearedRaw)) {
+                    appeared.computeIfAbsent(date, d -> new ArrayList<>()).add(slot);
+                }
+            }
+        });
+        return toResults(appeared);
+    }
+
+    private static boolean isNew(LocalDate today, String date, String slot, BitSet appearedBits, Set<String> appearedRaw) {
+        int bit = bitIndex(today, SlotText.parseEpochDay(date), SlotText.parseMinuteOfDay(slot));
+        return bit >= 0 ? appearedBits.get(bit) : appearedRaw.contains(rawKey(date, slot));
+    }
+
+    private AppointmentResults toResults(LocalDate base, BitSet bits, Set<String> raw) {
+        Map<String, List<String>> dateToSlots = new LinkedHashMap<>();
+        for (int bit = bits.nextSetBit(0); bit >= 0; bit = bits.nextSetBit(bit + 1)) {
+            String date = SlotText.formatDate(base.plusDays(bit / SLOTS_PER_DAY));
+            String time = SlotText.formatTime(LocalTime.MIN.plusMinutes((long) (bit % SLOTS_PER_DAY) * SLOT_MINUTES));
+            dateToSlots.computeIfAbsent(date, d -> new ArrayList<>()).add(time);
+        }
+        for (String key : raw) {
+            int separator = key.indexOf(RAW_KEY_SEPARATOR);
+            dateToSlots.computeIfAbsent(key.substring(0, separator), d -> new ArrayList<>()).add(key.substring(separator + 1));
+        }
+        return toResults(dateToSlots);
+    }
+
+    private static AppointmentResults toResults(Map<String, List<String>> dateToSlots) {
+        List<String> dates = new ArrayList<>(dateToSlots.keySet());
+        List<String> timeSlots = dateToSlots.values().stream().flatMap(List::stream).toList();
+        return new AppointmentResults(dates, timeSlots, dateToSlots);
+    }
+
+    private static Map<String, List<String>> slotsByDate(AppointmentResults results) {
+        Map<String, List<String>> dateToSlots = new LinkedHashMap<>(results.getDateToSlotsMap());
+        if (dateToSlots.isEmpty() && results.hasAvailableAppointments()) {
+            // Without a mapping every listed time is assumed to be offered on every listed date
+            results.getDates().forEach(date -> dateToSlots.put(date, results.getTimeSlots()));
+        }
+        return dateToSlots;
+    }
+
+    // -1 when the slot can't be placed on the grid (unparseable text or a date before the base)
+    static int bitIndex(LocalDate base, long epochDay, int minuteOfDay) {
+        if (epochDay == SlotText.NO_DATE || minuteOfDay == SlotText.NO_TIME) {
+            return -1;
+        }
+        long dayOffset = epochDay - base.toEpochDay();
+        if (dayOffset < 0 || dayOffset > Integer.MAX_VALUE / SLOTS_PER_DAY - 1) {
+            return -1;
+        }
+        return (int) dayOffset * SLOTS_PER_DAY + minuteOfDay / SLOT_MINUTES;
+    }
+
+    private static String stateKey(String profileKey, String location) {
+        return profileKey + RAW_KEY_SEPARATOR + (location != null ? location : "");
+    }
+
+    private static String rawKey(String date, String slot) {
+        return date + RAW_KEY_SEPARATOR + slot;
+    }
+
+    private record SlotState(LocalDate base, BitSet bits, Set<String> unparsed) {
+
+        static SlotState empty(LocalDate base) {
+            return new SlotState(base, new BitSet(), Set.of());
+        }
+
+        static SlotState of(LocalDate base, Map<String, List<String>> dateToSlots) {
+            BitSet bits = new BitSet();
+            Set<String> unparsed = new HashSet<>();
+            dateToSlots.forEach((date, slots) -> {
+                long epochDay = SlotText.parseEpochDay(date);
+                for (String slot : slots) {
+                    int minuteOfDay = SlotText.parseMinuteOfDay(slot);
+                    int bit = bitIndex(base, epochDay, minuteOfDay);
+                    if (bit >= 0) {
+                        bits.set(bit);
+                    } else if (epochDay == SlotText.NO_DATE || minuteOfDay == SlotText.NO_TIME) {
+                        unparsed.add(rawKey(date, slot));
+                    }
+                }
+            });
+            return new SlotState(base, bits, unparsed);
+        }
+
+        // Re-anchors the grid on a later check date; days that have passed fall off the front
+        SlotState rebase(LocalDate newBase) {
+            long shiftDays = ChronoUnit.DAYS.between(base, newBase);
+            if (shiftDays == 0) {
+                return this;
+            }
+
+            BitSet shifted = new BitSet();
+            long shiftBits = shiftDays * SLOTS_PER_DAY;
+            for (int bit = bits.nextSetBit(0); bit >= 0; bit = bits.nextSetBit(bit + 1)) {
+                long moved = bit - shiftBits;
+                if (moved >= 0 && moved <= Integer.MAX_VALUE - 1) {
+                    shifted.set((int) moved);
+                }
+            }
+            return new SlotState(newBase, shifted, unparsed);
+        }
+
+        // Keeps the baseline's slots from fromBit onwards, and its unplaceable slots since those can't be dated
+        SlotState carryOver(SlotState baseline, int fromBit) {
+            BitSet merged = (BitSet) bits.clone();
+            BitSet kept = baseline.bits();
+            for (int bit = kept.nextSetBit(Math.max(fromBit, 0)); bit >= 0; bit = kept.nextSetBit(bit + 1)) {
+                merged.set(bit);
+            }
+            Set<String> mergedUnparsed = new HashSet<>(unparsed);
+            mergedUnparsed.addAll(baseline.unparsed());
+            return new SlotState(base, merged, mergedUnparsed);
+        }
+
+        int size() {
+            return bits.cardinality() + unparsed.size();
+        }
+    }
+}
@@ -1,51 +1,90 @@
 package com.example.icbc_road_test_notifier.appointment.internal;
 
+import com.example.icbc_road_test_notifier.navigation.BrowserSteps;
+import com.example.icbc_road_test_notifier.navigation.DebugArtifactService;
 import com.microsoft.playwright.*;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Path;
+import java.util.Optional;
+
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class WebDriver {
-    private static final int DEFAULT_TIMEOUT_MS = 30000;
     private static final int NAVIGATION_TIMEOUT_MS = 60000;
 
+    private final BrowserPool browserPool;
+    private final BrowserProperties properties;
+    private final ResourceFilter resourceFilter;
+    private final SessionRecorder sessionRecorder;
+    private final DebugArtifactService debugArtifacts;
+
     public WebDriverSession createSession() {
-        Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        return createSession(null);
+    }
 
-        Browser.NewContextOptions options = new Browser.NewContextOptions()
-                .setViewportSize(1920, 1080)
-                .setUserAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36");
+    public WebDriverSession createSession(Path storageState) {
+        return openSession(browserPool.acquire(), storageState);
+    }
 
-        BrowserContext context = browser.newContext(options);
-        context.setDefaultTimeout(DEFAULT_TIMEOUT_MS);
-        context.setDefaultNavigationTimeout(NAVIGATION_TIMEOUT_MS);
+    // Empty when every pooled browser is in use, instead of waiting for one to come back
+    public Optional<WebDriverSession> tryCreateSession(Path storageState) {
+        return browserPool.tryAcquire().map(browser -> openSession(browser, storageState));
+    }
 
-        Page page = context.newPage();
+    private WebDriverSession openSession(PooledBrowser browser, Path storageState) {
+        try {
+            Browser.NewContextOptions options = new Browser.NewContextOptions()
+                    .setViewportSize(1920, 1080)
+                    .setUserAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36");
+            if (storageState != null) {
+                options.setStorageStatePath(storageState);
+            }
+            Optional<String> recordingId = sessionRecorder.prepare(options);
+
+            BrowserContext context = browser.newContext(options);
+            context.setDefaultTimeout(properties.timeoutSeconds() * 1000L);
+            context.setDefaultNavigationTimeout(NAVIGATION_TIMEOUT_MS);
+            ResourceFilter.Stats resourceStats = resourceFilter.install(context);
+            sessionRecorder.install(context);
+            debugArtifacts.install(context);
 
-        return new WebDriverSession(playwright, browser, context, page);
+            Page page = BrowserSteps.trace(context.newPage());
+
+            return new WebDriverSession(browserPool, browser, context, page, resourceStats, recordingId);
+        } catch (RuntimeException e) {
+            browserPool.invalidate(browser);
+            throw e;
+        }
     }
 
-    // Session wrapper for proper resource management
+    // Session wrapper for proper resource management; the browser goes back to the pool, only the context is discarded
     @RequiredArgsConstructor
     public static class WebDriverSession implements AutoCloseable {
-        private final Playwright playwright;
-        private final Browser browser;
-        private final BrowserContext context;
+        private final BrowserPool browserPool;
+        private final PooledBrowser browser;
+        @Getter private final BrowserContext context;
         @Getter private final Page page;
+        @Getter private final ResourceFilter.Stats resourceStats;
+        @Getter private final Optional<String> recordingId;
 
         @Override
         public void close() {
             try {
+                if (resourceStats.blockedRequests() > 0) {
+                    log.debug("Blocked {} non-essential requests, ~{} KB saved",
+                            resourceStats.blockedRequests(), resourceStats.estimatedBytesSaved() / 1024);
+                }
                 if (context != null) context.close();
-                if (browser != null) browser.close();
-                if (playwright != null) playwright.close();
             } catch (Exception e) {
                 log.warn("Error closing WebDriver session: {}", e.getMessage());
+            } finally {
+                browserPool.release(browser);
             }
         }
     }
-}
\ No newline at end of file
+}
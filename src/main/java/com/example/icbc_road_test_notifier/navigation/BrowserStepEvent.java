@@ -0,0 +1,26 @@
+package com.example.icbc_road_test_notifier.navigation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a single Playwright call. The event duration covers the round trip to the
+ * driver process, so stalls in a recording line up with the locator or wait that caused them.
+ */
+@Name("icbc.BrowserStep")
+@Label("Browser Step")
+@Category({"ICBC", "Browser"})
+@Description("A Playwright interaction made while checking for appointments")
+public class BrowserStepEvent extends Event {
+    @Label("Action")
+    String action;
+
+    @Label("Locator")
+    String locator;
+
+    @Label("Result")
+    String result;
+}
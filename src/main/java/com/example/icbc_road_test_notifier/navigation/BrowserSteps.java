@@ -0,0 +1,143 @@
+package com.example.icbc_road_test_notifier.navigation;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Records a {@link BrowserStepEvent} for Playwright interactions. A page returned by {@link #trace(Page)} records
+ * every action on itself and on the locators it creates, so services need no changes to be covered.
+ */
+public final class BrowserSteps {
+    private static final Set<String> ACTIONS = Set.of(
+            "click", "dblclick", "fill", "press", "pressSequentially", "type", "check", "uncheck", "setChecked",
+            "selectOption", "hover", "focus", "scrollIntoViewIfNeeded",
+            "textContent", "innerText", "innerHTML", "allTextContents", "allInnerTexts", "getAttribute", "inputValue",
+            "count", "isVisible", "isHidden", "isChecked", "isDisabled", "isEnabled", "isEditable",
+            "waitFor", "waitForSelector", "waitForLoadState", "waitForResponse", "waitForFunction", "waitForTimeout",
+            "waitForURL", "navigate", "reload", "evaluate", "evaluateAll", "screenshot", "content");
+    private static final int MAX_DESCRIPTION_LENGTH = 120;
+
+    private BrowserSteps() {
+    }
+
+    public static Page trace(Page page) {
+        return proxy(Page.class, page);
+    }
+
+    // Playwright's assertions cast to its own implementation classes and reject a traced page
+    public static Page unwrap(Page page) {
+        return (Page) unwrapArgument(page);
+    }
+
+    public static <T> T record(String action, String locator, Supplier<T> step) {
+        BrowserStepEvent event = new BrowserStepEvent();
+        if (!event.isEnabled()) {
+            return step.get();
+        }
+
+        event.begin();
+        String result = "error";
+        try {
+            T value = step.get();
+            result = describeResult(value);
+            return value;
+        } catch (TimeoutError e) {
+            result = "timeout";
+            throw e;
+        } catch (RuntimeException e) {
+            result = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.action = action;
+                event.locator = locator;
+                event.result = result;
+                event.commit();
+            }
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new Tracer(target)));
+    }
+
+    private static Object unwrapArgument(Object argument) {
+        if (argument != null && Proxy.isProxyClass(argument.getClass())
+                && Proxy.getInvocationHandler(argument) instanceof Tracer tracer) {
+            return tracer.target();
+        }
+        return argument;
+    }
+
+    // Only sizes and flags are kept; text read from the portal can contain personal details
+    private static String describeResult(Object value) {
+        return switch (value) {
+            case null -> "ok";
+            case Boolean flag -> flag.toString();
+            case Number number -> number.toString();
+            case String text -> "chars=" + text.length();
+            case Collection<?> items -> "items=" + items.size();
+            default -> "ok";
+        };
+    }
+
+    private record Tracer(Object target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            Object[] targetArgs = args == null ? null : new Object[args.length];
+            for (int i = 0; targetArgs != null && i < args.length; i++) {
+                targetArgs[i] = unwrapArgument(args[i]);
+            }
+
+            if (ACTIONS.contains(method.getName())) {
+                return record(method.getName(), describeTarget(args), () -> call(method, targetArgs));
+            }
+
+            Object result = call(method, targetArgs);
+            return method.getReturnType() == Locator.class && result != null
+                    ? proxy(Locator.class, (Locator) result)
+                    : result;
+        }
+
+        // Locators describe themselves by selector; page-level calls name their selector, URL or script argument
+        private String describeTarget(Object[] args) {
+            if (target instanceof Locator) {
+                return target.toString();
+            }
+            if (args != null && args.length > 0 && args[0] instanceof String selectorOrScript) {
+                String description = selectorOrScript.strip();
+                return description.length() > MAX_DESCRIPTION_LENGTH
+                        ? description.substring(0, MAX_DESCRIPTION_LENGTH) + "..."
+                        : description;
+            }
+            return "page";
+        }
+
+        private Object call(Method method, Object[] args) {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot call " + method.getName() + " on traced " + target, e);
+            }
+        }
+    }
+}
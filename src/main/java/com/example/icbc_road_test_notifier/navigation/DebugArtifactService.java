@@ -0,0 +1,16 @@
+package com.example.icbc_road_test_notifier.navigation;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+
+/**
+ * Captures the browser's state when a step goes wrong. Only the Playwright call runs on the caller's thread;
+ * files are written and rotated in the background, and captures are dropped rather than queued without bound.
+ */
+public interface DebugArtifactService {
+    // Starts the rolling trace for a new context when traces are the configured capture mode
+    void install(BrowserContext context);
+
+    // source names the component for metrics; label describes what failed and becomes part of the file name
+    void capture(Page page, String source, String label);
+}
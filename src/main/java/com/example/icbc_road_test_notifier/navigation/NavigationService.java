@@ -4,5 +4,6 @@ import com.microsoft.playwright.Page;
 
 public interface NavigationService {
     void authenticate(Page page, String lastName, String licenseNumber, String keyword);
+    boolean resumeSession(Page page);
     void navigateToAppointmentSection(Page page);
 }
@@ -0,0 +1,17 @@
+package com.example.icbc_road_test_notifier.navigation;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitForSelectorState;
+
+/**
+ * Waits used by the browser flow. Each call names the fixed delay it replaces so the legacy
+ * sleep-based behaviour can be restored with the {@code fixed-waits} profile for comparison.
+ */
+public interface WaitStrategy {
+    void settle(Page page, int fixedDelayMs);
+    void settleAfterNetwork(Page page, int fixedDelayMs);
+    void forElement(Page page, String selector, WaitForSelectorState state, int fixedDelayMs);
+    void forResponse(Page page, String urlFragment, Runnable action, int fixedDelayMs);
+    void forQuiescence(Page page, String selector, int fixedDelayMs);
+    double keystrokeDelay(int fixedDelayMs);
+}
@@ -0,0 +1,50 @@
+package com.example.icbc_road_test_notifier.navigation.internal;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "catalog_location", uniqueConstraints = @UniqueConstraint(columnNames = {"kind", "displayName"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class CatalogLocation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Exact text the portal renders, so a resolved entry can be matched back to its DOM node
+    @Column(nullable = false)
+    private String displayName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LocationKind kind;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "catalog_location_alias", joinColumns = @JoinColumn(name = "location_id"))
+    @Column(name = "alias", nullable = false)
+    private List<String> aliases = new ArrayList<>();
+
+    // Bundled entries are never pruned; learned ones expire when the portal stops listing them
+    private boolean seeded;
+
+    private Instant lastSeenAt;
+
+    public CatalogLocation(String displayName, LocationKind kind, List<String> aliases, boolean seeded) {
+        this.displayName = displayName;
+        this.kind = kind;
+        this.aliases = new ArrayList<>(aliases);
+        this.seeded = seeded;
+    }
+
+    LocationIndex.Entry toEntry() {
+        return new LocationIndex.Entry(displayName, kind, List.copyOf(aliases));
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.icbc_road_test_notifier.navigation.internal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface CatalogLocationRepository extends JpaRepository<CatalogLocation, Long> {
+    List<CatalogLocation> findByKindAndDisplayNameIn(LocationKind kind, Collection<String> displayNames);
+    long deleteBySeededFalseAndLastSeenAtBefore(Instant cutoff);
+}
@@ -0,0 +1,111 @@
+package com.example.icbc_road_test_notifier.navigation.internal;
+
+import com.example.icbc_road_test_notifier.navigation.WaitStrategy;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.options.LoadState;
+import com.microsoft.playwright.options.WaitForSelectorState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Waits on concrete page conditions instead of sleeping; every wait is capped by a WaitProperties ceiling
+@Component
+@Slf4j
+@Profile("!fixed-waits")
+@RequiredArgsConstructor
+public class ConditionWaitStrategy implements WaitStrategy {
+    // Angular keeps the zone unstable while XHRs and timers are pending; fall back to readyState outside Angular
+    private static final String ANGULAR_STABLE_SCRIPT = """
+            () => typeof window.getAllAngularTestabilities === 'function'
+                ? window.getAllAngularTestabilities().every(t => t.isStable())
+                : document.readyState === 'complete'
+            """;
+
+    private static final String MUTATION_QUIESCENCE_SCRIPT = """
+            ([selector, quietMs, maxMs]) => new Promise(resolve => {
+                const target = document.querySelector(selector) || document.body;
+                const start = performance.now();
+                let last = start;
+                const observer = new MutationObserver(() => { last = performance.now(); });
+                observer.observe(target, { childList: true, subtree: true, attributes: true, characterData: true });
+                const check = () => {
+                    const now = performance.now();
+                    if (now - last >= quietMs || now - start >= maxMs) {
+                        observer.disconnect();
+                        resolve(now - start);
+                    } else {
+                        setTimeout(check, Math.min(50, quietMs));
+                    }
+                };
+                setTimeout(check, quietMs);
+            })
+            """;
+
+    private final WaitProperties properties;
+
+    @Override
+    public void settle(Page page, int fixedDelayMs) {
+        try {
+            page.waitForFunction(ANGULAR_STABLE_SCRIPT, null, new Page.WaitForFunctionOptions()
+                    .setPollingInterval(50)
+                    .setTimeout(properties.settleTimeout().toMillis()));
+        } catch (PlaywrightException e) {
+            log.debug("Page did not settle within {}: {}", properties.settleTimeout(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void settleAfterNetwork(Page page, int fixedDelayMs) {
+        // Capped like every other wait here, rather than left to the page's default timeout
+        try {
+            page.waitForLoadState(LoadState.DOMCONTENTLOADED, new Page.WaitForLoadStateOptions()
+                    .setTimeout(properties.settleTimeout().toMillis()));
+        } catch (TimeoutError e) {
+            log.debug("DOM not loaded within {}", properties.settleTimeout());
+        }
+        settle(page, fixedDelayMs);
+    }
+
+    @Override
+    public void forElement(Page page, String selector, WaitForSelectorState state, int fixedDelayMs) {
+        try {
+            page.locator(selector).first().waitFor(new Locator.WaitForOptions()
+                    .setState(state)
+                    .setTimeout(properties.elementTimeout().toMillis()));
+        } catch (TimeoutError e) {
+            log.debug("'{}' did not become {} within {}", selector, state, properties.elementTimeout());
+        }
+    }
+
+    @Override
+    public void forResponse(Page page, String urlFragment, Runnable action, int fixedDelayMs) {
+        try {
+            page.waitForResponse(response -> response.url().contains(urlFragment),
+                    new Page.WaitForResponseOptions().setTimeout(properties.responseTimeout().toMillis()),
+                    action);
+        } catch (TimeoutError e) {
+            log.debug("No response from '{}' within {}", urlFragment, properties.responseTimeout());
+        }
+    }
+
+    @Override
+    public void forQuiescence(Page page, String selector, int fixedDelayMs) {
+        try {
+            page.evaluate(MUTATION_QUIESCENCE_SCRIPT, List.of(selector,
+                    properties.quietWindow().toMillis(), properties.quiescenceTimeout().toMillis()));
+        } catch (PlaywrightException e) {
+            log.debug("Could not wait for '{}' to stop changing: {}", selector, e.getMessage());
+        }
+    }
+
+    @Override
+    public double keystrokeDelay(int fixedDelayMs) {
+        return properties.keystrokeDelay().toMillis();
+    }
+}
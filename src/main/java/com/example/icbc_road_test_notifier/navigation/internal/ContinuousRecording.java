@@ -0,0 +1,70 @@
+package com.example.icbc_road_test_notifier.navigation.internal;
+
+import com.example.icbc_road_test_notifier.navigation.BrowserStepEvent;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Optional;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ContinuousRecording {
+    static final String RECORDING_NAME = "icbc-continuous";
+
+    private final FlightRecordingProperties properties;
+    private volatile Recording recording;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.enabled() || !FlightRecorder.isAvailable()) {
+            return;
+        }
+
+        try {
+            Recording continuous = new Recording(Configuration.getConfiguration(properties.settings()));
+            continuous.setName(RECORDING_NAME);
+            continuous.setToDisk(true);
+            continuous.setMaxAge(properties.maxAge());
+            continuous.setMaxSize(properties.maxSize().toBytes());
+            continuous.enable(BrowserStepEvent.class);
+            continuous.start();
+            recording = continuous;
+            log.info("Started continuous flight recording ({} settings, last {})", properties.settings(), properties.maxAge());
+        } catch (IOException | ParseException e) {
+            log.warn("Could not load JFR settings '{}': {}", properties.settings(), e.getMessage());
+        }
+    }
+
+    // Snapshot of every running recording, including one started with -XX:StartFlightRecording
+    public Optional<Path> dump(Path target) throws IOException {
+        if (!FlightRecorder.isAvailable()) {
+            return Optional.empty();
+        }
+
+        try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+            if (snapshot.getSize() == 0) {
+                return Optional.empty();
+            }
+            snapshot.dump(target);
+            return Optional.of(target);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+}
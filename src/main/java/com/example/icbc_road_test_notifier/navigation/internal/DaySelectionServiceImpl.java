@@ -2,18 +2,23 @@ package com.example.icbc_road_test_notifier.navigation.internal;
 
 import com.example.icbc_road_test_notifier.shared.DaysOfTheWeek;
 import com.example.icbc_road_test_notifier.navigation.DaySelectionService;
+import com.example.icbc_road_test_notifier.navigation.DebugArtifactService;
+import com.example.icbc_road_test_notifier.navigation.WaitStrategy;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.PlaywrightException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.nio.file.Paths;
 import java.util.Set;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class DaySelectionServiceImpl implements DaySelectionService {
+    private final WaitStrategy waits;
+    private final DebugArtifactService debugArtifacts;
 
     @Override
     public void selectDays(Page page, Set<DaysOfTheWeek> preferredDays) {
@@ -26,7 +31,7 @@ public class DaySelectionServiceImpl implements DaySelectionService {
 
         for (DaysOfTheWeek day : preferredDays) {
             selectDay(page, day);
-            page.waitForTimeout(200);
+            waits.settle(page, 200);
         }
 
         log.debug("Completed day selection for {} days", preferredDays.size());
@@ -59,13 +64,13 @@ public class DaySelectionServiceImpl implements DaySelectionService {
 
         } catch (PlaywrightException e) {
             log.warn("Failed to select day {}: {}", day.getDisplayName(), e.getMessage());
-            takeDebugScreenshot(page, "debug-day-selection-" + day.getDisplayName().toLowerCase() + "-" + System.currentTimeMillis() + ".png");
+            debugArtifacts.capture(page, "day-selection", "day-selection-" + day.getDisplayName());
         }
     }
 
     private void processCheckboxSelection(Page page, Locator dayCheckbox, DaysOfTheWeek day) {
         dayCheckbox.first().scrollIntoViewIfNeeded();
-        page.waitForTimeout(200);
+        waits.settle(page, 200);
 
         boolean isAlreadyChecked = isCheckboxSelected(dayCheckbox);
 
@@ -73,7 +78,7 @@ public class DaySelectionServiceImpl implements DaySelectionService {
             dayCheckbox.first().click();
             log.debug("Clicked checkbox for {}", day.getDisplayName());
 
-            page.waitForTimeout(300);
+            waits.settle(page, 300);
             verifyCheckboxSelection(dayCheckbox, day);
         } else {
             log.debug("{} was already selected", day.getDisplayName());
@@ -121,7 +126,7 @@ public class DaySelectionServiceImpl implements DaySelectionService {
         log.warn("Could not find checkbox for day: {}", day.getDisplayName());
 
         debugLogAllCheckboxes(page);
-        takeDebugScreenshot(page, "debug-missing-checkbox-" + day.getDisplayName().toLowerCase() + "-" + System.currentTimeMillis() + ".png");
+        debugArtifacts.capture(page, "day-selection", "missing-checkbox-" + day.getDisplayName());
     }
 
     private void debugLogAllCheckboxes(Page page) {
@@ -144,15 +149,4 @@ public class DaySelectionServiceImpl implements DaySelectionService {
             log.warn("Failed to debug log checkboxes: {}", e.getMessage());
         }
     }
-
-    private void takeDebugScreenshot(Page page, String filename) {
-        try {
-            page.screenshot(new Page.ScreenshotOptions()
-                    .setPath(Paths.get(filename))
-                    .setFullPage(true));
-            log.debug("Saved debug screenshot: {}", filename);
-        } catch (Exception e) {
-            log.warn("Could not take debug screenshot: {}", e.getMessage());
-        }
-    }
 }
\ No newline at end of file
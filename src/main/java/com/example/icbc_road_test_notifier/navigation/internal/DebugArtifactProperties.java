@@ -0,0 +1,39 @@
+package com.example.icbc_road_test_notifier.navigation.internal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Oldest artifacts are deleted once the directory grows past max-total-size or they are older than max-age
+@ConfigurationProperties(prefix = "icbc.debug")
+public record DebugArtifactProperties(
+        @DefaultValue("VIEWPORT_JPEG")
+        Mode mode,
+
+        @DefaultValue("debug-artifacts")
+        Path directory,
+
+        @DefaultValue("16")
+        int queueCapacity,
+
+        @DefaultValue("60")
+        int jpegQuality,
+
+        @DefaultValue("100MB")
+        DataSize maxTotalSize,
+
+        @DefaultValue("P7D")
+        Duration maxAge
+) {
+    public enum Mode {
+        OFF,
+        VIEWPORT_JPEG,
+        FULL_PAGE_PNG,
+        DOM_HTML,
+        // Every context records a trace chunk, written out only when a capture is requested
+        TRACE
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.icbc_road_test_notifier.navigation.internal;
+
+import com.example.icbc_road_test_notifier.navigation.DebugArtifactService;
+import com.example.icbc_road_test_notifier.shared.CheckMetrics;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Tracing;
+import com.microsoft.playwright.options.ScreenshotType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class DebugArtifactServiceImpl implements DebugArtifactService {
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+    // Names fileName() produces; the directory may be shared, so nothing else in it is ever rotated out
+    private static final Pattern ARTIFACT_NAME = Pattern.compile("\\d{8}-\\d{6}-\\d{3}-.*\\.(jpg|png|html|zip)");
+
+    private final DebugArtifactProperties properties;
+    private final CheckMetrics metrics;
+    private final Clock clock;
+    private final BlockingQueue<PendingArtifact> queue;
+    private final Counter dropped;
+    private Thread writer;
+    private volatile boolean running;
+
+    @Autowired
+    public DebugArtifactServiceImpl(DebugArtifactProperties properties, CheckMetrics metrics, MeterRegistry registry) {
+        this(properties, metrics, registry, Clock.systemUTC());
+    }
+
+    DebugArtifactServiceImpl(DebugArtifactProperties properties, CheckMetrics metrics, MeterRegistry registry, Clock clock) {
+        this.properties = properties;
+        this.metrics = metrics;
+        this.clock = clock;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.queueCapacity()));
+        this.dropped = registry.counter("icbc.debug.artifacts.dropped");
+        Gauge.builder("icbc.debug.artifacts.queued", queue, BlockingQueue::size).register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (properties.mode() == DebugArtifactProperties.Mode.OFF) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofVirtual().name("debug-artifact-writer").start(this::drain);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+        }
+        // Whatever was already captured is cheap to flush and usually explains why the app is going down
+        PendingArtifact pending;
+        while ((pending = queue.poll()) != null) {
+            write(pending);
+        }
+    }
+
+    @Override
+    public void install(BrowserContext context) {
+        if (properties.mode() != DebugArtifactProperties.Mode.TRACE) {
+            return;
+        }
+        try {
+            context.tracing().start(new Tracing.StartOptions().setScreenshots(true).setSnapshots(true));
+            context.tracing().startChunk();
+        } catch (RuntimeException e) {
+            log.warn("Could not start debug trace: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void capture(Page page, String source, String label) {
+        if (properties.mode() == DebugArtifactProperties.Mode.OFF) {
+            return;
+        }
+
+        try {
+            Path target = properties.directory().resolve(fileName(source, label));
+            PendingArtifact artifact = switch (properties.mode()) {
+                case VIEWPORT_JPEG -> new PendingArtifact(target, page.screenshot(new Page.ScreenshotOptions()
+                        .setType(ScreenshotType.JPEG)
+                        .setQuality(properties.jpegQuality())));
+                case FULL_PAGE_PNG -> new PendingArtifact(target, page.screenshot(new Page.ScreenshotOptions()
+                        .setFullPage(true)));
+                case DOM_HTML -> new PendingArtifact(target, page.content().getBytes(StandardCharsets.UTF_8));
+                case TRACE -> persistTraceChunk(page, target);
+                case OFF -> throw new IllegalStateException("Capture requested while debug artifacts are off");
+            };
+
+            if (!queue.offer(artifact)) {
+                dropped.increment();
+                log.debug("Debug artifact queue is full, dropped {}", target.getFileName());
+                return;
+            }
+            metrics.screenshotTaken(source);
+            log.debug("Queued debug artifact {}", target.getFileName());
+        } catch (RuntimeException e) {
+            log.warn("Could not capture debug artifact: {}", e.getMessage());
+        }
+    }
+
+    // Playwright is bound to the automation thread and the driver writes the zip as part of stopChunk, so the failing
+    // step waits for the write; only rotation is left for the writer. A fresh chunk starts right away
+    private PendingArtifact persistTraceChunk(Page page, Path target) {
+        createDirectory();
+        Tracing tracing = page.context().tracing();
+        tracing.stopChunk(new Tracing.StopChunkOptions().setPath(target));
+        tracing.startChunk();
+        return new PendingArtifact(target, null);
+    }
+
+    private void drain() {
+        try {
+            while (running) {
+                write(queue.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(PendingArtifact artifact) {
+        try {
+            if (artifact.content() != null) {
+                createDirectory();
+                Files.write(artifact.target(), artifact.content());
+            }
+            rotate();
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not write debug artifact {}: {}", artifact.target(), e.getMessage());
+        }
+    }
+
+    // Deletes artifacts past the age limit, then the oldest ones until they fit the size limit
+    void rotate() throws IOException {
+        if (!Files.isDirectory(properties.directory())) {
+            return;
+        }
+
+        List<StoredArtifact> stored = new ArrayList<>();
+        try (Stream<Path> files = Files.list(properties.directory())) {
+            for (Path file : files.toList()) {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                if (attributes.isRegularFile() && ARTIFACT_NAME.matcher(file.getFileName().toString()).matches()) {
+                    stored.add(new StoredArtifact(file, attributes.lastModifiedTime().toInstant(), attributes.size()));
+                }
+            }
+        }
+        stored.sort(Comparator.comparing(StoredArtifact::modifiedAt));
+
+        Instant cutoff = clock.instant().minus(properties.maxAge());
+        long totalBytes = stored.stream().mapToLong(StoredArtifact::bytes).sum();
+        int deleted = 0;
+        for (StoredArtifact artifact : stored) {
+            if (!artifact.modifiedAt().isBefore(cutoff) && totalBytes <= properties.maxTotalSize().toBytes()) {
+                break;
+            }
+            Files.deleteIfExists(artifact.path());
+            totalBytes -= artifact.bytes();
+            deleted++;
+        }
+        if (deleted > 0) {
+            log.debug("Rotated out {} debug artifacts", deleted);
+        }
+    }
+
+    private void createDirectory() {
+        try {
+            Files.createDirectories(properties.directory());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create debug artifact directory " + properties.directory(), e);
+        }
+    }
+
+    private String fileName(String source, String label) {
+        String extension = switch (properties.mode()) {
+            case VIEWPORT_JPEG -> ".jpg";
+            case FULL_PAGE_PNG -> ".png";
+            case DOM_HTML -> ".html";
+            case TRACE -> ".zip";
+            case OFF -> "";
+        };
+        return FILE_TIMESTAMP.format(clock.instant()) + "-" + sanitize(source) + "-" + sanitize(label) + extension;
+    }
+
+    private static String sanitize(String part) {
+        return part.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "");
+    }
+
+    // content is null when the file is already on disk and only needs rotating
+    private record PendingArtifact(Path target, byte[] content) {}
+
+    private record StoredArtifact(Path path, Instant modifiedAt, long bytes) {}
+}
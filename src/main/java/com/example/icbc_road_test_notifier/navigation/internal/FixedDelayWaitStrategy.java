@@ -0,0 +1,52 @@
+package com.example.icbc_road_test_notifier.navigation.internal;
+
+import com.example.icbc_road_test_notifier.navigation.WaitStrategy;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.LoadState;
+import com.microsoft.playwright.options.WaitForSelectorState;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+// The original hard-coded sleeps, kept behind the fixed-waits profile to measure the latency difference
+@Component
+@Profile("fixed-waits")
+public class FixedDelayWaitStrategy implements WaitStrategy {
+
+    @Override
+    public void settle(Page page, int fixedDelayMs) {
+        sleep(page, fixedDelayMs);
+    }
+
+    @Override
+    public void settleAfterNetwork(Page page, int fixedDelayMs) {
+        page.waitForLoadState(LoadState.NETWORKIDLE);
+        sleep(page, fixedDelayMs);
+    }
+
+    @Override
+    public void forElement(Page page, String selector, WaitForSelectorState state, int fixedDelayMs) {
+        sleep(page, fixedDelayMs);
+    }
+
+    @Override
+    public void forResponse(Page page, String urlFragment, Runnable action, int fixedDelayMs) {
+        action.run();
+        sleep(page, fixedDelayMs);
+    }
+
+    @Override
+    public void forQuiescence(Page page, String selector, int fixedDelayMs) {
+        sleep(page, fixedDelayMs);
+    }
+
+    @Override
+    public double keystrokeDelay(int fixedDelayMs) {
+        return fixedDelayMs;
+    }
+
+    private void sleep(Page page, int fixedDelayMs) {
+        if (fixedDelayMs > 0) {
+            page.waitForTimeout(fixedDelayMs);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.icbc_road_test_notifier.navigation.internal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+// Continuous JFR recording kept in a rolling on-disk buffer; dumped on demand from /actuator/flightrecording
+@ConfigurationProperties(prefix = "icbc.jfr")
+public record FlightRecordingProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        @DefaultValue("default")
+        String settings,
+
+        @DefaultValue("PT30M")
+        Duration maxAge,
+
+        @DefaultValue("100MB")
+        DataSize maxSize
+) {
+}
@@ -0,0 +1,195 @@
+package com.example.icbc_road_test_notifier.navigation.internal;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+// Known ICBC areas and offices with their aliases, resolved through an in-memory token index.
+// Names the portal renders are learned as they are seen, so later checks can match without extra round-trips
+@Component
+@Slf4j
+public class LocationCatalog {
+    private static final String SEED_RESOURCE = "catalog/icbc-locations.json";
+    private static final int MIN_TYPED_CHARS = 4;
+    // Retention is measured in days, so a name's last-seen time only needs writing again after this long
+    private static final Duration LAST_SEEN_PRECISION = Duration.ofHours(1);
+
+    private final CatalogLocationRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private volatile LocationIndex index = LocationIndex.empty();
+    // When each name's last-seen time was last written; names written recently are skipped without touching the database
+    private final Map<String, Instant> recorded = new ConcurrentHashMap<>();
+    // Not synchronized: checks run on virtual threads, which a monitor held across JPA I/O would pin
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public LocationCatalog(
+            CatalogLocationRepository repository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${icbc.location-catalog.retention:P30D}") Duration retention
+    ) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void load() {
+        if (repository.count() == 0) {
+            List<CatalogLocation> seed = readSeed();
+            repository.saveAll(seed);
+            log.info("Seeded location catalog with {} entries", seed.size());
+        }
+        rebuildIndex();
+    }
+
+    @Scheduled(fixedDelayString = "${icbc.location-catalog.refresh-interval:PT6H}",
+            initialDelayString = "${icbc.location-catalog.refresh-interval:PT6H}")
+    @Transactional
+    public void refresh() {
+        long pruned = repository.deleteBySeededFalseAndLastSeenAtBefore(Instant.now().minus(retention));
+        if (pruned > 0) {
+            log.debug("Pruned {} catalog locations the portal no longer lists", pruned);
+        }
+        rebuildIndex();
+    }
+
+    public Optional<LocationIndex.Match> resolve(String query, LocationKind kind) {
+        return index.resolve(query, kind);
+    }
+
+    // Picks among texts the page is showing right now; aliases are expanded through the catalog first
+    public OptionalInt bestMatch(String query, LocationKind kind, List<String> candidates) {
+        OptionalInt direct = LocationIndex.bestCandidate(query, candidates);
+        if (direct.isPresent()) {
+            return direct;
+        }
+        return resolve(query, kind)
+                .map(match -> LocationIndex.bestCandidate(match.entry().name(), candidates))
+                .orElse(OptionalInt.empty());
+    }
+
+    // Shortest prefix no other known area starts with, so the autocomplete narrows to it without typing the full name
+    public String typingPrefix(String areaName) {
+        String lowerName = areaName.toLowerCase(Locale.ROOT);
+        List<String> others = index.entries().stream()
+                .filter(entry -> entry.kind() == LocationKind.AREA)
+                .map(entry -> entry.name().toLowerCase(Locale.ROOT))
+                .filter(name -> !name.equals(lowerName))
+                .toList();
+
+        for (int length = Math.min(MIN_TYPED_CHARS, areaName.length()); length < areaName.length(); length++) {
+            String prefix = lowerName.substring(0, length);
+            if (others.stream().noneMatch(name -> name.startsWith(prefix))) {
+                return areaName.substring(0, length);
+            }
+        }
+        return areaName;
+    }
+
+    // Not transactional itself: each write commits while the lock is still held, so two checks can't both insert one name
+    public void observe(LocationKind kind, Collection<String> displayNames) {
+        Instant now = Instant.now();
+        Instant stale = now.minus(LAST_SEEN_PRECISION);
+        Set<String> names = displayNames.stream()
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .filter(name -> {
+                    Instant last = recorded.get(recordKey(kind, name));
+                    return last == null || last.isBefore(stale);
+                })
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (names.isEmpty()) {
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            boolean learned = Boolean.TRUE.equals(transactionTemplate.execute(status -> record(kind, names, now)));
+            // Only once committed, so names whose write rolled back are tried again on the next observation
+            names.forEach(name -> recorded.put(recordKey(kind, name), now));
+            if (learned) {
+                rebuildIndex();
+            }
+        } catch (DataAccessException | TransactionException e) {
+            // Learning names is best effort and must never fail the search that saw them
+            log.warn("Could not record {} locations {}: {}", kind, names, e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private boolean record(LocationKind kind, Set<String> names, Instant now) {
+        List<CatalogLocation> known = repository.findByKindAndDisplayNameIn(kind, names);
+        known.forEach(location -> location.setLastSeenAt(now));
+        Set<String> unknown = new LinkedHashSet<>(names);
+        known.forEach(location -> unknown.remove(location.getDisplayName()));
+
+        List<CatalogLocation> learned = unknown.stream()
+                .map(name -> {
+                    CatalogLocation location = new CatalogLocation(name, kind, List.of(), false);
+                    location.setLastSeenAt(now);
+                    return location;
+                })
+                .toList();
+        repository.saveAll(known);
+        repository.saveAll(learned);
+
+        if (!learned.isEmpty()) {
+            log.debug("Learned {} new {} locations: {}", learned.size(), kind, unknown);
+        }
+        return !learned.isEmpty();
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    private static String recordKey(LocationKind kind, String name) {
+        return kind + ":" + name;
+    }
+
+    private void rebuildIndex() {
+        index = LocationIndex.build(repository.findAll().stream().map(CatalogLocation::toEntry).toList());
+        log.debug("Location catalog index holds {} entries", index.size());
+    }
+
+    private List<CatalogLocation> readSeed() {
+        try (InputStream in = new ClassPathResource(SEED_RESOURCE).getInputStream()) {
+            List<SeedEntry> entries = objectMapper.readValue(in, new TypeReference<>() {});
+            return entries.stream()
+                    .map(entry -> new CatalogLocation(entry.name(), entry.kind(),
+                            entry.aliases() != null ? entry.aliases() : List.of(), true))
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Could not read bundled location catalog: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private record SeedEntry(String name, LocationKind kind, List<String> aliases) {}
+}
@@ -0,0 +1,212 @@
+package com.example.icbc_road_test_notifier.navigation.internal;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+// Immutable token index over catalog names and aliases; rebuilt whenever the catalog changes
+final class LocationIndex {
+    static final double MIN_SCORE = 0.5;
+
+    // Words every office shares; they carry no signal and would make "Vancouver" match every card
+    private static final Set<String> STOP_WORDS = Set.of(
+            "icbc", "bc", "driver", "drivers", "licensing", "licence", "license", "office", "centre", "center",
+            "the", "and", "of", "at"
+    );
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    record Entry(String name, LocationKind kind, List<String> aliases) {}
+
+    record Match(Entry entry, double score) {}
+
+    private final List<Entry> entries;
+    // Per entry: the token list of its name followed by one list per alias
+    private final List<List<List<String>>> entryTokens;
+    // Sorted so tokens sharing a prefix with a query token are one range lookup away
+    private final NavigableMap<String, Set<Integer>> postings;
+
+    private LocationIndex(List<Entry> entries) {
+        this.entries = List.copyOf(entries);
+        this.entryTokens = new ArrayList<>(entries.size());
+        this.postings = new TreeMap<>();
+
+        for (int i = 0; i < this.entries.size(); i++) {
+            Entry entry = this.entries.get(i);
+            List<List<String>> variants = new ArrayList<>();
+            variants.add(tokens(entry.name()));
+            entry.aliases().forEach(alias -> variants.add(tokens(alias)));
+            entryTokens.add(variants);
+
+            for (List<String> variant : variants) {
+                for (String token : variant) {
+                    postings.computeIfAbsent(token, t -> new HashSet<>()).add(i);
+                }
+            }
+        }
+    }
+
+    static LocationIndex build(Collection<Entry> entries) {
+        return new LocationIndex(new ArrayList<>(entries));
+    }
+
+    static LocationIndex empty() {
+        return new LocationIndex(List.of());
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    List<Entry> entries() {
+        return entries;
+    }
+
+    Optional<Match> resolve(String query, LocationKind kind) {
+        List<String> queryTokens = tokens(query);
+        if (queryTokens.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // Exact and prefix hits come straight from the postings; every token is only compared for typos on a miss
+        Optional<Match> direct = bestOf(directCandidates(queryTokens), queryTokens, kind);
+        return direct.isPresent() ? direct : bestOf(similarCandidates(queryTokens), queryTokens, kind);
+    }
+
+    // Entries with a token equal to a query token, or one of them a prefix of the other (tokenSimilarity's 1.0 and 0.8)
+    private Set<Integer> directCandidates(List<String> queryTokens) {
+        Set<Integer> candidates = new TreeSet<>();
+        for (String queryToken : queryTokens) {
+            Set<Integer> exact = postings.get(queryToken);
+            if (exact != null) {
+                candidates.addAll(exact);
+            }
+            if (queryToken.length() < 3) {
+                continue;
+            }
+            postings.subMap(queryToken, false, queryToken + Character.MAX_VALUE, false)
+                    .values()
+                    .forEach(candidates::addAll);
+            for (int length = 3; length < queryToken.length(); length++) {
+                Set<Integer> prefix = postings.get(queryToken.substring(0, length));
+                if (prefix != null) {
+                    candidates.addAll(prefix);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private Set<Integer> similarCandidates(List<String> queryTokens) {
+        Set<Integer> candidates = new TreeSet<>();
+        for (Map.Entry<String, Set<Integer>> posting : postings.entrySet()) {
+            for (String queryToken : queryTokens) {
+                if (tokenSimilarity(queryToken, posting.getKey()) > 0) {
+                    candidates.addAll(posting.getValue());
+                    break;
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private Optional<Match> bestOf(Set<Integer> candidates, List<String> queryTokens, LocationKind kind) {
+        Match best = null;
+        for (int candidate : candidates) {
+            Entry entry = entries.get(candidate);
+            if (entry.kind() != kind) continue;
+
+            double score = entryTokens.get(candidate).stream()
+                    .mapToDouble(variant -> score(queryTokens, variant))
+                    .max()
+                    .orElse(0);
+            if (score >= MIN_SCORE && (best == null || score > best.score())) {
+                best = new Match(entry, score);
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    // Index of the best-scoring candidate text; ties go to the earliest, i.e. the portal's own ordering
+    static OptionalInt bestCandidate(String query, List<String> candidates) {
+        List<String> queryTokens = tokens(query);
+        int bestIndex = -1;
+        double bestScore = MIN_SCORE;
+
+        for (int i = 0; i < candidates.size(); i++) {
+            double score = score(queryTokens, tokens(candidates.get(i)));
+            if (score > bestScore || (bestIndex < 0 && score >= bestScore)) {
+                bestIndex = i;
+                bestScore = score;
+            }
+        }
+        return bestIndex >= 0 ? OptionalInt.of(bestIndex) : OptionalInt.empty();
+    }
+
+    static double score(List<String> queryTokens, List<String> targetTokens) {
+        if (queryTokens.isEmpty() || targetTokens.isEmpty()) {
+            return 0;
+        }
+
+        double matched = 0;
+        Set<String> coveredTargets = new HashSet<>();
+        for (String queryToken : queryTokens) {
+            double bestToken = 0;
+            String bestTarget = null;
+            for (String targetToken : targetTokens) {
+                double similarity = tokenSimilarity(queryToken, targetToken);
+                if (similarity > bestToken) {
+                    bestToken = similarity;
+                    bestTarget = targetToken;
+                }
+            }
+            matched += bestToken;
+            if (bestTarget != null) coveredTargets.add(bestTarget);
+        }
+
+        // Prefer targets the query explains fully: "Vancouver" beats "North Vancouver" for query "vancouver"
+        double queryCoverage = matched / queryTokens.size();
+        double targetCoverage = (double) coveredTargets.size() / new HashSet<>(targetTokens).size();
+        // Portal names lead with the city and put the branch in brackets, so an unmatched first word
+        // ("North" Vancouver) is a different place while an unmatched trailing one (Kingsway) is not
+        double leadingMatch = coveredTargets.contains(targetTokens.getFirst()) ? 1.0 : 0.9;
+        return queryCoverage * (0.8 + 0.2 * targetCoverage) * leadingMatch;
+    }
+
+    static double tokenSimilarity(String a, String b) {
+        if (a.equals(b)) return 1.0;
+        if (Math.min(a.length(), b.length()) >= 3 && (a.startsWith(b) || b.startsWith(a))) return 0.8;
+        if (Math.min(a.length(), b.length()) >= 4 && Math.abs(a.length() - b.length()) <= 1
+                && editDistance(a, b) <= 1) return 0.6;
+        return 0;
+    }
+
+    static List<String> tokens(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_ALPHANUMERIC.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static int editDistance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.icbc_road_test_notifier.navigation.internal;
+
+public enum LocationKind {
+    // Entries in the city autocomplete, e.g. "Vancouver, BC"
+    AREA,
+    // Office cards on the results page, keyed by their .department-title text
+    OFFICE
+}
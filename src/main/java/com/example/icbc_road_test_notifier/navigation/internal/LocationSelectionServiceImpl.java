@@ -1,21 +1,38 @@
 package com.example.icbc_road_test_notifier.navigation.internal;
 
+import com.example.icbc_road_test_notifier.navigation.DebugArtifactService;
 import com.example.icbc_road_test_notifier.navigation.LocationSelectionService;
+import com.example.icbc_road_test_notifier.navigation.WaitStrategy;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.PlaywrightException;
-import com.microsoft.playwright.options.LoadState;
 import com.microsoft.playwright.options.WaitForSelectorState;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class LocationSelectionServiceImpl implements LocationSelectionService {
+    private static final String AUTOCOMPLETE_PANEL_SELECTOR = ".mat-autocomplete-panel, div[role='listbox']";
+    private static final String AUTOCOMPLETE_OPTION_SELECTOR = "mat-option.mat-option, .mat-autocomplete-panel mat-option, "
+            + "[role='option'], .cdk-overlay-pane mat-option";
+    private static final String OFFICE_CONTAINER_SELECTOR = ".first-office-container .background-highlight, "
+            + ".other-locations-container .background-highlight.other-locations";
+    // One round-trip for every office card instead of a locator per title
+    private static final String READ_OFFICE_TITLES_SCRIPT = "els => els.map(el => {"
+            + "const title = el.querySelector('.department-title');"
+            + "return title ? title.textContent.trim() : '';"
+            + "})";
+
+    private final WaitStrategy waits;
+    private final LocationCatalog locationCatalog;
+    private final DebugArtifactService debugArtifacts;
 
     @Override
     public void selectLocation(Page page, String locationQuery) {
@@ -26,6 +43,12 @@ public class LocationSelectionServiceImpl implements LocationSelectionService {
             return;
         }
 
+        // A catalogued area only needs enough characters for the autocomplete to list it
+        Optional<String> knownArea = locationCatalog.resolve(locationQuery, LocationKind.AREA)
+                .map(match -> match.entry().name());
+        String targetOption = knownArea.orElse(locationQuery);
+        String typedQuery = knownArea.map(locationCatalog::typingPrefix).orElse(locationQuery);
+
         try {
             Locator locationInput = page.locator("input[formcontrolname='finishedAutocomplete']")
                     .or(page.locator("input[placeholder='Start typing...']"))
@@ -36,21 +59,18 @@ public class LocationSelectionServiceImpl implements LocationSelectionService {
                     .setTimeout(10000));
 
             locationInput.first().clear();
-            page.waitForTimeout(500);
+            waits.settle(page, 500);
 
             // Method 1: Character-by-character typing to trigger Angular autocomplete
-            log.debug("Typing '{}' character by character", locationQuery);
+            log.debug("Typing '{}' character by character for '{}'", typedQuery, targetOption);
             locationInput.first().click();
 
-            for (char c : locationQuery.toCharArray()) {
-                locationInput.first().pressSequentially(String.valueOf(c));
-                page.waitForTimeout(150);
-            }
+            locationInput.first().pressSequentially(typedQuery, new Locator.PressSequentiallyOptions()
+                    .setDelay(waits.keystrokeDelay(150)));
 
-            page.waitForTimeout(3000);
+            waits.forElement(page, AUTOCOMPLETE_PANEL_SELECTOR, WaitForSelectorState.VISIBLE, 3000);
 
-            Locator autocompletePanel = page.locator(".mat-autocomplete-panel")
-                    .or(page.locator("div[role='listbox']"));
+            Locator autocompletePanel = page.locator(AUTOCOMPLETE_PANEL_SELECTOR);
 
             boolean dropdownAppeared = false;
             try {
@@ -68,16 +88,16 @@ public class LocationSelectionServiceImpl implements LocationSelectionService {
                 log.debug("Attempting to trigger input events manually");
 
                 locationInput.first().clear();
-                page.waitForTimeout(300);
+                waits.settle(page, 300);
 
                 locationInput.first().click();
-                locationInput.first().fill(locationQuery);
+                locationInput.first().fill(typedQuery);
 
                 locationInput.first().dispatchEvent("input");
                 locationInput.first().dispatchEvent("keyup");
                 locationInput.first().dispatchEvent("focus");
 
-                page.waitForTimeout(2000);
+                waits.forElement(page, AUTOCOMPLETE_PANEL_SELECTOR, WaitForSelectorState.VISIBLE, 2000);
 
                 try {
                     autocompletePanel.first().waitFor(new Locator.WaitForOptions()
@@ -95,15 +115,15 @@ public class LocationSelectionServiceImpl implements LocationSelectionService {
                 log.debug("Attempting to trigger dropdown with keyboard events");
 
                 locationInput.first().focus();
-                page.waitForTimeout(300);
+                waits.settle(page, 300);
 
                 locationInput.first().press("ArrowDown");
-                page.waitForTimeout(1000);
+                waits.settle(page, 1000);
 
                 locationInput.first().press("Space");
-                page.waitForTimeout(200);
+                waits.settle(page, 200);
                 locationInput.first().press("Backspace");
-                page.waitForTimeout(1000);
+                waits.forElement(page, AUTOCOMPLETE_PANEL_SELECTOR, WaitForSelectorState.VISIBLE, 1000);
 
                 try {
                     autocompletePanel.first().waitFor(new Locator.WaitForOptions()
@@ -134,20 +154,31 @@ public class LocationSelectionServiceImpl implements LocationSelectionService {
                             "el.classList.remove('mat-autocomplete-hidden');" +
                             "})");
 
-                    page.waitForTimeout(1000);
+                    waits.settle(page, 1000);
                     dropdownAppeared = hiddenOptions.count() > 0;
                 }
             }
 
             if (dropdownAppeared) {
-                selectFromDropdownOptions(page, locationQuery);
+                boolean selected = selectFromDropdownOptions(page, targetOption);
+                if (!selected && !typedQuery.equals(targetOption)) {
+                    log.debug("'{}' not listed for prefix '{}', typing the full name", targetOption, typedQuery);
+                    locationInput.first().fill(targetOption);
+                    locationInput.first().dispatchEvent("input");
+                    waits.forElement(page, AUTOCOMPLETE_PANEL_SELECTOR, WaitForSelectorState.VISIBLE, 2000);
+                    selected = selectFromDropdownOptions(page, targetOption);
+                }
+                Locator autocompleteOptions = page.locator(AUTOCOMPLETE_OPTION_SELECTOR);
+                if (!selected && autocompleteOptions.count() > 0) {
+                    selectFirstOption(page, autocompleteOptions);
+                }
             } else {
                 handleNoDropdownFallback(page, locationQuery);
             }
 
         } catch (PlaywrightException e) {
             log.error("Failed to select location '{}': {}", locationQuery, e.getMessage());
-            takeDebugScreenshot(page, "debug-location-error-" + System.currentTimeMillis() + ".png");
+            debugArtifacts.capture(page, "location-selection", "location-error");
         }
     }
 
@@ -161,134 +192,54 @@ public class LocationSelectionServiceImpl implements LocationSelectionService {
         }
 
         try {
-            page.waitForLoadState(LoadState.NETWORKIDLE);
-            page.waitForTimeout(2000);
-
-            List<Locator> allLocationContainers = new ArrayList<>();
-
-            Locator nearestLocation = page.locator(".first-office-container .background-highlight");
-            if (nearestLocation.count() > 0) {
-                allLocationContainers.add(nearestLocation.first());
-            }
-
-            Locator otherLocations = page.locator(".other-locations-container .background-highlight.other-locations");
-            for (int i = 0; i < otherLocations.count(); i++) {
-                allLocationContainers.add(otherLocations.nth(i));
-            }
+            waits.settleAfterNetwork(page, 2000);
 
-            log.debug("Found {} total location options", allLocationContainers.size());
+            Locator locationContainers = page.locator(OFFICE_CONTAINER_SELECTOR);
+            List<String> titles = readOfficeTitles(locationContainers);
+            log.debug("Found {} total location options: {}", titles.size(), titles);
 
-            String normalizedPreferred = preferredLocationName.toLowerCase().trim();
-            Locator bestMatch = null;
-            String bestMatchName = "";
+            locationCatalog.observe(LocationKind.OFFICE, titles);
 
-            // Smart matching: exact > contains > city/area match
-            for (int i = 0; i < allLocationContainers.size(); i++) {
-                Locator locationContainer = allLocationContainers.get(i);
-
-                try {
-                    Locator titleElement = locationContainer.locator(".department-title");
-                    if (titleElement.count() == 0) continue;
-
-                    String locationTitle = titleElement.textContent().trim();
-                    String normalizedTitle = locationTitle.toLowerCase();
-
-                    log.debug("Checking location {}: '{}'", i, locationTitle);
-
-                    boolean isExactMatch = normalizedTitle.equals(normalizedPreferred);
-                    boolean containsPreferred = normalizedTitle.contains(normalizedPreferred);
-                    boolean preferredContainsTitle = normalizedPreferred.contains(normalizedTitle);
-
-                    // City/area matching (e.g., "vancouver" matches "Vancouver Driver Licensing")
-                    boolean cityMatch = false;
-                    String[] titleWords = normalizedTitle.split("\\s+");
-                    String[] preferredWords = normalizedPreferred.split("\\s+");
-
-                    for (String titleWord : titleWords) {
-                        for (String preferredWord : preferredWords) {
-                            if (titleWord.equals(preferredWord) && titleWord.length() > 3) {
-                                cityMatch = true;
-                                break;
-                            }
-                        }
-                        if (cityMatch) break;
-                    }
-
-                    if (isExactMatch) {
-                        bestMatch = locationContainer;
-                        bestMatchName = locationTitle;
-                        log.debug("Found exact match: '{}'", locationTitle);
-                        break;
-                    } else if (containsPreferred || preferredContainsTitle) {
-                        if (bestMatch == null) {
-                            bestMatch = locationContainer;
-                            bestMatchName = locationTitle;
-                            log.debug("Found contains match: '{}'", locationTitle);
-                        }
-                    } else if (cityMatch && bestMatch == null) {
-                        bestMatch = locationContainer;
-                        bestMatchName = locationTitle;
-                        log.debug("Found city match: '{}'", locationTitle);
-                    }
-
-                } catch (PlaywrightException e) {
-                    log.warn("Could not process location container {}: {}", i, e.getMessage());
-                }
-            }
-
-            if (bestMatch != null) {
-                clickLocationIfNotSelected(page, bestMatch, bestMatchName);
+            OptionalInt bestMatch = locationCatalog.bestMatch(preferredLocationName, LocationKind.OFFICE, titles);
+            if (bestMatch.isPresent()) {
+                clickLocationIfNotSelected(page, locationContainers.nth(bestMatch.getAsInt()), titles.get(bestMatch.getAsInt()));
             } else {
-                handleNoLocationMatch(page, preferredLocationName, allLocationContainers);
+                handleNoLocationMatch(page, preferredLocationName, locationContainers, titles);
             }
 
         } catch (PlaywrightException e) {
             log.error("Failed to select location '{}': {}", preferredLocationName, e.getMessage());
-            takeDebugScreenshot(page, "debug-location-selection-" + System.currentTimeMillis() + ".png");
+            debugArtifacts.capture(page, "location-selection", "location-selection");
         }
     }
 
-    private void selectFromDropdownOptions(Page page, String locationQuery) {
-        Locator autocompleteOptions = page.locator("mat-option.mat-option")
-                .or(page.locator(".mat-autocomplete-panel mat-option"))
-                .or(page.locator("[role='option']"))
-                .or(page.locator(".cdk-overlay-pane mat-option"));
+    private boolean selectFromDropdownOptions(Page page, String targetOption) {
+        Locator autocompleteOptions = page.locator(AUTOCOMPLETE_OPTION_SELECTOR);
 
-        if (autocompleteOptions.count() > 0) {
-            log.debug("Found {} autocomplete options", autocompleteOptions.count());
-
-            String normalizedQuery = locationQuery.toLowerCase().trim();
+        List<String> optionTexts = autocompleteOptions.allTextContents().stream().map(String::trim).toList();
+        if (optionTexts.isEmpty()) {
+            return false;
+        }
+        log.debug("Found {} autocomplete options: {}", optionTexts.size(), optionTexts);
 
-            for (int i = 0; i < autocompleteOptions.count(); i++) {
-                Locator option = autocompleteOptions.nth(i);
+        locationCatalog.observe(LocationKind.AREA, optionTexts);
 
-                try {
-                    String optionText = option.locator(".mat-option-text").count() > 0 ?
-                            option.locator(".mat-option-text").textContent().trim() :
-                            option.textContent().trim();
-
-                    String normalizedOptionText = optionText.toLowerCase();
-                    log.debug("Comparing '{}' with option: '{}'", normalizedQuery, optionText);
-
-                    // Flexible matching for various location name formats
-                    if (normalizedOptionText.equals(normalizedQuery) ||
-                            normalizedOptionText.contains(normalizedQuery) ||
-                            normalizedOptionText.startsWith(normalizedQuery) ||
-                            normalizedQuery.contains(normalizedOptionText.split(",")[0].trim().toLowerCase())) {
-
-                        option.scrollIntoViewIfNeeded();
-                        page.waitForTimeout(200);
-                        option.click();
-                        log.info("Selected matching location: '{}'", optionText);
-                        page.waitForTimeout(500);
-                        return;
-                    }
-                } catch (PlaywrightException e) {
-                    log.debug("Could not process option {}: {}", i, e.getMessage());
-                }
-            }
+        OptionalInt match = locationCatalog.bestMatch(targetOption, LocationKind.AREA, optionTexts);
+        if (match.isEmpty()) {
+            return false;
+        }
 
-            selectFirstOption(page, autocompleteOptions);
+        try {
+            Locator option = autocompleteOptions.nth(match.getAsInt());
+            option.scrollIntoViewIfNeeded();
+            waits.settle(page, 200);
+            option.click();
+            log.info("Selected matching location: '{}'", optionTexts.get(match.getAsInt()));
+            waits.settle(page, 500);
+            return true;
+        } catch (PlaywrightException e) {
+            log.debug("Could not click option '{}': {}", optionTexts.get(match.getAsInt()), e.getMessage());
+            return false;
         }
     }
 
@@ -299,10 +250,10 @@ public class LocationSelectionServiceImpl implements LocationSelectionService {
                     autocompleteOptions.first().textContent().trim();
 
             autocompleteOptions.first().scrollIntoViewIfNeeded();
-            page.waitForTimeout(200);
+            waits.settle(page, 200);
             autocompleteOptions.first().click();
             log.info("Selected first available option: '{}'", firstOptionText);
-            page.waitForTimeout(500);
+            waits.settle(page, 500);
         } catch (PlaywrightException e) {
             log.error("Failed to select first option: {}", e.getMessage());
         }
@@ -315,14 +266,14 @@ public class LocationSelectionServiceImpl implements LocationSelectionService {
         log.warn("3. The autocomplete is disabled or has JavaScript errors");
         log.warn("4. The page hasn't fully loaded yet");
 
-        takeDebugScreenshot(page, "debug-location-no-dropdown-" + System.currentTimeMillis() + ".png");
+        debugArtifacts.capture(page, "location-selection", "location-no-dropdown");
 
         // Last resort: try Enter key to accept typed value
         try {
             Locator locationInput = page.locator("input[formcontrolname='finishedAutocomplete']");
             locationInput.first().press("Enter");
             log.debug("Pressed Enter as fallback to confirm typed location");
-            page.waitForTimeout(1000);
+            waits.settle(page, 1000);
         } catch (PlaywrightException e) {
             log.warn("Failed to press Enter as fallback: {}", e.getMessage());
         }
@@ -337,12 +288,12 @@ public class LocationSelectionServiceImpl implements LocationSelectionService {
             log.info("Location '{}' is already selected", bestMatchName);
         } else {
             bestMatch.scrollIntoViewIfNeeded();
-            page.waitForTimeout(300);
+            waits.settle(page, 300);
             bestMatch.click();
 
             log.info("Selected location: '{}'", bestMatchName);
 
-            page.waitForTimeout(1000);
+            waits.settle(page, 1000);
 
             String updatedClasses = bestMatch.getAttribute("class");
             if (updatedClasses != null && updatedClasses.contains("clicked")) {
@@ -353,56 +304,39 @@ public class LocationSelectionServiceImpl implements LocationSelectionService {
         }
     }
 
-    private void handleNoLocationMatch(Page page, String preferredLocationName, List<Locator> allLocationContainers) {
+    private void handleNoLocationMatch(Page page, String preferredLocationName, Locator locationContainers, List<String> titles) {
         log.warn("Could not find a suitable match for location: '{}'", preferredLocationName);
 
         log.warn("Available locations:");
-        for (int i = 0; i < allLocationContainers.size(); i++) {
-            try {
-                Locator titleElement = allLocationContainers.get(i).locator(".department-title");
-                if (titleElement.count() > 0) {
-                    String title = titleElement.textContent().trim();
-                    log.warn("  {}: '{}'", i, title);
-                }
-            } catch (Exception e) {
-                log.warn("  {}: Could not read title", i);
-            }
+        for (int i = 0; i < titles.size(); i++) {
+            log.warn("  {}: '{}'", i, titles.get(i));
         }
 
-        if (!allLocationContainers.isEmpty()) {
-            selectFallbackLocation(page, allLocationContainers.getFirst());
+        if (!titles.isEmpty()) {
+            selectFallbackLocation(page, locationContainers.first(), titles.getFirst());
         }
     }
 
-    private void selectFallbackLocation(Page page, Locator fallback) {
+    @SuppressWarnings("unchecked")
+    private List<String> readOfficeTitles(Locator locationContainers) {
+        Object titles = locationContainers.evaluateAll(READ_OFFICE_TITLES_SCRIPT);
+        return titles instanceof List<?> list ? (List<String>) list : List.of();
+    }
+
+    private void selectFallbackLocation(Page page, Locator fallback, String fallbackName) {
         try {
             String fallbackClasses = fallback.getAttribute("class");
 
             if (fallbackClasses == null || !fallbackClasses.contains("clicked")) {
                 fallback.scrollIntoViewIfNeeded();
-                page.waitForTimeout(300);
+                waits.settle(page, 300);
                 fallback.click();
 
-                Locator fallbackTitle = fallback.locator(".department-title");
-                String fallbackName = fallbackTitle.count() > 0 ?
-                        fallbackTitle.textContent().trim() : "Unknown";
-
                 log.info("Selected first available location as fallback: '{}'", fallbackName);
-                page.waitForTimeout(1000);
+                waits.settle(page, 1000);
             }
         } catch (Exception e) {
             log.error("Failed to select fallback location: {}", e.getMessage());
         }
     }
-
-    private void takeDebugScreenshot(Page page, String filename) {
-        try {
-            page.screenshot(new Page.ScreenshotOptions()
-                    .setPath(Paths.get(filename))
-                    .setFullPage(true));
-            log.debug("Saved debug screenshot: {}", filename);
-        } catch (Exception e) {
-            log.warn("Could not take debug screenshot: {}", e.getMessage());
-        }
-    }
 }
\ No newline at end of file
@@ -1,29 +1,36 @@
 package com.example.icbc_road_test_notifier.navigation.internal;
 
+import com.example.icbc_road_test_notifier.navigation.BrowserSteps;
+import com.example.icbc_road_test_notifier.navigation.DebugArtifactService;
 import com.example.icbc_road_test_notifier.navigation.NavigationService;
+import com.example.icbc_road_test_notifier.navigation.WaitStrategy;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.PlaywrightException;
 import com.microsoft.playwright.options.AriaRole;
-import com.microsoft.playwright.options.LoadState;
 import com.microsoft.playwright.options.WaitForSelectorState;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.nio.file.Paths;
 
 import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class NavigationServiceImpl implements NavigationService {
     public static final String LOGIN_URL = "https://onlinebusiness.icbc.com/webdeas-ui/login;type=driver";
+    public static final String HOME_URL = "https://onlinebusiness.icbc.com/webdeas-ui/driver";
+    public static final String LOGIN_API_PATH = "/deas-api/v1/webLogin/webLogin";
     public static final int NAVIGATION_TIMEOUT = 60000;
     public static final int URL_WAIT_TIMEOUT = 30000;
     public static final int ELEMENT_WAIT_TIMEOUT = 15000;
     public static final int CONFIRMATION_TIMEOUT = 10000;
     public static final int CLICK_DELAY = 500;
-    public static final String DEBUG_SCREENSHOT_FILENAME = "debug-reschedule-button.png";
+
+    private final WaitStrategy waits;
+    private final DebugArtifactService debugArtifacts;
 
     @Override
     public void authenticate(Page page, String lastName, String licenseNumber, String keyword) {
@@ -33,25 +40,52 @@ public class NavigationServiceImpl implements NavigationService {
 
         fillLoginForm(page, lastName, licenseNumber, keyword);
         handleTermsCheckbox(page);
-        submitLogin(page);
+        waits.forResponse(page, LOGIN_API_PATH, () -> submitLogin(page), 0);
 
         page.waitForURL(url -> !url.equals(LOGIN_URL), new Page.WaitForURLOptions().setTimeout(URL_WAIT_TIMEOUT));
-        assertThat(page).not().hasURL(LOGIN_URL);
+        assertThat(BrowserSteps.unwrap(page)).not().hasURL(LOGIN_URL);
 
         log.info("Authentication successful");
     }
 
+    @Override
+    public boolean resumeSession(Page page) {
+        log.debug("Resuming stored session");
+
+        try {
+            page.navigate(HOME_URL, new Page.NavigateOptions().setTimeout(NAVIGATION_TIMEOUT));
+
+            // An expired session is redirected back to the login form
+            findRescheduleButton(page).or(page.locator("input[formcontrolname='drvrLastName']"))
+                    .first()
+                    .waitFor(new Locator.WaitForOptions()
+                            .setState(WaitForSelectorState.VISIBLE)
+                            .setTimeout(ELEMENT_WAIT_TIMEOUT));
+
+            if (page.url().startsWith(LOGIN_URL) || findRescheduleButton(page).count() == 0) {
+                log.info("Stored session has expired");
+                return false;
+            }
+
+            log.info("Resumed stored session without logging in");
+            return true;
+        } catch (PlaywrightException e) {
+            log.info("Could not resume stored session: {}", e.getMessage());
+            return false;
+        }
+    }
+
     @Override
     public void navigateToAppointmentSection(Page page) {
         log.debug("Navigating to appointment section");
 
-        page.waitForLoadState(LoadState.NETWORKIDLE);
+        waits.settleAfterNetwork(page, 0);
 
         Locator rescheduleButton = findRescheduleButton(page);
         clickRescheduleButton(page, rescheduleButton);
         handleRescheduleConfirmation(page);
 
-        page.waitForLoadState(LoadState.NETWORKIDLE);
+        waits.settleAfterNetwork(page, 0);
     }
 
     private void fillLoginForm(Page page, String lastName, String licenseNumber, String keyword) {
@@ -99,7 +133,7 @@ public class NavigationServiceImpl implements NavigationService {
                     .setTimeout(ELEMENT_WAIT_TIMEOUT));
 
             rescheduleButton.first().scrollIntoViewIfNeeded();
-            page.waitForTimeout(CLICK_DELAY);
+            waits.settle(page, CLICK_DELAY);
 
             try {
                 rescheduleButton.first().click();
@@ -110,7 +144,7 @@ public class NavigationServiceImpl implements NavigationService {
             }
         } catch (PlaywrightException e) {
             log.error("Failed to find reschedule button: {}", e.getMessage());
-            takeDebugScreenshot(page);
+            debugArtifacts.capture(page, "navigation", "reschedule-button");
         }
     }
 
@@ -129,12 +163,4 @@ public class NavigationServiceImpl implements NavigationService {
             log.warn("Could not find or click confirmation dialog: {}", e.getMessage());
         }
     }
-
-    private void takeDebugScreenshot(Page page) {
-        try {
-            page.screenshot(new Page.ScreenshotOptions().setPath(Paths.get(DEBUG_SCREENSHOT_FILENAME)));
-        } catch (Exception e) {
-            log.warn("Could not take debug screenshot: {}", e.getMessage());
-        }
-    }
 }
\ No newline at end of file
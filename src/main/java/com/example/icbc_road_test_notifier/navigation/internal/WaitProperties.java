@@ -0,0 +1,28 @@
+package com.example.icbc_road_test_notifier.navigation.internal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Ceilings for condition-based waits; hitting one logs and lets the flow continue like the old sleeps did
+@ConfigurationProperties(prefix = "icbc.wait")
+public record WaitProperties(
+        @DefaultValue("5s")
+        Duration settleTimeout,
+
+        @DefaultValue("10s")
+        Duration elementTimeout,
+
+        @DefaultValue("15s")
+        Duration responseTimeout,
+
+        @DefaultValue("300ms")
+        Duration quietWindow,
+
+        @DefaultValue("5s")
+        Duration quiescenceTimeout,
+
+        @DefaultValue("30ms")
+        Duration keystrokeDelay
+) {}
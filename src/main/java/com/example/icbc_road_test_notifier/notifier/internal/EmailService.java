@@ -1,45 +1,71 @@
 package com.example.icbc_road_test_notifier.notifier.internal;
 
-import com.example.icbc_road_test_notifier.appointment.AppointmentFound;
-import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.modulith.events.ApplicationModuleListener;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 @Service
 @Slf4j
-public class EmailService {
-    private final JavaMailSender emailSender;
-    private final String senderEmail;
-    private final String recipientEmail;
+public class EmailService implements NotificationChannel {
+    private static final Duration DEADLINE_MARGIN = Duration.ofSeconds(1);
 
-    private static final String SUBJECT = "ICBC N-Test Appointment Found!";
+    private final MailDeliveryQueue deliveryQueue;
+    private final NotificationProperties.Email properties;
+    private final String recipientEmail;
 
     public EmailService(
-            JavaMailSender emailSender,
-            @Value("${spring.mail.username}") String senderEmail,
+            MailDeliveryQueue deliveryQueue,
+            NotificationProperties properties,
             @Value("${icbc.notification-recipient:${spring.mail.username}}") String recipientEmail
     ) {
-        this.emailSender = emailSender;
-        this.senderEmail = senderEmail;
+        this.deliveryQueue = deliveryQueue;
+        this.properties = properties.email();
         this.recipientEmail = recipientEmail;
     }
 
-    @ApplicationModuleListener
-    public void appointmentListener(@NonNull AppointmentFound appointment) {
-        log.info("Appointment event received. Notifying: {}", recipientEmail);
-        sendSimpleMessage(recipientEmail, appointment.message());
+    @Override
+    public String name() {
+        return "email";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    @Override
+    public Duration timeout() {
+        return properties.timeout();
+    }
+
+    // Waits for the queue so the dispatcher sees a real failure, but only until just before the channel deadline.
+    // A mail still queued or waiting on a retry by then is the queue's to deliver: reporting it as a timeout would
+    // trip the breaker and, once the event is resubmitted, send the same mail twice
+    @Override
+    public void send(Notification notification) throws InterruptedException {
+        String recipient = notification.recipient() != null && !notification.recipient().isBlank()
+                ? notification.recipient()
+                : recipientEmail;
+        log.info("Appointment event received. Notifying: {}", recipient);
+        CompletableFuture<Void> delivery = deliveryQueue.submit(new OutgoingMail(recipient, notification.subject(),
+                notification.message(), notification.location()));
+        try {
+            delivery.get(handOffWait().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Mail to " + recipient + " failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            log.info("Mail to {} is still queued for delivery; leaving it to the queue's retries", recipient);
+        }
     }
 
-    private void sendSimpleMessage(String to, String content) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(senderEmail);
-        message.setTo(to);
-        message.setSubject(SUBJECT);
-        message.setText(content);
-        emailSender.send(message);
+    private Duration handOffWait() {
+        Duration wait = properties.timeout().minus(DEADLINE_MARGIN);
+        return wait.isNegative() ? Duration.ZERO : wait;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package com.example.icbc_road_test_notifier.notifier.internal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.modulith.events.IncompleteEventPublications;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+// Resubmits publications left incomplete by a crash or restart, and keeps the registry table small
+@Component
+@Slf4j
+public class EventPublicationMaintenance {
+    // One statement per batch keeps each delete's transaction and lock footprint small
+    static final String COMPACT_SQL = """
+            DELETE FROM event_publication
+             WHERE id IN (SELECT id
+                            FROM event_publication
+                           WHERE completion_date < ?
+                           ORDER BY completion_date
+                           FETCH FIRST ? ROWS ONLY)
+            """;
+
+    private final IncompleteEventPublications incompletePublications;
+    private final JdbcTemplate jdbcTemplate;
+    private final EventPublicationProperties properties;
+    private final Clock clock;
+    private final Instant startedAt;
+
+    @Autowired
+    public EventPublicationMaintenance(IncompleteEventPublications incompletePublications, JdbcTemplate jdbcTemplate,
+                                       EventPublicationProperties properties) {
+        this(incompletePublications, jdbcTemplate, properties, Clock.systemUTC());
+    }
+
+    EventPublicationMaintenance(IncompleteEventPublications incompletePublications, JdbcTemplate jdbcTemplate,
+                                EventPublicationProperties properties, Clock clock) {
+        this.incompletePublications = incompletePublications;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.startedAt = clock.instant();
+    }
+
+    // Only publications from before this start are resubmitted; anything newer is still being handled by its listener
+    @EventListener(ApplicationReadyEvent.class)
+    public void resubmitOutstanding() {
+        Thread.ofVirtual().name("event-resubmission").start(this::resubmitInBatches);
+    }
+
+    void resubmitInBatches() {
+        Set<UUID> resubmitted = new HashSet<>();
+        int batchSize = Math.max(1, properties.resubmitBatchSize());
+
+        while (true) {
+            int before = resubmitted.size();
+            incompletePublications.resubmitIncompletePublications(publication ->
+                    resubmitted.size() - before < batchSize
+                            && publication.getPublicationDate().isBefore(startedAt)
+                            && resubmitted.add(publication.getIdentifier()));
+
+            int batch = resubmitted.size() - before;
+            if (batch == 0) {
+                break;
+            }
+            log.info("Resubmitted {} incomplete event publications", batch);
+            if (batch < batchSize || !pause()) {
+                break;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${icbc.events.compaction-interval:PT1H}",
+            initialDelayString = "${icbc.events.compaction-interval:PT1H}")
+    public void compact() {
+        Instant cutoff = clock.instant().minus(properties.retention());
+        int batchSize = Math.max(1, properties.compactionBatchSize());
+
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(COMPACT_SQL, cutoff.atOffset(ZoneOffset.UTC), batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+
+        if (total > 0) {
+            log.debug("Compacted {} event publications completed before {}", total, cutoff);
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.resubmitPause());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.icbc_road_test_notifier.notifier.internal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "icbc.events")
+public record EventPublicationProperties(
+        // Publications resubmitted per batch on startup, with a pause between batches so a backlog doesn't flood the channels
+        @DefaultValue("50")
+        int resubmitBatchSize,
+
+        @DefaultValue("PT2S")
+        Duration resubmitPause,
+
+        // Completed publications are kept this long before compaction deletes them
+        @DefaultValue("P7D")
+        Duration retention,
+
+        @DefaultValue("500")
+        int compactionBatchSize,
+
+        @DefaultValue("PT1H")
+        Duration compactionInterval
+) {
+}
@@ -0,0 +1,39 @@
+package com.example.icbc_road_test_notifier.notifier.internal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Each connection is one persistent SMTP session drained by its own worker; a batch shares one connection
+@ConfigurationProperties(prefix = "icbc.mail.delivery")
+public record MailDeliveryProperties(
+        @DefaultValue("2")
+        int connections,
+
+        @DefaultValue("20")
+        int batchSize,
+
+        @DefaultValue("500ms")
+        Duration batchWindow,
+
+        @DefaultValue("500")
+        int queueCapacity,
+
+        @DefaultValue("4")
+        int maxAttempts,
+
+        @DefaultValue("5s")
+        Duration initialBackoff,
+
+        @DefaultValue("2m")
+        Duration maxBackoff,
+
+        @DefaultValue("5m")
+        Duration idleTimeout
+) {
+    Duration backoff(int attempt) {
+        long millis = initialBackoff.toMillis() << Math.min(attempt - 1, 20);
+        return Duration.ofMillis(Math.min(millis, maxBackoff.toMillis()));
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.icbc_road_test_notifier.notifier.internal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Queues outgoing mail and sends it in batches over a fixed number of persistent SMTP connections
+@Component
+@Slf4j
+public class MailDeliveryQueue {
+    static final String SEND_TIMER = "icbc.mail.send";
+
+    private final JavaMailSenderImpl mailSender;
+    private final MailDeliveryProperties properties;
+    private final String senderEmail;
+    private final BlockingQueue<Delivery> queue;
+    private final ScheduledExecutorService retryScheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("mail-retry").factory());
+    private final Set<Delivery> scheduledRetries = ConcurrentHashMap.newKeySet();
+    private final List<Thread> workers = new ArrayList<>();
+    private final Counter connectionsOpened;
+    private final Counter retries;
+    private final DistributionSummary batchSizes;
+    private final MeterRegistry registry;
+    private volatile boolean running;
+
+    public MailDeliveryQueue(
+            JavaMailSenderImpl mailSender,
+            MailDeliveryProperties properties,
+            MeterRegistry registry,
+            @Value("${spring.mail.username}") String senderEmail
+    ) {
+        this.mailSender = mailSender;
+        this.properties = properties;
+        this.senderEmail = senderEmail;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.queueCapacity()));
+
+        this.registry = registry;
+        this.connectionsOpened = registry.counter("icbc.mail.connections.opened");
+        this.retries = registry.counter("icbc.mail.retries");
+        this.batchSizes = DistributionSummary.builder("icbc.mail.batch.size").register(registry);
+        Gauge.builder("icbc.mail.queue.size", queue, BlockingQueue::size).register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < Math.max(1, properties.connections()); i++) {
+            workers.add(Thread.ofVirtual().name("mail-delivery-" + i).start(this::drain));
+        }
+    }
+
+    public CompletableFuture<Void> submit(OutgoingMail mail) {
+        Delivery delivery = new Delivery(mail);
+        if (!running) {
+            delivery.result.completeExceptionally(new IllegalStateException("Mail delivery is shut down"));
+        } else if (!queue.offer(delivery)) {
+            delivery.result.completeExceptionally(
+                    new IllegalStateException("Mail queue is full (" + properties.queueCapacity() + " pending)"));
+        }
+        return delivery.result;
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        retryScheduler.shutdownNow();
+        workers.forEach(Thread::interrupt);
+        try {
+            // A retry already firing may still be putting its mail back on the queue drained below
+            retryScheduler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Retries still waiting out their backoff were dropped with the scheduler; their callers are waiting too
+        for (Delivery scheduled : scheduledRetries) {
+            if (scheduledRetries.remove(scheduled)) {
+                scheduled.result.completeExceptionally(new IllegalStateException("Mail delivery is shutting down"));
+            }
+        }
+        Delivery pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result.completeExceptionally(new IllegalStateException("Mail delivery is shutting down"));
+        }
+    }
+
+    private void drain() {
+        try (SmtpConnection connection = new SmtpConnection(mailSender, connectionsOpened)) {
+            while (running) {
+                List<Delivery> batch = nextBatch();
+                if (batch.isEmpty()) {
+                    // Idle for the whole timeout; don't hold a session the server will drop anyway
+                    connection.close();
+                    continue;
+                }
+                sendBatch(connection, batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Waits up to the idle timeout for the first mail, then up to the batch window for more to share the connection
+    private List<Delivery> nextBatch() throws InterruptedException {
+        Delivery first = queue.poll(properties.idleTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return List.of();
+        }
+
+        int batchSize = Math.max(1, properties.batchSize());
+        List<Delivery> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+
+        long deadline = System.nanoTime() + properties.batchWindow().toNanos();
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            Delivery next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void sendBatch(SmtpConnection connection, List<Delivery> batch) {
+        batchSizes.record(batch.size());
+        log.debug("Sending {} mails over one SMTP connection", batch.size());
+        try {
+            connection.ensureOpen();
+        } catch (MessagingException e) {
+            // Each send below reconnects and reports the failure against its own delivery
+            log.debug("Could not open SMTP connection before batch: {}", e.getMessage());
+        }
+
+        for (Delivery delivery : batch) {
+            delivery.attempts++;
+            try {
+                MimeMessage message = toMimeMessage(delivery.mail);
+                timeSend(() -> send(connection, message));
+                delivery.result.complete(null);
+            } catch (MailPreparationException e) {
+                fail(delivery, e);
+            } catch (MailSendException e) {
+                // A rejected recipient leaves the session usable; anything else may have broken it
+                if (!(e.getCause() instanceof SendFailedException)) {
+                    connection.close();
+                }
+                retryOrFail(delivery, e);
+            } catch (RuntimeException e) {
+                // Unexpected, so not retried; the caller still gets an answer and the worker keeps draining
+                connection.close();
+                fail(delivery, e);
+            }
+        }
+    }
+
+    // Kept apart from the check timers: a slow or failing mail server is not a failed availability check
+    private void timeSend(Runnable send) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "failure";
+        try {
+            send.run();
+            outcome = "success";
+        } finally {
+            sample.stop(registry.timer(SEND_TIMER, "outcome", outcome));
+        }
+    }
+
+    private void send(SmtpConnection connection, MimeMessage message) {
+        try {
+            connection.send(message);
+        } catch (MessagingException e) {
+            throw new MailSendException("Could not send mail: " + e.getMessage(), e);
+        }
+    }
+
+    private MimeMessage toMimeMessage(OutgoingMail mail) {
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+            helper.setFrom(senderEmail);
+            helper.setTo(mail.to());
+            helper.setSubject(mail.subject());
+            helper.setText(mail.text());
+            return message;
+        } catch (MessagingException e) {
+            throw new MailPreparationException("Invalid mail to " + mail.to(), e);
+        }
+    }
+
+    private void retryOrFail(Delivery delivery, MailSendException e) {
+        boolean rejected = e.getCause() instanceof SendFailedException failed
+                && failed.getInvalidAddresses() != null && failed.getInvalidAddresses().length > 0;
+        if (rejected || !running || delivery.attempts >= properties.maxAttempts()) {
+            fail(delivery, e);
+            return;
+        }
+
+        Duration backoff = properties.backoff(delivery.attempts);
+        log.warn("Mail to {} failed (attempt {}/{}), retrying in {}: {}",
+                delivery.mail.to(), delivery.attempts, properties.maxAttempts(), backoff, e.getMessage());
+        retries.increment();
+        scheduledRetries.add(delivery);
+        try {
+            retryScheduler.schedule(() -> {
+                if (scheduledRetries.remove(delivery) && !queue.offer(delivery)) {
+                    fail(delivery, new IllegalStateException("Mail queue is full, dropping retry"));
+                }
+            }, backoff.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException shutDown) {
+            if (scheduledRetries.remove(delivery)) {
+                fail(delivery, e);
+            }
+        }
+    }
+
+    private void fail(Delivery delivery, Exception e) {
+        log.error("Giving up on mail to {} after {} attempts: {}", delivery.mail.to(), delivery.attempts, e.getMessage());
+        delivery.result.completeExceptionally(e);
+    }
+
+    private static final class Delivery {
+        private final OutgoingMail mail;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private int attempts;
+
+        private Delivery(OutgoingMail mail) {
+            this.mail = mail;
+        }
+    }
+}
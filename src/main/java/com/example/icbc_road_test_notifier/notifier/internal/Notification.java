@@ -0,0 +1,12 @@
+package com.example.icbc_road_test_notifier.notifier.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentFound;
+
+public record Notification(String subject, String message, String location, String recipient) {
+    static final String APPOINTMENT_FOUND_SUBJECT = "ICBC N-Test Appointment Found!";
+
+    static Notification from(AppointmentFound appointment) {
+        return new Notification(APPOINTMENT_FOUND_SUBJECT, appointment.message(), appointment.location(),
+                appointment.recipient());
+    }
+}
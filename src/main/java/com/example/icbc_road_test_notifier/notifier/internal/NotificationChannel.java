@@ -0,0 +1,14 @@
+package com.example.icbc_road_test_notifier.notifier.internal;
+
+import java.time.Duration;
+
+// One way of alerting a learner; the dispatcher sends to every enabled channel in parallel
+public interface NotificationChannel {
+    String name();
+
+    boolean isEnabled();
+
+    Duration timeout();
+
+    void send(Notification notification) throws Exception;
+}
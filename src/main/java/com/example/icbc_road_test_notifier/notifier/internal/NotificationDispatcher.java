@@ -0,0 +1,153 @@
+package com.example.icbc_road_test_notifier.notifier.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentFound;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+// Fans each event out to every enabled channel at once, so a slow channel never delays the fastest alert
+@Service
+@Slf4j
+public class NotificationDispatcher {
+    static final String DELIVERY_TIMER = "icbc.notification.delivery";
+
+    enum Outcome {
+        SUCCESS,
+        FAILURE,
+        TIMEOUT,
+        REJECTED
+    }
+
+    private final List<NotificationChannel> channels;
+    private final Map<String, ChannelCircuitBreaker> breakers;
+    private final MeterRegistry registry;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public NotificationDispatcher(List<NotificationChannel> channels, NotificationProperties properties, MeterRegistry registry) {
+        this(channels, properties, registry, Clock.systemUTC());
+    }
+
+    NotificationDispatcher(List<NotificationChannel> channels, NotificationProperties properties, MeterRegistry registry,
+                           Clock clock) {
+        this.channels = channels.stream().filter(NotificationChannel::isEnabled).toList();
+        this.registry = registry;
+        this.breakers = this.channels.stream().collect(Collectors.toMap(NotificationChannel::name,
+                channel -> new ChannelCircuitBreaker(properties.circuitBreaker().failureThreshold(),
+                        properties.circuitBreaker().openDuration(), clock)));
+
+        breakers.forEach((name, breaker) -> Gauge.builder("icbc.notification.circuit.open", breaker,
+                        b -> b.state() == ChannelCircuitBreaker.State.CLOSED ? 0 : 1)
+                .tag("channel", name)
+                .register(registry));
+        log.info("Notification channels enabled: {}", this.channels.stream().map(NotificationChannel::name).toList());
+    }
+
+    // Fails only when no channel delivered, so a resubmitted event doesn't repeat alerts that already went out
+    @ApplicationModuleListener
+    public void appointmentListener(@NonNull AppointmentFound appointment) {
+        Map<String, Outcome> outcomes = dispatch(Notification.from(appointment));
+        log.info("Appointment notification outcomes: {}", outcomes);
+
+        if (!outcomes.isEmpty() && !outcomes.containsValue(Outcome.SUCCESS)) {
+            throw new IllegalStateException("No notification channel delivered the alert: " + outcomes);
+        }
+    }
+
+    Map<String, Outcome> dispatch(Notification notification) {
+        long startNanos = System.nanoTime();
+        Map<NotificationChannel, Future<Outcome>> pending = new LinkedHashMap<>();
+        for (NotificationChannel channel : channels) {
+            pending.put(channel, executor.submit(() -> deliver(channel, notification)));
+        }
+
+        // Deadlines count from the shared start, so waiting on the channels in turn doesn't extend later timeouts
+        Map<String, Outcome> outcomes = new LinkedHashMap<>();
+        pending.forEach((channel, future) -> outcomes.put(channel.name(), await(channel, future, startNanos)));
+        return outcomes;
+    }
+
+    private Outcome deliver(NotificationChannel channel, Notification notification) {
+        ChannelCircuitBreaker breaker = breakers.get(channel.name());
+        if (!breaker.tryAcquire()) {
+            record(channel, Outcome.REJECTED, 0);
+            return Outcome.REJECTED;
+        }
+
+        long start = System.nanoTime();
+        try {
+            channel.send(notification);
+            breaker.onSuccess();
+            record(channel, Outcome.SUCCESS, System.nanoTime() - start);
+            return Outcome.SUCCESS;
+        } catch (InterruptedException e) {
+            // Cancelled by the dispatcher after the channel timed out; the timeout was already recorded
+            Thread.currentThread().interrupt();
+            return Outcome.TIMEOUT;
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // Cancelled, but the channel reported it as some other failure; the timeout was already recorded
+                return Outcome.TIMEOUT;
+            }
+            breaker.onFailure();
+            record(channel, Outcome.FAILURE, System.nanoTime() - start);
+            log.warn("Notification channel {} failed: {}", channel.name(), e.getMessage());
+            return Outcome.FAILURE;
+        }
+    }
+
+    private Outcome await(NotificationChannel channel, Future<Outcome> future, long startNanos) {
+        long remainingNanos = channel.timeout().toNanos() - (System.nanoTime() - startNanos);
+        try {
+            return future.get(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (!future.cancel(true)) {
+                // Finished just as the deadline passed
+                return await(channel, future, startNanos);
+            }
+            breakers.get(channel.name()).onFailure();
+            record(channel, Outcome.TIMEOUT, System.nanoTime() - startNanos);
+            log.warn("Notification channel {} did not finish within {}", channel.name(), channel.timeout());
+            return Outcome.TIMEOUT;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return Outcome.FAILURE;
+        } catch (ExecutionException e) {
+            return Outcome.FAILURE;
+        }
+    }
+
+    private void record(NotificationChannel channel, Outcome outcome, long nanos) {
+        Timer.builder(DELIVERY_TIMER)
+                .tag("channel", channel.name())
+                .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
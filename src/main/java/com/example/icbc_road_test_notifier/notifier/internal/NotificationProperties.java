@@ -0,0 +1,71 @@
+package com.example.icbc_road_test_notifier.notifier.internal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "icbc.notification")
+public record NotificationProperties(
+        @DefaultValue
+        Email email,
+
+        @DefaultValue
+        Webhook webhook,
+
+        @DefaultValue
+        Sms sms,
+
+        @DefaultValue
+        CircuitBreaker circuitBreaker
+) {
+    // The mail queue keeps retrying after the timeout; the dispatcher just stops waiting for it
+    public record Email(
+            @DefaultValue("true")
+            boolean enabled,
+
+            @DefaultValue("60s")
+            Duration timeout
+    ) {}
+
+    public record Webhook(
+            @DefaultValue("false")
+            boolean enabled,
+
+            @DefaultValue
+            List<URI> urls,
+
+            @DefaultValue("5s")
+            Duration timeout
+    ) {}
+
+    // Form-encoded To/From/Body POST with basic auth, as accepted by Twilio-style gateways
+    public record Sms(
+            @DefaultValue("false")
+            boolean enabled,
+
+            URI gatewayUrl,
+
+            String username,
+
+            String token,
+
+            String from,
+
+            @DefaultValue
+            List<String> to,
+
+            @DefaultValue("10s")
+            Duration timeout
+    ) {}
+
+    public record CircuitBreaker(
+            @DefaultValue("3")
+            int failureThreshold,
+
+            @DefaultValue("1m")
+            Duration openDuration
+    ) {}
+}
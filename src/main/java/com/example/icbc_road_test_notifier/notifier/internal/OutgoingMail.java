@@ -0,0 +1,4 @@
+package com.example.icbc_road_test_notifier.notifier.internal;
+
+public record OutgoingMail(String to, String subject, String text, String location) {
+}
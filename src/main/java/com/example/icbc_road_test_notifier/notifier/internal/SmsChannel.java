@@ -0,0 +1,94 @@
+package com.example.icbc_road_test_notifier.notifier.internal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+// Adapter for HTTP SMS gateways that take a form-encoded To/From/Body POST with basic auth
+@Component
+@Slf4j
+public class SmsChannel implements NotificationChannel {
+    // Gateways split longer bodies into several billed segments or reject them
+    private static final int MAX_BODY_LENGTH = 1600;
+
+    private final NotificationProperties.Sms properties;
+    private final HttpClient httpClient;
+
+    public SmsChannel(NotificationProperties properties) {
+        this.properties = properties.sms();
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(this.properties.timeout())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return "sms";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return properties.enabled() && properties.gatewayUrl() != null && !properties.to().isEmpty();
+    }
+
+    @Override
+    public Duration timeout() {
+        return properties.timeout();
+    }
+
+    @Override
+    public void send(Notification notification) throws IOException, InterruptedException {
+        String body = notification.message().length() > MAX_BODY_LENGTH
+                ? notification.message().substring(0, MAX_BODY_LENGTH - 3) + "..."
+                : notification.message();
+
+        for (String to : properties.to()) {
+            Map<String, String> form = new LinkedHashMap<>();
+            form.put("To", to);
+            form.put("From", properties.from());
+            form.put("Body", body);
+
+            HttpResponse<String> response = httpClient.send(request(form), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                throw new IOException("SMS gateway returned HTTP " + response.statusCode() + " for " + mask(to));
+            }
+            log.debug("Sent SMS alert to {}", mask(to));
+        }
+    }
+
+    private HttpRequest request(Map<String, String> form) {
+        String encoded = form.entrySet().stream()
+                .filter(entry -> entry.getValue() != null)
+                .map(entry -> entry.getKey() + "=" + URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(properties.gatewayUrl())
+                .timeout(properties.timeout())
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(encoded));
+        if (properties.username() != null && !properties.username().isBlank()) {
+            String credentials = properties.username() + ":" + properties.token();
+            request.header("Authorization", "Basic "
+                    + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+        }
+        return request.build();
+    }
+
+    private static String mask(String phoneNumber) {
+        return phoneNumber.length() <= 4 ? "****" : "****" + phoneNumber.substring(phoneNumber.length() - 4);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.icbc_road_test_notifier.notifier.internal;
+
+import io.micrometer.core.instrument.Counter;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+// One SMTP session kept open across batches, so STARTTLS and AUTH are paid once per connection rather than per mail
+@Slf4j
+class SmtpConnection implements AutoCloseable {
+    private final JavaMailSenderImpl mailSender;
+    private final Counter opened;
+    private Transport transport;
+
+    SmtpConnection(JavaMailSenderImpl mailSender, Counter opened) {
+        this.mailSender = mailSender;
+        this.opened = opened;
+    }
+
+    // isConnected() issues a NOOP, so it is called once per batch: a connection the server dropped while idle is
+    // replaced before the batch starts, without a round trip per mail
+    void ensureOpen() throws MessagingException {
+        if (transport != null && !transport.isConnected()) {
+            close();
+        }
+        connectIfClosed();
+    }
+
+    // A failed send closes the connection, so the next mail in the batch reconnects
+    void send(MimeMessage message) throws MessagingException {
+        connectIfClosed();
+        message.saveChanges();
+        transport.sendMessage(message, message.getAllRecipients());
+    }
+
+    private void connectIfClosed() throws MessagingException {
+        if (transport != null) {
+            return;
+        }
+        Transport fresh = mailSender.getSession().getTransport(protocol());
+        fresh.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        transport = fresh;
+        opened.increment();
+        log.debug("Opened SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort());
+    }
+
+    // Same resolution as JavaMailSenderImpl: explicit protocol, then the session property, then plain SMTP
+    private String protocol() {
+        if (mailSender.getProtocol() != null) {
+            return mailSender.getProtocol();
+        }
+        String sessionProtocol = mailSender.getSession().getProperty("mail.transport.protocol");
+        return sessionProtocol != null ? sessionProtocol : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+    }
+
+    @Override
+    public void close() {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection: {}", e.getMessage());
+        } finally {
+            transport = null;
+        }
+    }
+}
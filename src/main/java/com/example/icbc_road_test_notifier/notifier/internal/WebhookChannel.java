@@ -0,0 +1,98 @@
+package com.example.icbc_road_test_notifier.notifier.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+
+// POSTs a JSON alert to each configured URL; one shared client keeps HTTP/2 connections open between alerts
+@Component
+@Slf4j
+public class WebhookChannel implements NotificationChannel {
+    private final NotificationProperties.Webhook properties;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public WebhookChannel(NotificationProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties.webhook();
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(this.properties.timeout())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return properties.enabled() && !properties.urls().isEmpty();
+    }
+
+    @Override
+    public Duration timeout() {
+        return properties.timeout();
+    }
+
+    // Interruptible, so a dispatcher that gave up at the channel timeout also stops the posts still in flight
+    @Override
+    public void send(Notification notification) throws IOException, InterruptedException {
+        Map<String, String> payload = new LinkedHashMap<>();
+        payload.put("subject", notification.subject());
+        payload.put("text", notification.message());
+        payload.put("location", notification.location());
+        byte[] body = objectMapper.writeValueAsBytes(payload);
+
+        List<CompletableFuture<HttpResponse<Void>>> exchanges = properties.urls().stream()
+                .map(url -> httpClient.sendAsync(request(url, body), HttpResponse.BodyHandlers.discarding()))
+                .toList();
+        List<CompletableFuture<Void>> posts = new ArrayList<>(exchanges.size());
+        for (int i = 0; i < exchanges.size(); i++) {
+            URI url = properties.urls().get(i);
+            posts.add(exchanges.get(i).thenAccept(response -> check(url, response)));
+        }
+        try {
+            CompletableFuture.allOf(posts.toArray(CompletableFuture[]::new)).get();
+        } catch (InterruptedException e) {
+            // Only the client's own futures abort the exchange when cancelled
+            exchanges.forEach(exchange -> exchange.cancel(true));
+            throw e;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+    }
+
+    private HttpRequest request(URI url, byte[] body) {
+        return HttpRequest.newBuilder(url)
+                .timeout(properties.timeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private static void check(URI url, HttpResponse<Void> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new CompletionException(new IOException(
+                    "Webhook " + url.getHost() + " returned HTTP " + response.statusCode()));
+        }
+        log.debug("Delivered webhook to {} over {}", url.getHost(), response.version());
+    }
+}
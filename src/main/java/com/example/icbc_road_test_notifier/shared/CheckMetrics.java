@@ -0,0 +1,92 @@
+package com.example.icbc_road_test_notifier.shared;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+// Wall-clock time of a check and each of its steps, tagged by location and outcome so p95 can be alerted on per office
+@Component
+@RequiredArgsConstructor
+public class CheckMetrics {
+    public static final String CHECK_TIMER = "icbc.check.duration";
+    public static final String PHASE_TIMER = "icbc.check.phase";
+    public static final String FAILURE_COUNTER = "icbc.check.failures";
+    public static final String SCREENSHOT_COUNTER = "icbc.debug.screenshots";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    static final String NO_LOCATION = "none";
+    static final String OTHER_LOCATION = "other";
+    // ICBC has well under this many offices; anything beyond it is free text from profiles, not a new office
+    static final int MAX_LOCATION_TAGS = 64;
+
+    private final MeterRegistry registry;
+    private final Set<String> locationTags = ConcurrentHashMap.newKeySet();
+
+    public <T> T timeCheck(String location, Supplier<T> work) {
+        return record(CHECK_TIMER, Tags.of("location", locationTag(location)), "check", work);
+    }
+
+    public <T> T time(String phase, String location, Supplier<T> work) {
+        return record(PHASE_TIMER, Tags.of("phase", phase, "location", locationTag(location)), phase, work);
+    }
+
+    public void time(String phase, String location, Runnable work) {
+        time(phase, location, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public void screenshotTaken(String source) {
+        registry.counter(SCREENSHOT_COUNTER, "source", source).increment();
+    }
+
+    private <T> T record(String name, Tags tags, String phase, Supplier<T> work) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "failure";
+        try {
+            T result = work.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tags(tags)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofMinutes(5))
+                    .register(registry));
+            if ("failure".equals(outcome)) {
+                registry.counter(FAILURE_COUNTER, tags.and("phase", phase)).increment();
+            }
+        }
+    }
+
+    // Configured names vary in case and spacing; keep the tag cardinality to one series per office, and bounded
+    // even when profiles are created with arbitrary location text
+    String locationTag(String location) {
+        if (location == null || location.isBlank()) {
+            return NO_LOCATION;
+        }
+        String tag = WHITESPACE.matcher(location.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+        if (locationTags.contains(tag)) {
+            return tag;
+        }
+        synchronized (locationTags) {
+            if (locationTags.size() >= MAX_LOCATION_TAGS) {
+                return OTHER_LOCATION;
+            }
+            locationTags.add(tag);
+            return tag;
+        }
+    }
+}
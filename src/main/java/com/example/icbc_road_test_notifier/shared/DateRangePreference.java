@@ -1,11 +1,13 @@
 package com.example.icbc_road_test_notifier.shared;
 
 import jakarta.persistence.Embeddable;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 import java.time.LocalDate;
 
 @Embeddable
+@Getter
 @RequiredArgsConstructor
 public class DateRangePreference {
     private final LocalDate startDate;
@@ -1,12 +1,16 @@
 package com.example.icbc_road_test_notifier.shared;
 
+import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 @Validated
@@ -32,7 +36,50 @@ public record IcbcConfig(
         TimePreference timePreference,
 
         @NotNull
-        DateRangePreference dateRangePreference
+        DateRangePreference dateRangePreference,
 
-) {}
+        // Falls back to the notifier's default recipient when not set
+        @Email
+        String notificationRecipient,
+
+        // Further offices the learner would accept, searched alongside the preferred one
+        List<String> additionalLocations
+
+) {
+    @ConstructorBinding
+    public IcbcConfig {
+        additionalLocations = additionalLocations != null ? List.copyOf(additionalLocations) : List.of();
+    }
+
+    public IcbcConfig(String lastName, String licenseNumber, String keyword, String preferredLocation,
+                      Set<DaysOfTheWeek> preferredDays, TimePreference timePreference,
+                      DateRangePreference dateRangePreference) {
+        this(lastName, licenseNumber, keyword, preferredLocation, preferredDays, timePreference, dateRangePreference, null);
+    }
+
+    public IcbcConfig(String lastName, String licenseNumber, String keyword, String preferredLocation,
+                      Set<DaysOfTheWeek> preferredDays, TimePreference timePreference,
+                      DateRangePreference dateRangePreference, String notificationRecipient) {
+        this(lastName, licenseNumber, keyword, preferredLocation, preferredDays, timePreference, dateRangePreference,
+                notificationRecipient, null);
+    }
+
+    // Preferred office first, then the additional ones; blanks and repeats are dropped
+    public List<String> searchLocations() {
+        List<String> locations = new ArrayList<>();
+        addLocation(locations, preferredLocation);
+        additionalLocations.forEach(location -> addLocation(locations, location));
+        return List.copyOf(locations);
+    }
+
+    private static void addLocation(List<String> locations, String location) {
+        if (location == null || location.isBlank()) {
+            return;
+        }
+        String trimmed = location.trim();
+        if (locations.stream().noneMatch(trimmed::equalsIgnoreCase)) {
+            locations.add(trimmed);
+        }
+    }
+}
 
@@ -0,0 +1,12 @@
+package com.example.icbc_road_test_notifier.shared;
+
+// Profiles are keyed by licence number, which only ever appears in logs with all but its last digits hidden
+public final class ProfileKeys {
+
+    private ProfileKeys() {
+    }
+
+    public static String mask(String profileKey) {
+        return profileKey.length() <= 3 ? "***" : "***" + profileKey.substring(profileKey.length() - 3);
+    }
+}
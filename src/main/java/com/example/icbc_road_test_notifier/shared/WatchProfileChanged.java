@@ -0,0 +1,11 @@
+package com.example.icbc_road_test_notifier.shared;
+
+import org.jmolecules.event.types.DomainEvent;
+
+/**
+ * Event published when a watch profile is edited or deleted, so state kept for its earlier settings can be dropped.
+ *
+ * @param licenseNumber The licence number the profile was watched under before the change
+ */
+public record WatchProfileChanged(String licenseNumber) implements DomainEvent {
+}
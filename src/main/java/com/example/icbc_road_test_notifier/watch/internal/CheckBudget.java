@@ -0,0 +1,34 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+// Caps checks across every profile to a fixed number in any rolling 24 hours
+class CheckBudget {
+    private static final Duration WINDOW = Duration.ofDays(1);
+
+    private final int limit;
+    private final Deque<Instant> spent = new ArrayDeque<>();
+
+    CheckBudget(int limit) {
+        this.limit = limit;
+    }
+
+    synchronized boolean tryAcquire(Instant now) {
+        if (limit <= 0) {
+            return true;
+        }
+
+        Instant cutoff = now.minus(WINDOW);
+        while (!spent.isEmpty() && !spent.peekFirst().isAfter(cutoff)) {
+            spent.pollFirst();
+        }
+        if (spent.size() >= limit) {
+            return false;
+        }
+        spent.addLast(now);
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.OptionalDouble;
+
+// Picks each profile's next check time from the release histogram: dense in windows where slots tend to be
+// released, sparse where they never have been, jittered so profiles spread out, and backed off after failures
+class CheckPlanner {
+    private static final int MAX_BACKOFF_DOUBLINGS = 20;
+
+    private final WatchScheduleProperties.Adaptive properties;
+    private final Duration defaultInterval;
+    private final ReleaseHistogram histogram;
+
+    CheckPlanner(WatchScheduleProperties properties, ReleaseHistogram histogram) {
+        this.properties = properties.adaptive();
+        this.defaultInterval = properties.checkInterval();
+        this.histogram = histogram;
+    }
+
+    // maxInterval at zero intensity, shrinking geometrically to minInterval in the busiest bucket
+    Duration intervalAt(String location, Instant at) {
+        OptionalDouble intensity = histogram.intensity(location, at, properties.minObservations());
+        if (intensity.isEmpty()) {
+            return defaultInterval;
+        }
+
+        double min = properties.minInterval().toMillis();
+        double max = properties.maxInterval().toMillis();
+        return Duration.ofMillis(Math.round(max * Math.pow(min / max, intensity.getAsDouble())));
+    }
+
+    // jitterSample is uniform in [-1, 1]
+    Instant nextCheck(String location, Instant now, int consecutiveFailures, double jitterSample) {
+        Duration interval = intervalAt(location, now);
+        long jitteredMillis = Math.round(interval.toMillis() * (1 + properties.jitter() * jitterSample));
+        Instant earliest = now.plus(properties.minInterval());
+        Instant next = now.plusMillis(jitteredMillis);
+        if (next.isBefore(earliest)) {
+            next = earliest;
+        }
+
+        // Don't sleep through the start of a busier window
+        for (Instant bucket = histogram.nextBucketStart(now); bucket.isBefore(next); bucket = histogram.nextBucketStart(bucket)) {
+            if (intervalAt(location, bucket).compareTo(interval) < 0) {
+                next = bucket.isAfter(earliest) ? bucket : earliest;
+                break;
+            }
+        }
+
+        if (consecutiveFailures > 0) {
+            Duration backoff = properties.failureBackoff()
+                    .multipliedBy(1L << Math.min(consecutiveFailures - 1, MAX_BACKOFF_DOUBLINGS));
+            if (backoff.compareTo(properties.maxBackoff()) > 0) {
+                backoff = properties.maxBackoff();
+            }
+            if (now.plus(backoff).isAfter(next)) {
+                next = now.plus(backoff);
+            }
+        }
+        return next;
+    }
+}
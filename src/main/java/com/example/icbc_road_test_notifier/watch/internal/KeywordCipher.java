@@ -0,0 +1,104 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+// AES-GCM for profile keywords at rest. The key comes from icbc.profile.keyword-key, or is generated once
+// into a key file beside the database so that a copied database file alone does not reveal keywords
+@Component
+@Slf4j
+public class KeywordCipher {
+    static final String PREFIX = "v1:";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKey key;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public KeywordCipher(
+            @Value("${icbc.profile.keyword-key:}") String configuredKey,
+            @Value("${icbc.profile.keyword-key-file:${icbc.data-dir}/keyword.key}") Path keyFile
+    ) {
+        this(configuredKey.isBlank() ? loadOrCreate(keyFile) : Base64.getDecoder().decode(configuredKey));
+    }
+
+    KeywordCipher(byte[] key) {
+        if (key.length != 32) {
+            throw new IllegalArgumentException("Keyword key must be 32 bytes (base64-encoded AES-256 key)");
+        }
+        this.key = new SecretKeySpec(key, "AES");
+    }
+
+    public String encrypt(String keyword) {
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] sealed = cipher.doFinal(keyword.getBytes(StandardCharsets.UTF_8));
+            return PREFIX + Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + sealed.length)
+                    .put(iv).put(sealed).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not encrypt keyword", e);
+        }
+    }
+
+    // Rows written before encryption was added are still plaintext; they are encrypted on their next save
+    public String decrypt(String stored) {
+        if (!stored.startsWith(PREFIX)) {
+            return stored;
+        }
+        try {
+            byte[] data = Base64.getDecoder().decode(stored.substring(PREFIX.length()));
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, data, 0, IV_BYTES));
+            return new String(cipher.doFinal(data, IV_BYTES, data.length - IV_BYTES), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Could not decrypt keyword; was icbc.profile.keyword-key changed?", e);
+        }
+    }
+
+    private static byte[] loadOrCreate(Path keyFile) {
+        try {
+            if (Files.isRegularFile(keyFile)) {
+                return Base64.getDecoder().decode(Files.readString(keyFile).trim());
+            }
+
+            KeyGenerator generator = KeyGenerator.getInstance("AES");
+            generator.init(256);
+            byte[] generated = generator.generateKey().getEncoded();
+            Files.createDirectories(keyFile.toAbsolutePath().getParent());
+            Files.writeString(keyFile, Base64.getEncoder().encodeToString(generated));
+            try {
+                Files.setPosixFilePermissions(keyFile, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException e) {
+                log.debug("Key file permissions not restricted on this file system");
+            }
+            log.info("Generated keyword encryption key at {}", keyFile);
+            return generated;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read or create keyword key file " + keyFile, e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES not available", e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.RequiredArgsConstructor;
+
+// Hibernate resolves converters through Spring, so the cipher is injected like any other bean
+@Converter
+@RequiredArgsConstructor
+public class KeywordConverter implements AttributeConverter<String, String> {
+    private final KeywordCipher cipher;
+
+    @Override
+    public String convertToDatabaseColumn(String keyword) {
+        return keyword == null ? null : cipher.encrypt(keyword);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String stored) {
+        return stored == null ? null : cipher.decrypt(stored);
+    }
+}
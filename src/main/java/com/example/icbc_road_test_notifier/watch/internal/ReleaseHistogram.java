@@ -0,0 +1,99 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+// Slot release sightings per location, bucketed by day of week and time of day in the portal's time zone.
+// Intensity is a bucket's count smoothed with its neighbours, relative to the busiest bucket of the week
+class ReleaseHistogram {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final ZoneId zone;
+    private final int bucketMinutes;
+    private final int bucketsPerWeek;
+    private final Map<String, int[]> byLocation = new HashMap<>();
+    private final int[] allLocations;
+    private int totalObservations;
+
+    ReleaseHistogram(ZoneId zone, Duration bucketSize) {
+        long minutes = bucketSize.toMinutes();
+        if (minutes <= 0 || MINUTES_PER_DAY % minutes != 0) {
+            throw new IllegalArgumentException("Bucket size must divide a day evenly: " + bucketSize);
+        }
+        this.zone = zone;
+        this.bucketMinutes = (int) minutes;
+        this.bucketsPerWeek = 7 * MINUTES_PER_DAY / bucketMinutes;
+        this.allLocations = new int[bucketsPerWeek];
+    }
+
+    synchronized void record(String location, Instant observedAt) {
+        int bucket = bucketOf(observedAt);
+        byLocation.computeIfAbsent(key(location), key -> new int[bucketsPerWeek])[bucket]++;
+        allLocations[bucket]++;
+        totalObservations++;
+    }
+
+    synchronized void clear() {
+        byLocation.clear();
+        Arrays.fill(allLocations, 0);
+        totalObservations = 0;
+    }
+
+    // Empty when neither the location nor all locations together have minObservations sightings
+    synchronized OptionalDouble intensity(String location, Instant at, int minObservations) {
+        int[] counts = byLocation.get(key(location));
+        if (counts == null || sum(counts) < minObservations) {
+            if (totalObservations < minObservations) {
+                return OptionalDouble.empty();
+            }
+            counts = allLocations;
+        }
+
+        double peak = 0;
+        for (int bucket = 0; bucket < bucketsPerWeek; bucket++) {
+            peak = Math.max(peak, smoothed(counts, bucket));
+        }
+        return OptionalDouble.of(smoothed(counts, bucketOf(at)) / peak);
+    }
+
+    // Start of the bucket after the one containing the instant
+    Instant nextBucketStart(Instant at) {
+        ZonedDateTime local = at.atZone(zone).truncatedTo(ChronoUnit.MINUTES);
+        int minuteOfDay = local.getHour() * 60 + local.getMinute();
+        return local.plusMinutes(bucketMinutes - minuteOfDay % bucketMinutes).toInstant();
+    }
+
+    int bucketOf(Instant at) {
+        ZonedDateTime local = at.atZone(zone);
+        int minuteOfWeek = (local.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY
+                + local.getHour() * 60 + local.getMinute();
+        return minuteOfWeek / bucketMinutes;
+    }
+
+    // Wraps from Sunday night into Monday morning
+    private double smoothed(int[] counts, int bucket) {
+        int previous = counts[(bucket + bucketsPerWeek - 1) % bucketsPerWeek];
+        int next = counts[(bucket + 1) % bucketsPerWeek];
+        return 0.25 * previous + 0.5 * counts[bucket] + 0.25 * next;
+    }
+
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    static String key(String location) {
+        return location != null ? location.trim().toLowerCase(Locale.ROOT) : "";
+    }
+}
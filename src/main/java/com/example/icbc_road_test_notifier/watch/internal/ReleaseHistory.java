@@ -0,0 +1,98 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentFound;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Records when new slots were first seen per location and keeps the release histogram the scheduler plans from
+@Component
+@Slf4j
+public class ReleaseHistory {
+    private final SlotReleaseRepository repository;
+    private final Duration bucketSize;
+    private final Duration lookback;
+    private final ReleaseHistogram histogram;
+    // Several profiles watching one office all see the same release; it is counted once per bucket
+    private final Map<String, Long> lastRecordedBucket = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    @Autowired
+    public ReleaseHistory(SlotReleaseRepository repository, WatchScheduleProperties properties) {
+        this(repository, properties, Clock.systemUTC());
+    }
+
+    ReleaseHistory(SlotReleaseRepository repository, WatchScheduleProperties properties, Clock clock) {
+        this.repository = repository;
+        this.clock = clock;
+        this.bucketSize = properties.adaptive().bucketSize();
+        this.lookback = properties.adaptive().lookback();
+        this.histogram = new ReleaseHistogram(properties.adaptive().zone(), bucketSize);
+    }
+
+    ReleaseHistogram histogram() {
+        return histogram;
+    }
+
+    // Slot state is kept in memory, so the first check of an office after a restart reports every slot already open;
+    // those were released at some unknown earlier time and would pile up in whichever bucket the restart fell in
+    @EventListener
+    public void onAppointmentFound(AppointmentFound event) {
+        if (event.firstCheck()) {
+            return;
+        }
+
+        Instant now = clock.instant();
+        String location = ReleaseHistogram.key(event.location());
+        long bucket = now.getEpochSecond() / bucketSize.toSeconds();
+        Long previous = lastRecordedBucket.put(location, bucket);
+        if (previous != null && previous == bucket) {
+            return;
+        }
+
+        histogram.record(location, now);
+        try {
+            repository.save(new SlotRelease(location, now));
+        } catch (DataAccessException e) {
+            log.warn("Could not store slot release for {}: {}", location, e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelay = 1, initialDelay = 1, timeUnit = TimeUnit.DAYS)
+    @Transactional
+    public void prune() {
+        long pruned = repository.deleteByObservedAtBefore(clock.instant().minus(lookback));
+        if (pruned > 0) {
+            log.debug("Pruned {} slot releases older than {}", pruned, lookback);
+        }
+        rebuild();
+    }
+
+    private void rebuild() {
+        List<SlotRelease> releases = repository.findByObservedAtAfter(clock.instant().minus(lookback));
+        synchronized (histogram) {
+            histogram.clear();
+            releases.forEach(release -> histogram.record(release.getLocation(), release.getObservedAt()));
+        }
+        log.debug("Loaded {} slot releases into the release histogram", releases.size());
+    }
+}
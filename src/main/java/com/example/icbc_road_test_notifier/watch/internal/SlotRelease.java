@@ -0,0 +1,29 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// A time new slots were first seen at a location; the adaptive scheduler learns release windows from these
+@Entity
+@Table(name = "slot_release", indexes = @Index(columnList = "observedAt"))
+@Getter
+@NoArgsConstructor
+public class SlotRelease {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String location;
+
+    @Column(nullable = false)
+    private Instant observedAt;
+
+    public SlotRelease(String location, Instant observedAt) {
+        this.location = location;
+        this.observedAt = observedAt;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface SlotReleaseRepository extends JpaRepository<SlotRelease, Long> {
+    List<SlotRelease> findByObservedAtAfter(Instant cutoff);
+    long deleteByObservedAtBefore(Instant cutoff);
+}
@@ -0,0 +1,80 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import com.example.icbc_road_test_notifier.shared.DateRangePreference;
+import com.example.icbc_road_test_notifier.shared.DaysOfTheWeek;
+import com.example.icbc_road_test_notifier.shared.IcbcConfig;
+import com.example.icbc_road_test_notifier.shared.TimePreference;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Entity
+@Table(name = "watch_profile")
+@Getter
+@Setter
+@NoArgsConstructor
+public class WatchProfile {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String lastName;
+
+    @Column(nullable = false, unique = true, length = 7)
+    private String licenseNumber;
+
+    @Convert(converter = KeywordConverter.class)
+    @Column(nullable = false, length = 512)
+    private String keyword;
+
+    @Column(nullable = false)
+    private String preferredLocation;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "watch_profile_location", joinColumns = @JoinColumn(name = "profile_id"))
+    @OrderColumn(name = "position")
+    @Column(name = "location", nullable = false)
+    private List<String> additionalLocations = new ArrayList<>();
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "watch_profile_day", joinColumns = @JoinColumn(name = "profile_id"))
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false)
+    private Set<DaysOfTheWeek> preferredDays = EnumSet.noneOf(DaysOfTheWeek.class);
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TimePreference timePreference = TimePreference.ANY;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    @Column(nullable = false)
+    private LocalDate endDate;
+
+    private String notificationEmail;
+
+    private boolean enabled = true;
+
+    public IcbcConfig toConfig() {
+        return new IcbcConfig(
+                lastName,
+                licenseNumber,
+                keyword,
+                preferredLocation,
+                Set.copyOf(preferredDays),
+                timePreference,
+                new DateRangePreference(startDate, endDate),
+                notificationEmail,
+                List.copyOf(additionalLocations)
+        );
+    }
+}
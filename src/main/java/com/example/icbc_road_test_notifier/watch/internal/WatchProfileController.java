@@ -0,0 +1,82 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentCheckService;
+import com.example.icbc_road_test_notifier.appointment.CheckJobResponse;
+import com.example.icbc_road_test_notifier.shared.WatchProfileChanged;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/v1/profiles")
+public class WatchProfileController {
+    private final WatchProfileRepository repository;
+    private final AppointmentCheckService checkService;
+    private final ApplicationEventPublisher events;
+
+    @GetMapping
+    public List<WatchProfileResponse> listProfiles() {
+        return repository.findAll().stream()
+                .map(WatchProfileResponse::from)
+                .toList();
+    }
+
+    @GetMapping("/{id}")
+    public WatchProfileResponse getProfile(@PathVariable Long id) {
+        return WatchProfileResponse.from(findProfile(id));
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    @Transactional
+    public WatchProfileResponse createProfile(@Valid @RequestBody WatchProfileRequest request) {
+        if (repository.existsByLicenseNumber(request.licenseNumber())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A profile already watches this licence");
+        }
+
+        WatchProfile profile = new WatchProfile();
+        request.applyTo(profile);
+        return WatchProfileResponse.from(repository.save(profile));
+    }
+
+    @PutMapping("/{id}")
+    @Transactional
+    public WatchProfileResponse updateProfile(@PathVariable Long id, @Valid @RequestBody WatchProfileRequest request) {
+        WatchProfile profile = findProfile(id);
+        if (!profile.getLicenseNumber().equals(request.licenseNumber())
+                && repository.existsByLicenseNumber(request.licenseNumber())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A profile already watches this licence");
+        }
+
+        events.publishEvent(new WatchProfileChanged(profile.getLicenseNumber()));
+        request.applyTo(profile);
+        return WatchProfileResponse.from(repository.save(profile));
+    }
+
+    @PostMapping("/{id}/check")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public CheckJobResponse checkProfile(@PathVariable Long id) {
+        return CheckJobResponse.from(checkService.submit(findProfile(id).toConfig()));
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Transactional
+    public void deleteProfile(@PathVariable Long id) {
+        WatchProfile profile = findProfile(id);
+        repository.delete(profile);
+        events.publishEvent(new WatchProfileChanged(profile.getLicenseNumber()));
+    }
+
+    private WatchProfile findProfile(Long id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Profile " + id + " not found"));
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface WatchProfileRepository extends JpaRepository<WatchProfile, Long> {
+    List<WatchProfile> findByEnabledTrue();
+    boolean existsByLicenseNumber(String licenseNumber);
+}
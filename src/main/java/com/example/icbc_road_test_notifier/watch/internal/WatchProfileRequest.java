@@ -0,0 +1,71 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import com.example.icbc_road_test_notifier.shared.DaysOfTheWeek;
+import com.example.icbc_road_test_notifier.shared.TimePreference;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+public record WatchProfileRequest(
+        @NotBlank
+        String lastName,
+
+        @NotBlank
+        @Pattern(regexp = "^[0-9]{7}$", message = "License number must be 7 digits")
+        String licenseNumber,
+
+        @NotBlank
+        @Size(max = 64)
+        String keyword,
+
+        @NotBlank
+        String preferredLocation,
+
+        List<@NotBlank String> additionalLocations,
+
+        @NotEmpty
+        Set<DaysOfTheWeek> preferredDays,
+
+        @NotNull
+        TimePreference timePreference,
+
+        @NotNull
+        LocalDate startDate,
+
+        @NotNull
+        LocalDate endDate,
+
+        @Email
+        String notificationEmail,
+
+        Boolean enabled
+) {
+    @AssertTrue(message = "Start date must not be after end date")
+    boolean isDateRangeValid() {
+        return startDate == null || endDate == null || !startDate.isAfter(endDate);
+    }
+
+    void applyTo(WatchProfile profile) {
+        profile.setLastName(lastName);
+        profile.setLicenseNumber(licenseNumber);
+        profile.setKeyword(keyword);
+        profile.setPreferredLocation(preferredLocation);
+        profile.setAdditionalLocations(additionalLocations != null ? new ArrayList<>(additionalLocations) : new ArrayList<>());
+        profile.setPreferredDays(EnumSet.copyOf(preferredDays));
+        profile.setTimePreference(timePreference);
+        profile.setStartDate(startDate);
+        profile.setEndDate(endDate);
+        profile.setNotificationEmail(notificationEmail);
+        profile.setEnabled(enabled == null || enabled);
+    }
+}
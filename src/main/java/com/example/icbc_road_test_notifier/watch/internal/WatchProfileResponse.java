@@ -0,0 +1,39 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import com.example.icbc_road_test_notifier.shared.DaysOfTheWeek;
+import com.example.icbc_road_test_notifier.shared.TimePreference;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+// Keyword is write-only and never echoed back
+public record WatchProfileResponse(
+        Long id,
+        String lastName,
+        String licenseNumber,
+        String preferredLocation,
+        List<String> additionalLocations,
+        Set<DaysOfTheWeek> preferredDays,
+        TimePreference timePreference,
+        LocalDate startDate,
+        LocalDate endDate,
+        String notificationEmail,
+        boolean enabled
+) {
+    static WatchProfileResponse from(WatchProfile profile) {
+        return new WatchProfileResponse(
+                profile.getId(),
+                profile.getLastName(),
+                profile.getLicenseNumber(),
+                profile.getPreferredLocation(),
+                List.copyOf(profile.getAdditionalLocations()),
+                Set.copyOf(profile.getPreferredDays()),
+                profile.getTimePreference(),
+                profile.getStartDate(),
+                profile.getEndDate(),
+                profile.getNotificationEmail(),
+                profile.isEnabled()
+        );
+    }
+}
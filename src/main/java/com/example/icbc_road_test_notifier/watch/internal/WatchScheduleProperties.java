@@ -0,0 +1,66 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+@ConfigurationProperties(prefix = "icbc.watch")
+public record WatchScheduleProperties(
+        // Interval used until enough releases have been seen to plan around them
+        @DefaultValue("PT15M")
+        Duration checkInterval,
+
+        @DefaultValue("4")
+        int maxConcurrentChecks,
+
+        // Also check the licence configured through icbc.* / ICBC_* alongside the watch profiles
+        @DefaultValue("false")
+        boolean includeDefaultProfile,
+
+        @DefaultValue
+        Adaptive adaptive
+) {
+
+    public record Adaptive(
+            // Releases are bucketed by day of week and time of day in the portal's local time
+            @DefaultValue("America/Vancouver")
+            ZoneId zone,
+
+            // Must divide a day evenly
+            @DefaultValue("PT30M")
+            Duration bucketSize,
+
+            // Interval during the busiest release window
+            @DefaultValue("PT5M")
+            Duration minInterval,
+
+            // Interval when nothing has ever been released at that time of the week
+            @DefaultValue("PT1H")
+            Duration maxInterval,
+
+            @DefaultValue("P28D")
+            Duration lookback,
+
+            // Below this many sightings for a location, the all-locations histogram is used, then checkInterval
+            @DefaultValue("5")
+            int minObservations,
+
+            // Each interval is randomly stretched or shrunk by up to this fraction
+            @DefaultValue("0.2")
+            double jitter,
+
+            // First retry delay after a failed check, doubled per consecutive failure up to maxBackoff
+            @DefaultValue("PT5M")
+            Duration failureBackoff,
+
+            @DefaultValue("PT2H")
+            Duration maxBackoff,
+
+            // Checks allowed across all profiles in any rolling 24 hours; 0 means unlimited
+            @DefaultValue("300")
+            int dailyBudget
+    ) {
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentCheckService;
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.example.icbc_road_test_notifier.shared.IcbcConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.random.RandomGenerator;
+
+import static com.example.icbc_road_test_notifier.shared.ProfileKeys.mask;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "icbc.watch.scheduler", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WatchScheduler {
+    private final WatchProfileRepository repository;
+    private final AppointmentCheckService checkService;
+    private final IcbcConfig defaultProfile;
+    private final CheckPlanner planner;
+    private final CheckBudget budget;
+    // Each check holds one browser context, so concurrency is capped by what the browser pool can lend out
+    private final Semaphore checkPermits;
+    private final Clock clock;
+    private final RandomGenerator random;
+    private final Map<String, ProfileSchedule> schedules = new ConcurrentHashMap<>();
+    private volatile boolean budgetExhausted;
+
+    @Autowired
+    public WatchScheduler(
+            WatchProfileRepository repository,
+            AppointmentCheckService checkService,
+            IcbcConfig icbcConfig,
+            ReleaseHistory releaseHistory,
+            WatchScheduleProperties properties
+    ) {
+        this(repository, checkService, properties.includeDefaultProfile() ? icbcConfig : null,
+                new CheckPlanner(properties, releaseHistory.histogram()),
+                new CheckBudget(properties.adaptive().dailyBudget()),
+                properties.maxConcurrentChecks(), Clock.systemUTC(), RandomGenerator.getDefault());
+    }
+
+    WatchScheduler(WatchProfileRepository repository, AppointmentCheckService checkService, IcbcConfig defaultProfile,
+                   CheckPlanner planner, CheckBudget budget, int maxConcurrentChecks, Clock clock, RandomGenerator random) {
+        this.repository = repository;
+        this.checkService = checkService;
+        this.defaultProfile = defaultProfile;
+        this.planner = planner;
+        this.budget = budget;
+        this.checkPermits = new Semaphore(Math.max(1, maxConcurrentChecks));
+        this.clock = clock;
+        this.random = random;
+    }
+
+    // Each profile runs on its own timetable; a tick only starts the checks that have come due
+    @Scheduled(fixedDelayString = "${icbc.watch.tick:PT30S}",
+            initialDelayString = "${icbc.watch.initial-delay:PT1M}")
+    public void checkDueProfiles() {
+        Map<String, IcbcConfig> profiles = activeProfiles();
+        schedules.keySet().retainAll(profiles.keySet());
+        if (profiles.isEmpty()) {
+            return;
+        }
+
+        Instant now = clock.instant();
+        int started = 0;
+        for (IcbcConfig profile : profiles.values()) {
+            ProfileSchedule schedule = schedules.computeIfAbsent(profile.licenseNumber(), key -> new ProfileSchedule(now));
+            if (schedule.inFlight || schedule.nextCheckAt.isAfter(now)) {
+                continue;
+            }
+            // Due profiles that don't get a permit or budget stay due and are picked up on a later tick
+            if (!checkPermits.tryAcquire()) {
+                break;
+            }
+            if (!budget.tryAcquire(now)) {
+                checkPermits.release();
+                if (!budgetExhausted) {
+                    log.warn("Daily check budget exhausted; due checks are deferred until it frees up");
+                    budgetExhausted = true;
+                }
+                break;
+            }
+            budgetExhausted = false;
+            schedule.inFlight = true;
+            start(profile, schedule);
+            started++;
+        }
+
+        if (started > 0) {
+            log.info("Started {} of {} watch profile checks", started, profiles.size());
+        }
+    }
+
+    private void start(IcbcConfig profile, ProfileSchedule schedule) {
+        CompletableFuture<AppointmentResults> completion;
+        try {
+            // Joins a manually triggered check for the same profile instead of starting a second browser
+            completion = checkService.submit(profile).getCompletion();
+        } catch (RuntimeException e) {
+            completion = CompletableFuture.failedFuture(e);
+        }
+
+        completion.whenComplete((results, failure) -> {
+            try {
+                finish(profile, schedule, results, failure);
+            } finally {
+                checkPermits.release();
+            }
+        });
+    }
+
+    private void finish(IcbcConfig profile, ProfileSchedule schedule, AppointmentResults results, Throwable failure) {
+        if (failure == null) {
+            schedule.consecutiveFailures = 0;
+            log.debug("Profile {}: {}", mask(profile.licenseNumber()), results.getSummary());
+        } else {
+            schedule.consecutiveFailures++;
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            log.warn("Check failed for profile {} ({} in a row): {}", mask(profile.licenseNumber()),
+                    schedule.consecutiveFailures, cause.getMessage());
+        }
+
+        schedule.nextCheckAt = nextCheck(profile, schedule.consecutiveFailures);
+        schedule.inFlight = false;
+        log.debug("Next check for profile {} at {}", mask(profile.licenseNumber()), schedule.nextCheckAt);
+    }
+
+    // A profile watching several offices is due as soon as the busiest of them would be
+    private Instant nextCheck(IcbcConfig profile, int consecutiveFailures) {
+        Instant now = clock.instant();
+        double jitterSample = random.nextDouble(-1, 1);
+        List<String> locations = profile.searchLocations();
+        if (locations.isEmpty()) {
+            return planner.nextCheck(profile.preferredLocation(), now, consecutiveFailures, jitterSample);
+        }
+
+        Instant next = null;
+        for (String location : locations) {
+            Instant candidate = planner.nextCheck(location, now, consecutiveFailures, jitterSample);
+            if (next == null || candidate.isBefore(next)) {
+                next = candidate;
+            }
+        }
+        return next;
+    }
+
+    private Map<String, IcbcConfig> activeProfiles() {
+        Map<String, IcbcConfig> profiles = new LinkedHashMap<>();
+        if (defaultProfile != null) {
+            profiles.put(defaultProfile.licenseNumber(), defaultProfile);
+        }
+        for (WatchProfile profile : repository.findByEnabledTrue()) {
+            profiles.putIfAbsent(profile.getLicenseNumber(), profile.toConfig());
+        }
+        return profiles;
+    }
+
+    private static final class ProfileSchedule {
+        private volatile Instant nextCheckAt;
+        private volatile int consecutiveFailures;
+        private volatile boolean inFlight;
+
+        private ProfileSchedule(Instant nextCheckAt) {
+            this.nextCheckAt = nextCheckAt;
+        }
+    }
+}
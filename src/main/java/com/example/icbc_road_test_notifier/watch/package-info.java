@@ -0,0 +1 @@
+package com.example.icbc_road_test_notifier.watch;
\ No newline at end of file
@@ -0,0 +1,74 @@
+-- The whole schema lives here; Hibernate only validates it (ddl-auto=validate). Under ddl-auto=update it would
+-- "fix" the widths below back to its 255-character default on every start.
+
+-- Spring Modulith's JPA publication registry, indexed for the registry's lookups.
+CREATE TABLE IF NOT EXISTS event_publication (
+    id               UUID NOT NULL PRIMARY KEY,
+    listener_id      VARCHAR(512),
+    event_type       VARCHAR(255),
+    serialized_event VARCHAR(1000000),
+    publication_date TIMESTAMP(6) WITH TIME ZONE,
+    completion_date  TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- Incomplete publications in publication order: startup resubmission and outstanding-event queries
+CREATE INDEX IF NOT EXISTS event_publication_incomplete_idx ON event_publication (completion_date, publication_date);
+
+-- Marking a publication completed looks it up by listener and event
+CREATE INDEX IF NOT EXISTS event_publication_listener_idx ON event_publication (listener_id, completion_date);
+
+-- Files written by earlier versions may have had Hibernate narrow the registry columns; widening is a no-op otherwise
+ALTER TABLE event_publication ALTER COLUMN listener_id SET DATA TYPE VARCHAR(512);
+ALTER TABLE event_publication ALTER COLUMN serialized_event SET DATA TYPE VARCHAR(1000000);
+
+-- Watch profiles and the offices each one searches besides the preferred one
+CREATE TABLE IF NOT EXISTS watch_profile (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    last_name          VARCHAR(255) NOT NULL,
+    license_number     VARCHAR(7) NOT NULL,
+    keyword            VARCHAR(512) NOT NULL,
+    preferred_location VARCHAR(255) NOT NULL,
+    time_preference    ENUM ('AFTERNOON', 'ANY', 'EVENING', 'MORNING') NOT NULL,
+    start_date         DATE NOT NULL,
+    end_date           DATE NOT NULL,
+    notification_email VARCHAR(255),
+    enabled            BOOLEAN NOT NULL,
+    CONSTRAINT watch_profile_license_number_uk UNIQUE (license_number)
+);
+
+CREATE TABLE IF NOT EXISTS watch_profile_location (
+    profile_id BIGINT NOT NULL REFERENCES watch_profile,
+    position   INTEGER NOT NULL,
+    location   VARCHAR(255) NOT NULL,
+    PRIMARY KEY (profile_id, position)
+);
+
+CREATE TABLE IF NOT EXISTS watch_profile_day (
+    profile_id  BIGINT NOT NULL REFERENCES watch_profile,
+    day_of_week ENUM ('FRIDAY', 'MONDAY', 'SATURDAY', 'SUNDAY', 'THURSDAY', 'TUESDAY', 'WEDNESDAY') NOT NULL,
+    PRIMARY KEY (profile_id, day_of_week)
+);
+
+-- When new slots were first seen per office; the scheduler's release histogram is rebuilt from a window of these
+CREATE TABLE IF NOT EXISTS slot_release (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    location    VARCHAR(255) NOT NULL,
+    observed_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS slot_release_observed_at_idx ON slot_release (observed_at);
+
+-- Offices and areas offered by the portal, with the aliases location lookups accept
+CREATE TABLE IF NOT EXISTS catalog_location (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    display_name VARCHAR(255) NOT NULL,
+    kind         ENUM ('AREA', 'OFFICE') NOT NULL,
+    seeded       BOOLEAN NOT NULL,
+    last_seen_at TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT catalog_location_kind_display_name_uk UNIQUE (kind, display_name)
+);
+
+CREATE TABLE IF NOT EXISTS catalog_location_alias (
+    location_id BIGINT NOT NULL REFERENCES catalog_location,
+    alias       VARCHAR(255) NOT NULL
+);
@@ -0,0 +1,118 @@
+// filter: {firstEpochDay, lastEpochDay, startMinute, endMinute} with null for an open bound, or null for no filtering.
+// Only dates and times that parse and fall outside the filter are dropped; anything unrecognised is returned for
+// the Java side, which applies the same filter again and has the final say
+filter => {
+    const LOCATION_SELECTOR = '.department-title';
+    const DATE_SELECTOR = '.date-title, .appointment-date';
+    const TIME_SELECTOR = '.mat-button-toggle-button .mat-button-toggle-label-content, .time-slot, .appointment-time';
+    const FALLBACK_DATE_SELECTOR = "[class*='date'], h3, h4, h5";
+    const FALLBACK_DATE_PATTERN = /\d{1,2}\/\d{1,2}|\w+ \d{1,2}/;
+    const FALLBACK_TIME_SELECTOR = "button, [class*='time']";
+    const FALLBACK_TIME_PATTERN = /\d{1,2}:\d{2}|\d{1,2} ?[ap]m/i;
+    const NO_RESULTS_SELECTOR = ".no-results, .empty-results, [class*='no-appointment']";
+    const NO_RESULTS_PHRASES = ['No appointments', 'not available', 'No results'];
+
+    const MONTHS = ['january', 'february', 'march', 'april', 'may', 'june',
+        'july', 'august', 'september', 'october', 'november', 'december'];
+    const DATE_PATTERN = /^\s*(?:\w+,\s*)?(\w+)\s+(\d{1,2})(?:st|nd|rd|th)?,\s*(\d{4})\s*$/i;
+    const TIME_PATTERN = /^\s*(\d{1,2}):(\d{2}) ([ap])m\s*$/i;
+
+    const text = el => (el.textContent || '').trim();
+
+    // Same grammar as SlotText.parseEpochDay: "[Weekday, ]Month d[st|nd|rd|th], yyyy"
+    const epochDay = value => {
+        const match = DATE_PATTERN.exec(value);
+        if (!match) return null;
+        const month = MONTHS.indexOf(match[1].toLowerCase());
+        const day = Number(match[2]);
+        const year = Number(match[3]);
+        const utc = Date.UTC(year, month, day);
+        if (month < 0 || day < 1 || new Date(utc).getUTCDate() !== day) return null;
+        return utc / 86400000;
+    };
+
+    // Same grammar as SlotText.parseMinuteOfDay: "h:mm AM"
+    const minuteOfDay = value => {
+        const match = TIME_PATTERN.exec(value);
+        if (!match) return null;
+        const hour = Number(match[1]);
+        const minute = Number(match[2]);
+        if (hour < 1 || hour > 12 || minute > 59) return null;
+        return (hour % 12 + (match[3].toLowerCase() === 'p' ? 12 : 0)) * 60 + minute;
+    };
+
+    const keepDate = value => {
+        if (!filter) return true;
+        const day = epochDay(value);
+        return day === null
+            || ((filter.firstEpochDay === null || day >= filter.firstEpochDay)
+                && (filter.lastEpochDay === null || day <= filter.lastEpochDay));
+    };
+
+    const keepTime = value => {
+        if (!filter) return true;
+        const minute = minuteOfDay(value);
+        return minute === null || (minute >= filter.startMinute && minute < filter.endMinute);
+    };
+
+    const locations = [];
+    let location = null;
+    let date = null;
+
+    const openLocation = name => {
+        location = { name, dates: [], lastDate: null };
+        locations.push(location);
+        date = null;
+    };
+
+    const hasPrimaryDates = document.querySelector(DATE_SELECTOR) !== null;
+    const dateSelector = hasPrimaryDates ? DATE_SELECTOR : FALLBACK_DATE_SELECTOR;
+    const hasPrimaryTimes = document.querySelector(TIME_SELECTOR) !== null;
+    const timeSelector = hasPrimaryTimes ? TIME_SELECTOR : FALLBACK_TIME_SELECTOR;
+
+    for (const el of document.querySelectorAll([LOCATION_SELECTOR, dateSelector, timeSelector].join(', '))) {
+        if (el.matches(LOCATION_SELECTOR)) {
+            openLocation(text(el));
+        } else if (el.matches(timeSelector)) {
+            const value = text(el);
+            if (!hasPrimaryTimes && !FALLBACK_TIME_PATTERN.test(value)) {
+                continue;
+            }
+            if (date && keepTime(value)) {
+                date.slots.push(value);
+            }
+        } else if (el.matches(dateSelector)) {
+            const value = text(el);
+            if (!hasPrimaryDates && !FALLBACK_DATE_PATTERN.test(value)) {
+                continue;
+            }
+            if (!location) {
+                openLocation(null);
+            }
+            // Recorded before filtering so the caller can tell how far the listing has been expanded
+            if (epochDay(value) !== null) {
+                location.lastDate = value;
+            }
+            if (keepDate(value)) {
+                date = { date: value, slots: [] };
+                location.dates.push(date);
+            } else {
+                date = null;
+            }
+        }
+    }
+
+    const noResultsMessages = Array.from(document.querySelectorAll(NO_RESULTS_SELECTOR)).map(text).filter(Boolean);
+    const bodyText = document.body ? document.body.innerText : '';
+    for (const phrase of NO_RESULTS_PHRASES) {
+        if (bodyText.includes(phrase) && !noResultsMessages.some(m => m.includes(phrase))) {
+            noResultsMessages.push(phrase);
+        }
+    }
+
+    return {
+        locations: locations.filter(l => l.dates.length > 0 || l.lastDate !== null),
+        noResultsMessages,
+        viewMoreButtons: document.querySelectorAll('.view-more-btn').length
+    };
+}
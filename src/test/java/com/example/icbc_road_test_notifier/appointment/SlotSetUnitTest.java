@@ -0,0 +1,168 @@
+package com.example.icbc_road_test_notifier.appointment;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotSetUnitTest {
+    private static final LocalDate JAN_6 = LocalDate.of(2026, 1, 6);
+    private static final LocalDate JAN_7 = LocalDate.of(2026, 1, 7);
+    private static final LocalDate JAN_9 = LocalDate.of(2026, 1, 9);
+
+    @Test
+    void shouldRoundTripPackedFields() {
+        long slot = SlotSet.pack(JAN_9, LocalTime.of(13, 35), 42);
+
+        assertEquals(JAN_9, SlotSet.dateOf(slot));
+        assertEquals(LocalTime.of(13, 35), SlotSet.timeOf(slot));
+        assertEquals(42, SlotSet.locationOf(slot));
+    }
+
+    @Test
+    void shouldSortAndDeduplicate() {
+        SlotSet slots = SlotSet.builder()
+                .add(JAN_7, LocalTime.of(9, 0), 0)
+                .add(JAN_6, LocalTime.of(14, 0), 0)
+                .add(JAN_6, LocalTime.of(9, 35), 0)
+                .add(JAN_7, LocalTime.of(9, 0), 0)
+                .build();
+
+        assertEquals(3, slots.size());
+        assertEquals(2, slots.dateCount());
+        assertEquals(LocalTime.of(9, 35), SlotSet.timeOf(slots.get(0)));
+        assertEquals(JAN_7, SlotSet.dateOf(slots.get(2)));
+    }
+
+    @Test
+    void shouldAnswerRangeQueriesWithViews() {
+        SlotSet slots = SlotSet.builder()
+                .add(JAN_6, LocalTime.of(9, 35), 0)
+                .add(JAN_7, LocalTime.of(10, 0), 0)
+                .add(JAN_7, LocalTime.of(15, 0), 0)
+                .add(JAN_9, LocalTime.of(8, 0), 0)
+                .build();
+
+        SlotSet jan7 = slots.between(JAN_7, JAN_7);
+        assertEquals(2, jan7.size());
+        assertTrue(jan7.contains(SlotSet.pack(JAN_7, LocalTime.of(15, 0), 0)));
+        assertFalse(jan7.contains(SlotSet.pack(JAN_6, LocalTime.of(9, 35), 0)));
+        assertEquals(3, slots.between(JAN_7, null).size());
+        assertEquals(1, jan7.withinHours(12, 17).size());
+        assertTrue(slots.between(LocalDate.of(2026, 2, 1), null).isEmpty());
+    }
+
+    @Test
+    void shouldParseResultsOnceAndRenderBack() {
+        AppointmentResults results = new AppointmentResults(
+                List.of("Tuesday, January 6th, 2026"),
+                List.of("9:35 AM", "1:15 PM"),
+                Map.of("Tuesday, January 6th, 2026", List.of("9:35 AM", "1:15 PM")));
+
+        assertTrue(results.isFullyParsed());
+        assertEquals(2, results.getSlots().size());
+        assertEquals(results.getDateToSlotsMap(), AppointmentResults.fromSlots(results.getSlots()).getDateToSlotsMap());
+        assertThrows(UnsupportedOperationException.class, () -> results.getDates().add("Friday"));
+    }
+
+    @Test
+    void shouldMergeEarliestSlotsAcrossLocations() {
+        SlotSet pointGrey = SlotSet.builder()
+                .add(JAN_6, LocalTime.of(13, 15), 0)
+                .add(JAN_9, LocalTime.of(8, 0), 0)
+                .build();
+        SlotSet kingsway = SlotSet.builder()
+                .add(JAN_6, LocalTime.of(9, 35), 0)
+                .add(JAN_7, LocalTime.of(10, 0), 0)
+                .add(JAN_7, LocalTime.of(15, 0), 0)
+                .build();
+
+        SlotSet earliest = SlotSet.earliest(List.of(pointGrey.withLocation(1), kingsway.withLocation(2)), 3);
+
+        assertEquals(3, earliest.size());
+        assertEquals(SlotSet.pack(JAN_6, LocalTime.of(9, 35), 2), earliest.get(0));
+        assertEquals(SlotSet.pack(JAN_6, LocalTime.of(13, 15), 1), earliest.get(1));
+        assertEquals(SlotSet.pack(JAN_7, LocalTime.of(10, 0), 2), earliest.get(2));
+        assertTrue(SlotSet.earliest(List.of(SlotSet.empty()), 5).isEmpty());
+    }
+
+    @Test
+    void shouldNameTheOfficeOfEachMergedSlot() {
+        AppointmentResults pointGrey = AppointmentResults.fromSlots(SlotSet.of(SlotSet.pack(JAN_7, LocalTime.of(9, 0), 0)));
+        AppointmentResults kingsway = AppointmentResults.fromSlots(SlotSet.of(
+                SlotSet.pack(JAN_6, LocalTime.of(14, 0), 0),
+                SlotSet.pack(JAN_9, LocalTime.of(8, 0), 0)));
+        Map<String, AppointmentResults> byLocation = new LinkedHashMap<>();
+        byLocation.put("Vancouver (Point Grey)", pointGrey);
+        byLocation.put("Vancouver (Kingsway)", kingsway);
+
+        AppointmentResults merged = AppointmentResults.earliestAcross(byLocation, 2);
+
+        assertEquals(List.of("Vancouver (Point Grey)", "Vancouver (Kingsway)"), merged.getLocations());
+        assertEquals(Optional.of("Vancouver (Kingsway)"), merged.locationOf(merged.getSlots().get(0)));
+        assertEquals(List.of(
+                "Tuesday, January 6th, 2026 2:00 PM at Vancouver (Kingsway)",
+                "Wednesday, January 7th, 2026 9:00 AM at Vancouver (Point Grey)"), merged.getSlotsWithLocation());
+        assertTrue(pointGrey.getSlotsWithLocation().isEmpty());
+    }
+    @Test
+    void shouldListTheSameTimeAtEachOfficeInItsOwnText() {
+        Map<String, AppointmentResults> byLocation = new LinkedHashMap<>();
+        byLocation.put("Vancouver (Point Grey)", new AppointmentResults(List.of("Wednesday, January 7th, 2026"),
+                List.of("09:00 am"), Map.of("Wednesday, January 7th, 2026", List.of("09:00 am"))));
+        byLocation.put("Vancouver (Kingsway)", new AppointmentResults(List.of("Wednesday, January 7th, 2026"),
+                List.of("9:00 AM", "9:00 AM"), Map.of("Wednesday, January 7th, 2026", List.of("9:00 AM", "9:00 AM"))));
+
+        AppointmentResults merged = AppointmentResults.earliestAcross(byLocation, 5);
+
+        assertEquals(2, merged.getSlots().size());
+        assertEquals(merged.getSlots().size(), merged.getTotalSlots());
+        assertEquals(Map.of("Wednesday, January 7th, 2026", List.of("09:00 am", "9:00 AM")), merged.getDateToSlotsMap());
+        assertEquals(List.of(
+                "Wednesday, January 7th, 2026 09:00 am at Vancouver (Point Grey)",
+                "Wednesday, January 7th, 2026 9:00 AM at Vancouver (Kingsway)"), merged.getSlotsWithLocation());
+    }
+
+    @Test
+    void shouldKeepEachOfficeOfAPageListingSeveralWhenMerging() {
+        Map<String, Map<String, List<String>>> listedTogether = new LinkedHashMap<>();
+        listedTogether.put("Surrey", Map.of("Tuesday, January 6th, 2026", List.of("2:00 PM")));
+        listedTogether.put("Newton", Map.of("Wednesday, January 7th, 2026", List.of("8:30 AM")));
+        Map<String, AppointmentResults> byLocation = new LinkedHashMap<>();
+        byLocation.put("Surrey, BC", AppointmentResults.byLocation(listedTogether));
+        byLocation.put("Burnaby, BC", new AppointmentResults(List.of("Tuesday, January 6th, 2026"),
+                List.of("10:00 AM"), Map.of("Tuesday, January 6th, 2026", List.of("10:00 AM"))));
+
+        AppointmentResults merged = AppointmentResults.earliestAcross(byLocation, 5);
+
+        assertEquals(List.of("Surrey", "Newton", "Burnaby, BC"), merged.getLocations());
+        assertEquals(List.of(
+                "Tuesday, January 6th, 2026 10:00 AM at Burnaby, BC",
+                "Tuesday, January 6th, 2026 2:00 PM at Surrey",
+                "Wednesday, January 7th, 2026 8:30 AM at Newton"), merged.getSlotsWithLocation());
+        assertEquals(3, merged.getTotalSlots());
+    }
+
+    @Test
+    void shouldMatchEachOfficesEntryToItsOwnSlot() {
+        Map<String, Map<String, List<String>>> listedTogether = new LinkedHashMap<>();
+        listedTogether.put("Vancouver (Point Grey)", Map.of("Wednesday, January 7th, 2026", List.of("9:00 AM")));
+        listedTogether.put("Vancouver (Kingsway)", Map.of("Wednesday, January 7th, 2026", List.of("9:00 am", "Soon")));
+        AppointmentResults results = AppointmentResults.byLocation(listedTogether);
+
+        AppointmentResults kingsway = results.select(SlotSet.of(SlotSet.pack(JAN_7, LocalTime.of(9, 0), 2)));
+
+        assertEquals(2, results.getSlots().at(JAN_7.toEpochDay(), 9 * 60).size());
+        assertEquals(Map.of("Wednesday, January 7th, 2026", List.of("9:00 am")), kingsway.getDateToSlotsMap());
+        assertEquals(List.of(
+                "Wednesday, January 7th, 2026 9:00 AM at Vancouver (Point Grey)",
+                "Wednesday, January 7th, 2026 9:00 am at Vancouver (Kingsway)",
+                "Wednesday, January 7th, 2026 Soon"), results.getSlotsWithLocation());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.icbc_road_test_notifier.appointment;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotTextUnitTest {
+
+    @Test
+    void shouldParsePortalDates() {
+        assertEquals(LocalDate.of(2026, 1, 6), SlotText.parseDate("Tuesday, January 6th, 2026"));
+        assertEquals(LocalDate.of(2026, 3, 1), SlotText.parseDate("  Sunday, March 1st, 2026 "));
+        assertEquals(LocalDate.of(2028, 2, 29), SlotText.parseDate("February 29, 2028"));
+        assertEquals(LocalDate.of(1969, 12, 31).toEpochDay(), SlotText.parseEpochDay("December 31st, 1969"));
+    }
+
+    @Test
+    void shouldRejectMalformedDates() {
+        assertNull(SlotText.parseDate("Jan 6"));
+        assertNull(SlotText.parseDate("Tuesday, Janury 6th, 2026"));
+        assertNull(SlotText.parseDate("February 30th, 2026"));
+        assertNull(SlotText.parseDate("January 6th, 2026 extra"));
+        assertNull(SlotText.parseDate(null));
+        assertEquals(SlotText.NO_DATE, SlotText.parseEpochDay(""));
+    }
+
+    @Test
+    void shouldParsePortalTimes() {
+        assertEquals(LocalTime.of(9, 35), SlotText.parseTime("9:35 AM"));
+        assertEquals(LocalTime.of(12, 0), SlotText.parseTime("12:00 PM"));
+        assertEquals(LocalTime.of(0, 15), SlotText.parseTime("12:15 AM"));
+        assertEquals(13 * 60 + 15, SlotText.parseMinuteOfDay(" 1:15 PM "));
+    }
+
+    @Test
+    void shouldRejectMalformedTimes() {
+        assertNull(SlotText.parseTime("13:00 PM"));
+        assertNull(SlotText.parseTime("9:5 AM"));
+        assertNull(SlotText.parseTime("9:35"));
+        assertNull(SlotText.parseTime("9:35 XM"));
+        assertEquals(SlotText.NO_TIME, SlotText.parseMinuteOfDay(null));
+    }
+
+    @Test
+    void shouldClassifyDomLabelsLikeThePreviousPatterns() {
+        assertTrue(SlotText.looksLikeDate("Tuesday, January 6th, 2026"));
+        assertTrue(SlotText.looksLikeDate("1/6"));
+        assertTrue(SlotText.looksLikeDate("01-06"));
+        assertTrue(SlotText.looksLikeDate("6 Jan"));
+        assertFalse(SlotText.looksLikeDate("No appointments available"));
+        assertFalse(SlotText.looksLikeDate("Select a date 6"));
+        assertFalse(SlotText.looksLikeDate("View more"));
+
+        assertTrue(SlotText.looksLikeTime("9:35 AM"));
+        assertTrue(SlotText.looksLikeTime("10:05"));
+        assertTrue(SlotText.looksLikeTime("3 pm"));
+        assertTrue(SlotText.looksLikeTime("9am"));
+        assertFalse(SlotText.looksLikeTime("Not available"));
+        assertFalse(SlotText.looksLikeTime("Tuesday"));
+        assertFalse(SlotText.looksLikeTime("  "));
+    }
+
+    @Test
+    void shouldRoundTripFormattedText() {
+        LocalDate date = LocalDate.of(2026, 3, 22);
+        LocalTime time = LocalTime.of(15, 40);
+
+        assertEquals(date, SlotText.parseDate(SlotText.formatDate(date)));
+        assertEquals(time, SlotText.parseTime(SlotText.formatTime(time)));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.example.icbc_road_test_notifier.appointment.AppointmentService;
+import com.example.icbc_road_test_notifier.appointment.CheckJob;
+import com.example.icbc_road_test_notifier.appointment.CheckStatus;
+import com.example.icbc_road_test_notifier.shared.DaysOfTheWeek;
+import com.example.icbc_road_test_notifier.shared.IcbcConfig;
+import com.example.icbc_road_test_notifier.shared.TimePreference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentCheckServiceImplUnitTest {
+
+    @Mock
+    private AppointmentService appointmentService;
+
+    private AppointmentCheckServiceImpl checkService;
+
+    @BeforeEach
+    void setUp() {
+        checkService = new AppointmentCheckServiceImpl(appointmentService, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        checkService.shutdown();
+    }
+
+    @Test
+    void shouldCoalesceTriggersForSameProfileWhileRunning() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(appointmentService.authenticateAndSearchAppointments(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return AppointmentResults.empty();
+        });
+
+        CheckJob first = checkService.submit(config("1234567"));
+        CheckJob second = checkService.submit(config("1234567"));
+        release.countDown();
+        first.getCompletion().get(5, TimeUnit.SECONDS);
+
+        assertSame(first, second);
+        assertEquals(CheckStatus.SUCCEEDED, first.getStatus());
+        verify(appointmentService, times(1)).authenticateAndSearchAppointments(any());
+    }
+
+    @Test
+    void shouldStartNewJobOnceThePreviousOneFinished() throws Exception {
+        when(appointmentService.authenticateAndSearchAppointments(any())).thenReturn(AppointmentResults.empty());
+
+        CheckJob first = checkService.submit(config("1234567"));
+        first.getCompletion().get(5, TimeUnit.SECONDS);
+        CheckJob second = checkService.submit(config("1234567"));
+        second.getCompletion().get(5, TimeUnit.SECONDS);
+
+        assertNotSame(first, second);
+        assertTrue(checkService.findJob(first.getId()).isPresent());
+        verify(appointmentService, times(2)).authenticateAndSearchAppointments(any());
+    }
+
+    @Test
+    void shouldRecordFailure() {
+        when(appointmentService.authenticateAndSearchAppointments(any()))
+                .thenThrow(new RuntimeException("Appointment search failed"));
+
+        CheckJob job = checkService.submit(config("7654321"));
+
+        assertThrows(Exception.class, () -> job.getCompletion().get(5, TimeUnit.SECONDS));
+        assertEquals(CheckStatus.FAILED, job.getStatus());
+        assertEquals("Appointment search failed", job.getError());
+    }
+
+    private IcbcConfig config(String licenseNumber) {
+        return new IcbcConfig("Smith", licenseNumber, "keyword", "Surrey, BC",
+                Set.of(DaysOfTheWeek.MONDAY), TimePreference.ANY, null);
+    }
+}
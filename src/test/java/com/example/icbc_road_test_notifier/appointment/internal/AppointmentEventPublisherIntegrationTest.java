@@ -0,0 +1,104 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentFound;
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.example.icbc_road_test_notifier.shared.DaysOfTheWeek;
+import com.example.icbc_road_test_notifier.shared.IcbcConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "icbc.notification.email.enabled=false",
+        "icbc.watch.scheduler.enabled=false"
+})
+class AppointmentEventPublisherIntegrationTest {
+
+    @Autowired
+    private AppointmentEventPublisher publisher;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BlockingQueue<AppointmentFound> received;
+
+    @Test
+    void shouldDeliverToModuleListenersAndCompleteThePublications() throws InterruptedException {
+        AppointmentResults appeared = new AppointmentResults(List.of("Monday, January 5, 2026"), List.of("9:35 AM"),
+                Map.of("Monday, January 5, 2026", List.of("9:35 AM")));
+        IcbcConfig config = new IcbcConfig("Doe", "1234567", "keyword", "Surrey, BC",
+                Set.of(DaysOfTheWeek.MONDAY), null, null, "learner@example.com");
+
+        publisher.publishChanges(new SlotDiff(appeared, AppointmentResults.empty()), "Surrey, BC", config);
+
+        AppointmentFound event = received.poll(10, TimeUnit.SECONDS);
+        assertNotNull(event, "module listener was not invoked");
+        assertEquals("Surrey, BC", event.location());
+        assertEquals("learner@example.com", event.recipient());
+
+        // The notifier's listener and the one above each get a publication, both marked completed once they return
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            List<Map<String, Object>> publications = jdbcTemplate.queryForList(
+                    "SELECT listener_id, completion_date FROM event_publication WHERE event_type = ?",
+                    AppointmentFound.class.getName());
+            assertTrue(publications.stream().anyMatch(row -> row.get("LISTENER_ID").toString().contains("appointmentListener")));
+            assertEquals(2, publications.size());
+            assertTrue(publications.stream().allMatch(row -> row.get("COMPLETION_DATE") != null));
+        });
+    }
+
+    @Test
+    void shouldKeepTheRegistryColumnWidthsDeclaredInSchemaSql() {
+        Map<String, Object> widths = jdbcTemplate.queryForMap("""
+                SELECT MAX(CASE WHEN column_name = 'LISTENER_ID' THEN character_maximum_length END) AS listener_id,
+                       MAX(CASE WHEN column_name = 'SERIALIZED_EVENT' THEN character_maximum_length END) AS serialized_event
+                  FROM information_schema.columns
+                 WHERE table_name = 'EVENT_PUBLICATION'
+                """);
+
+        assertEquals(512L, ((Number) widths.get("LISTENER_ID")).longValue());
+        assertEquals(1_000_000L, ((Number) widths.get("SERIALIZED_EVENT")).longValue());
+    }
+
+    @TestConfiguration
+    static class RecordingListenerConfig {
+        @Bean
+        BlockingQueue<AppointmentFound> received() {
+            return new LinkedBlockingQueue<>();
+        }
+
+        @Bean
+        RecordingListener recordingListener(BlockingQueue<AppointmentFound> received) {
+            return new RecordingListener(received);
+        }
+    }
+
+    static class RecordingListener {
+        private final BlockingQueue<AppointmentFound> received;
+
+        RecordingListener(BlockingQueue<AppointmentFound> received) {
+            this.received = received;
+        }
+
+        @ApplicationModuleListener
+        void on(AppointmentFound event) {
+            received.add(event);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.example.icbc_road_test_notifier.shared.DateRangePreference;
+import com.example.icbc_road_test_notifier.shared.TimePreference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppointmentFilterServiceImplUnitTest {
+    private static final DateRangePreference JANUARY = new DateRangePreference(
+            LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31));
+
+    private final AppointmentFilterServiceImpl filterService = new AppointmentFilterServiceImpl();
+
+    // Zero-padded and lower-case text the parser accepts but SlotText would render differently
+    private static Map<String, List<String>> listing() {
+        Map<String, List<String>> listing = new LinkedHashMap<>();
+        listing.put("Tuesday, January 6th, 2026", List.of("09:35 AM", "1:15 PM", "5:40 PM"));
+        listing.put("Thursday, January 8th, 2026", List.of("10:00 am", "2:30 PM"));
+        listing.put("Tuesday, February 3rd, 2026", List.of("09:00 AM"));
+        return listing;
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = TimePreference.class, names = {"ANY", "MORNING", "AFTERNOON"})
+    void shouldMatchTheStringPathWhenFilteringParsedSlots(TimePreference timePreference) {
+        AppointmentResults parsed = results(listing());
+        // Text the parser can't place forces the string path; both junk entries fall outside the date range
+        Map<String, List<String>> withJunk = listing();
+        withJunk.put("Tuesday, February 3rd, 2026", List.of("09:00 AM", "Not available"));
+        withJunk.put("Jan 9", List.of("9:00 AM"));
+        AppointmentResults unparsed = results(withJunk);
+        assertTrue(parsed.isFullyParsed());
+        assertFalse(unparsed.isFullyParsed());
+
+        AppointmentResults fast = filterService.filterByPreferences(parsed, timePreference, JANUARY);
+        AppointmentResults slow = filterService.filterByPreferences(unparsed, timePreference, JANUARY);
+
+        assertEquals(slow.getDateToSlotsMap(), fast.getDateToSlotsMap());
+        assertEquals(slow.getTimeSlots(), fast.getTimeSlots());
+        assertEquals(fast.getTotalSlots(), fast.getSlots().size());
+    }
+
+    @Test
+    void shouldKeepThePortalsTextForFilteredSlots() {
+        AppointmentResults filtered = filterService.filterByPreferences(results(listing()), TimePreference.MORNING, JANUARY);
+
+        assertEquals(Map.of(
+                "Tuesday, January 6th, 2026", List.of("09:35 AM"),
+                "Thursday, January 8th, 2026", List.of("10:00 am")), filtered.getDateToSlotsMap());
+    }
+
+    @Test
+    void shouldKeepEveryOfficesSlotWhenTwoShareATime() {
+        Map<String, Map<String, List<String>>> byOffice = new LinkedHashMap<>();
+        byOffice.put("Vancouver (Point Grey)", Map.of("Thursday, January 8th, 2026", List.of("10:00 AM", "2:30 PM")));
+        byOffice.put("Vancouver (Kingsway)", Map.of("Thursday, January 8th, 2026", List.of("10:00 AM")));
+
+        AppointmentResults filtered = filterService.filterByPreferences(AppointmentResults.byLocation(byOffice),
+                TimePreference.MORNING, JANUARY);
+
+        assertEquals(2, filtered.getTotalSlots());
+        assertEquals(2, filtered.getSlots().size());
+        assertEquals(List.of(
+                "Thursday, January 8th, 2026 10:00 AM at Vancouver (Point Grey)",
+                "Thursday, January 8th, 2026 10:00 AM at Vancouver (Kingsway)"), filtered.getSlotsWithLocation());
+    }
+
+    private static AppointmentResults results(Map<String, List<String>> listing) {
+        List<String> timeSlots = new ArrayList<>();
+        listing.values().forEach(timeSlots::addAll);
+        return new AppointmentResults(new ArrayList<>(listing.keySet()), timeSlots, listing);
+    }
+}
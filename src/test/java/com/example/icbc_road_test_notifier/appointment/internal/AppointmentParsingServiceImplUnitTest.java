@@ -0,0 +1,178 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.example.icbc_road_test_notifier.appointment.SlotQuery;
+import com.example.icbc_road_test_notifier.navigation.DebugArtifactService;
+import com.example.icbc_road_test_notifier.navigation.WaitStrategy;
+import com.example.icbc_road_test_notifier.shared.DateRangePreference;
+import com.example.icbc_road_test_notifier.shared.TimePreference;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentParsingServiceImplUnitTest {
+
+    private static final ResultsSnapshot.DateBlock JAN_6 = new ResultsSnapshot.DateBlock(
+            "Tuesday, January 6th, 2026", List.of("9:35 AM", "1:15 PM"));
+    private static final ResultsSnapshot.DateBlock JAN_8 = new ResultsSnapshot.DateBlock(
+            "Thursday, January 8th, 2026", List.of("10:00 AM"));
+    private static final ResultsSnapshot.DateBlock JAN_12 = new ResultsSnapshot.DateBlock(
+            "Monday, January 12th, 2026", List.of("8:20 AM"));
+    private static final ResultsSnapshot.DateBlock JAN_20 = new ResultsSnapshot.DateBlock(
+            "Tuesday, January 20th, 2026", List.of("11:40 AM"));
+    private static final ResultsSnapshot.DateBlock FEB_3 = new ResultsSnapshot.DateBlock(
+            "Tuesday, February 3rd, 2026", List.of("9:00 AM"));
+
+    @Mock
+    private WaitStrategy waits;
+
+    @Mock
+    private ResultsExtractor extractor;
+
+    @Mock
+    private DebugArtifactService debugArtifacts;
+
+    @Mock
+    private Page page;
+
+    @Mock
+    private Locator viewMoreButton;
+
+    private AppointmentParsingServiceImpl parsingService;
+
+    @BeforeEach
+    void setUp() {
+        parsingService = new AppointmentParsingServiceImpl(waits, extractor, debugArtifacts);
+        lenient().when(page.locator(".view-more-btn")).thenReturn(viewMoreButton);
+        lenient().when(viewMoreButton.first()).thenReturn(viewMoreButton);
+        lenient().when(viewMoreButton.isVisible()).thenReturn(true);
+    }
+
+    @Test
+    void shouldStopExpandingOnceListingPassesEndDate() {
+        when(extractor.extract(eq(page), any())).thenReturn(
+                snapshot(1, JAN_6, JAN_8),
+                snapshot(1, JAN_6, JAN_8, JAN_12, JAN_20),
+                snapshot(0, JAN_6, JAN_8, JAN_12, JAN_20, FEB_3));
+        SlotQuery query = SlotQuery.of(null,
+                new DateRangePreference(LocalDate.of(2026, 1, 7), LocalDate.of(2026, 1, 15)), 0);
+
+        AppointmentResults results = parsingService.parseResults(page, query);
+
+        verify(viewMoreButton, times(1)).click();
+        assertEquals(Map.of(JAN_8.date(), JAN_8.slots(), JAN_12.date(), JAN_12.slots()), results.getDateToSlotsMap());
+        assertTrue(results.getTruncatedAfter().isEmpty());
+    }
+
+    @Test
+    void shouldApplyTimePreferenceToEachRevealedBatch() {
+        when(extractor.extract(eq(page), any())).thenReturn(snapshot(1, JAN_6), snapshot(0, JAN_6, JAN_8));
+
+        AppointmentResults results = parsingService.parseResults(page,
+                SlotQuery.of(TimePreference.MORNING, null, 0));
+
+        verify(viewMoreButton, times(1)).click();
+        assertEquals(List.of("9:35 AM", "10:00 AM"), results.getTimeSlots());
+    }
+
+    @Test
+    void shouldStopAtQuotaAndMarkResultsTruncated() {
+        when(extractor.extract(eq(page), any())).thenReturn(snapshot(1, JAN_6, JAN_8), snapshot(1, JAN_6, JAN_8, JAN_12));
+
+        AppointmentResults results = parsingService.parseResults(page, SlotQuery.of(null, null, 3));
+
+        verify(viewMoreButton, never()).click();
+        assertEquals(3, results.getTotalSlots());
+        assertEquals(Optional.of(LocalDate.of(2026, 1, 8)), results.getTruncatedAfter());
+    }
+
+    @Test
+    void shouldMarkResultsTruncatedWhenTheListingCannotBeExpandedFurther() {
+        when(extractor.extract(eq(page), any())).thenReturn(snapshot(1, JAN_6, JAN_8));
+        when(viewMoreButton.isVisible()).thenReturn(false);
+
+        AppointmentResults results = parsingService.parseResults(page);
+
+        assertEquals(3, results.getTotalSlots());
+        assertEquals(Optional.of(LocalDate.of(2026, 1, 8)), results.getTruncatedAfter());
+    }
+
+    @Test
+    void shouldFailRatherThanReturnPartialResultsWhenParsingThrows() {
+        when(extractor.extract(eq(page), any()))
+                .thenReturn(snapshot(1, JAN_6))
+                .thenThrow(new IllegalStateException("Execution context was destroyed"));
+
+        assertThrows(IllegalStateException.class, () -> parsingService.parseResults(page));
+        verify(debugArtifacts).capture(page, "parsing", "parsing-error");
+    }
+
+    @Test
+    void shouldExpandEverythingWithoutPreferences() {
+        when(extractor.extract(eq(page), any())).thenReturn(
+                snapshot(1, JAN_6), snapshot(1, JAN_6, JAN_8), snapshot(0, JAN_6, JAN_8, FEB_3));
+
+        AppointmentResults results = parsingService.parseResults(page);
+
+        verify(viewMoreButton, times(2)).click();
+        assertEquals(3, results.getDateCount());
+    }
+
+    @Test
+    void shouldKeepEachOfficesSlotsApartWhenSeveralAreListed() {
+        ResultsSnapshot.DateBlock kingswayJan8 = new ResultsSnapshot.DateBlock(
+                "Thursday, January 8th, 2026", List.of("10:00 AM", "11:10 AM"));
+        when(extractor.extract(eq(page), any())).thenReturn(new ResultsSnapshot(List.of(
+                new ResultsSnapshot.LocationBlock("Vancouver (Point Grey)", List.of(JAN_6, JAN_8)),
+                new ResultsSnapshot.LocationBlock("Vancouver (Kingsway)", List.of(kingswayJan8))), List.of(), 0));
+
+        AppointmentResults results = parsingService.parseResults(page);
+
+        assertEquals(List.of("Vancouver (Point Grey)", "Vancouver (Kingsway)"), results.getLocations());
+        assertEquals(5, results.getTotalSlots());
+        assertEquals(results.getTotalSlots(), results.getSlots().size());
+        assertEquals(List.of("10:00 AM", "10:00 AM", "11:10 AM"), results.getDateToSlotsMap().get(JAN_8.date()));
+        assertEquals(List.of(
+                "Tuesday, January 6th, 2026 9:35 AM at Vancouver (Point Grey)",
+                "Tuesday, January 6th, 2026 1:15 PM at Vancouver (Point Grey)",
+                "Thursday, January 8th, 2026 10:00 AM at Vancouver (Point Grey)",
+                "Thursday, January 8th, 2026 10:00 AM at Vancouver (Kingsway)",
+                "Thursday, January 8th, 2026 11:10 AM at Vancouver (Kingsway)"), results.getSlotsWithLocation());
+
+        Map<String, AppointmentResults> byOffice = results.splitByLocation();
+        assertEquals(Map.of(JAN_6.date(), JAN_6.slots(), JAN_8.date(), JAN_8.slots()),
+                byOffice.get("Vancouver (Point Grey)").getDateToSlotsMap());
+        assertEquals(Map.of(kingswayJan8.date(), kingswayJan8.slots()),
+                byOffice.get("Vancouver (Kingsway)").getDateToSlotsMap());
+    }
+
+    @Test
+    void shouldNotTagSlotsFromASingleOffice() {
+        when(extractor.extract(eq(page), any())).thenReturn(snapshot(0, JAN_6, JAN_8));
+
+        AppointmentResults results = parsingService.parseResults(page);
+
+        assertTrue(results.getLocations().isEmpty());
+        assertEquals(3, results.getSlots().size());
+    }
+
+    private static ResultsSnapshot snapshot(int viewMoreButtons, ResultsSnapshot.DateBlock... dates) {
+        return new ResultsSnapshot(List.of(new ResultsSnapshot.LocationBlock("Vancouver", List.of(dates))),
+                List.of(), viewMoreButtons);
+    }
+}
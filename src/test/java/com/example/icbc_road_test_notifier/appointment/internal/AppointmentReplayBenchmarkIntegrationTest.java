@@ -0,0 +1,87 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.example.icbc_road_test_notifier.shared.CheckMetrics;
+import com.example.icbc_road_test_notifier.shared.IcbcConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// Runs the full check offline against a recorded session and reports wall-clock time per phase.
+// Record with icbc.har.mode=RECORD, then:
+//   ./mvnw test -Dtest=AppointmentReplayBenchmarkIntegrationTest -Dicbc.har.replay-file=recordings/<id>.har
+// The credentials and preferences must match the ones used while recording
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@EnabledIfSystemProperty(named = "icbc.har.replay-file", matches = ".+")
+@TestPropertySource(properties = {
+        "icbc.har.mode=REPLAY",
+        "icbc.http-client.enabled=false",
+        "icbc.watch.scheduler.enabled=false",
+        "icbc.browser.pool.min-size=1",
+        // Replayed slots are published like real ones; nobody should be alerted about a recording
+        "icbc.notification.email.enabled=false",
+        "icbc.notification.webhook.enabled=false",
+        "icbc.notification.sms.enabled=false"
+})
+class AppointmentReplayBenchmarkIntegrationTest {
+
+    @Autowired
+    private AppointmentServiceImpl appointmentService;
+    @Autowired
+    private SessionStateStore sessionStateStore;
+    @Autowired
+    private IcbcConfig config;
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${icbc.replay.warmup-iterations:1}")
+    private int warmupIterations;
+    @Value("${icbc.replay.iterations:5}")
+    private int iterations;
+
+    @Test
+    void reportPhaseTimings() {
+        for (int i = 0; i < warmupIterations; i++) {
+            runCheck();
+        }
+        registry.clear();
+
+        for (int i = 0; i < iterations; i++) {
+            runCheck();
+        }
+
+        log.info("Replay of {} checks ({} warm-up):", iterations, warmupIterations);
+        registry.find(CheckMetrics.PHASE_TIMER).timers().stream()
+                .sorted(Comparator.comparingDouble((Timer timer) -> timer.totalTime(TimeUnit.MILLISECONDS)).reversed())
+                .forEach(timer -> log.info("  {}: mean {} ms, max {} ms",
+                        timer.getId().getTag("phase"),
+                        Math.round(timer.mean(TimeUnit.MILLISECONDS)),
+                        Math.round(timer.max(TimeUnit.MILLISECONDS))));
+        // Additional offices are searched in parallel and time between phases is untimed, so the phase sum is not
+        // the check's duration; the check timer wraps each run once
+        Timer check = registry.find(CheckMetrics.CHECK_TIMER).tag("outcome", "success").timer();
+        assertNotNull(check, "no successful check was recorded");
+        log.info("  total: mean {} ms, max {} ms per check",
+                Math.round(check.mean(TimeUnit.MILLISECONDS)),
+                Math.round(check.max(TimeUnit.MILLISECONDS)));
+    }
+
+    private void runCheck() {
+        // Always take the full login path so every run replays the same requests
+        sessionStateStore.invalidate(config.licenseNumber());
+        AppointmentResults results = appointmentService.authenticateAndSearchAppointments(config);
+        assertNotNull(results);
+    }
+}
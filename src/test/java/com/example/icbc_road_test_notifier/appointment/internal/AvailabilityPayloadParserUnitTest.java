@@ -0,0 +1,78 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.example.icbc_road_test_notifier.appointment.SlotText;
+import com.example.icbc_road_test_notifier.shared.DateRangePreference;
+import com.example.icbc_road_test_notifier.shared.TimePreference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityPayloadParserUnitTest {
+
+    private final AvailabilityPayloadParser parser = new AvailabilityPayloadParser(new ObjectMapper());
+
+    @Test
+    void shouldBuildExactDateToSlotMappingFromRecordedResponse() throws IOException {
+        AppointmentResults results = parser.parse(fixture("get-available-appointments.json")).orElseThrow();
+
+        Map<String, List<String>> mapping = results.getDateToSlotsMap();
+        assertEquals(List.of(
+                "Friday, January 2nd, 2026",
+                "Tuesday, January 6th, 2026",
+                "Wednesday, January 21st, 2026",
+                "Wednesday, February 11th, 2026"), List.copyOf(mapping.keySet()));
+        assertEquals(List.of("9:35 AM", "1:00 PM"), mapping.get("Tuesday, January 6th, 2026"));
+        assertEquals(5, results.getTotalSlots());
+    }
+
+    @Test
+    void shouldProduceStringsTheFilterUnderstands() throws IOException {
+        AppointmentResults results = parser.parse(fixture("get-available-appointments.json")).orElseThrow();
+
+        AppointmentResults filtered = new AppointmentFilterServiceImpl().filterByPreferences(results,
+                TimePreference.MORNING,
+                new DateRangePreference(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31)));
+
+        assertEquals(Map.of(
+                "Friday, January 2nd, 2026", List.of("8:05 AM"),
+                "Tuesday, January 6th, 2026", List.of("9:35 AM")), filtered.getDateToSlotsMap());
+    }
+
+    @Test
+    void shouldReturnEmptyResultsForEmptyResponse() throws IOException {
+        Optional<AppointmentResults> results = parser.parse(fixture("get-available-appointments-empty.json"));
+
+        assertTrue(results.isPresent());
+        assertFalse(results.get().hasAvailableAppointments());
+    }
+
+    @Test
+    void shouldRejectUnexpectedPayloads() {
+        assertTrue(parser.parse("<html>Session expired</html>").isEmpty());
+        assertTrue(parser.parse("{\"error\":\"unauthorized\"}").isEmpty());
+    }
+
+    @Test
+    void shouldUseOrdinalSuffixesLikeThePortal() {
+        assertEquals("Sunday, March 1st, 2026", SlotText.formatDate(LocalDate.of(2026, 3, 1)));
+        assertEquals("Wednesday, March 11th, 2026", SlotText.formatDate(LocalDate.of(2026, 3, 11)));
+        assertEquals("Sunday, March 22nd, 2026", SlotText.formatDate(LocalDate.of(2026, 3, 22)));
+        assertEquals("Monday, March 23rd, 2026", SlotText.formatDate(LocalDate.of(2026, 3, 23)));
+    }
+
+    private String fixture(String name) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/fixtures/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BrowserPoolUnitTest {
+
+    @Mock
+    private BrowserLauncher launcher;
+
+    private SimpleMeterRegistry registry;
+    private BrowserPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = newPool(0, 2, 2);
+    }
+
+    @Test
+    void shouldReuseReleasedBrowserInsteadOfLaunching() {
+        PooledBrowser launched = healthyBrowser();
+        when(launcher.launch()).thenReturn(launched);
+
+        PooledBrowser first = pool.acquire();
+        pool.release(first);
+        PooledBrowser second = pool.acquire();
+
+        assertSame(first, second);
+        verify(launcher, times(1)).launch();
+        assertEquals(1, registry.get("icbc.browser.pool.acquire").tag("source", "warm").timer().count());
+        assertEquals(1, registry.get("icbc.browser.pool.acquire").tag("source", "cold").timer().count());
+    }
+
+    @Test
+    void shouldRetireBrowserAfterMaxUses() {
+        PooledBrowser launched = healthyBrowser();
+        when(launcher.launch()).thenReturn(launched);
+
+        PooledBrowser browser = pool.acquire();
+        browser.newContext(null);
+        browser.newContext(null);
+        pool.release(browser);
+
+        assertEquals(0, pool.idleCount());
+        assertEquals(0, pool.leasedCount());
+    }
+
+    @Test
+    void shouldDiscardDisconnectedIdleBrowser() {
+        Browser chromium = mock(Browser.class);
+        when(chromium.isConnected()).thenReturn(true, false);
+        PooledBrowser stale = new PooledBrowser(mock(Playwright.class), chromium);
+        PooledBrowser fresh = healthyBrowser();
+        when(launcher.launch()).thenReturn(stale, fresh);
+
+        pool.release(pool.acquire());
+        PooledBrowser acquired = pool.acquire();
+
+        assertSame(fresh, acquired);
+        verify(chromium).close();
+    }
+
+    @Test
+    void shouldFailWhenPoolIsExhausted() {
+        pool = newPool(0, 1, 10);
+        PooledBrowser launched = healthyBrowser();
+        when(launcher.launch()).thenReturn(launched);
+
+        pool.acquire();
+
+        assertThrows(IllegalStateException.class, () -> pool.acquire());
+    }
+
+    @Test
+    void shouldLendExtraBrowserOnlyWithoutWaiting() {
+        pool = newPool(0, 1, 10);
+        PooledBrowser launched = healthyBrowser();
+        when(launcher.launch()).thenReturn(launched);
+
+        PooledBrowser lent = pool.tryAcquire().orElseThrow();
+
+        assertTrue(pool.tryAcquire().isEmpty());
+        pool.release(lent);
+        assertSame(launched, pool.tryAcquire().orElseThrow());
+    }
+
+    @Test
+    void shouldProbeIdleBrowsersOutsideTheDequeAndKeepHealthyOnes() {
+        Browser healthyChromium = mock(Browser.class);
+        Browser crashedChromium = mock(Browser.class);
+        when(healthyChromium.isConnected()).thenReturn(true);
+        when(crashedChromium.isConnected()).thenReturn(true);
+        PooledBrowser healthy = new PooledBrowser(mock(Playwright.class), healthyChromium);
+        PooledBrowser crashed = new PooledBrowser(mock(Playwright.class), crashedChromium);
+        when(launcher.launch()).thenReturn(healthy, crashed);
+        PooledBrowser first = pool.acquire();
+        PooledBrowser second = pool.acquire();
+        pool.release(first);
+        pool.release(second);
+
+        // While either browser is being probed it must not be available to acquire()
+        List<Integer> idleDuringProbe = new ArrayList<>();
+        when(healthyChromium.isConnected()).thenAnswer(invocation -> {
+            idleDuringProbe.add(pool.idleCount());
+            return true;
+        });
+        when(crashedChromium.isConnected()).thenAnswer(invocation -> {
+            idleDuringProbe.add(pool.idleCount());
+            return false;
+        });
+
+        pool.maintain();
+
+        assertEquals(List.of(1, 0), idleDuringProbe);
+        assertEquals(1, pool.idleCount());
+        verify(crashedChromium).close();
+        assertSame(healthy, pool.acquire());
+    }
+
+    @Test
+    void shouldTopUpToMinimumSize() {
+        pool = newPool(2, 4, 10);
+        PooledBrowser first = healthyBrowser();
+        PooledBrowser second = healthyBrowser();
+        when(launcher.launch()).thenReturn(first, second);
+
+        pool.maintain();
+
+        assertEquals(2, pool.idleCount());
+        verify(launcher, times(2)).launch();
+    }
+
+    private BrowserPool newPool(int minSize, int maxSize, int maxUses) {
+        registry = new SimpleMeterRegistry();
+        BrowserProperties properties = new BrowserProperties(true, 30, 90,
+                new BrowserProperties.Pool(minSize, maxSize, maxUses, Duration.ofMinutes(10), Duration.ofMillis(50)));
+        return new BrowserPool(launcher, properties, registry);
+    }
+
+    private PooledBrowser healthyBrowser() {
+        Browser chromium = mock(Browser.class);
+        lenient().when(chromium.isConnected()).thenReturn(true);
+        return new PooledBrowser(mock(Playwright.class), chromium);
+    }
+}
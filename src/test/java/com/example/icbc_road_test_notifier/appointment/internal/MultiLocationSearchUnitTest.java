@@ -0,0 +1,122 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.example.icbc_road_test_notifier.appointment.AppointmentSearchService;
+import com.example.icbc_road_test_notifier.navigation.NavigationService;
+import com.example.icbc_road_test_notifier.shared.CheckMetrics;
+import com.example.icbc_road_test_notifier.shared.DaysOfTheWeek;
+import com.example.icbc_road_test_notifier.shared.IcbcConfig;
+import com.example.icbc_road_test_notifier.shared.TimePreference;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MultiLocationSearchUnitTest {
+    private static final Path STORED_SESSION = Path.of("session.json");
+
+    @Mock private WebDriver webDriver;
+    @Mock private SessionStateStore sessionStateStore;
+    @Mock private NavigationService navigationService;
+    @Mock private AppointmentSearchService searchService;
+    @Mock private WebDriver.WebDriverSession primary;
+    @Mock private WebDriver.WebDriverSession helper;
+    @Mock private BrowserContext primaryContext;
+    @Mock private Page primaryPage;
+    @Mock private Page extraPage;
+    @Mock private Page helperPage;
+
+    private MultiLocationSearch search;
+
+    @BeforeEach
+    void setUp() {
+        search = new MultiLocationSearch(webDriver, sessionStateStore, navigationService, searchService,
+                new CheckMetrics(new SimpleMeterRegistry()), new LocationSearchProperties(2, 20));
+        lenient().when(primary.getPage()).thenReturn(primaryPage);
+        lenient().when(primary.getContext()).thenReturn(primaryContext);
+        lenient().when(primaryContext.newPage()).thenReturn(extraPage);
+        lenient().when(helper.getPage()).thenReturn(helperPage);
+        lenient().when(navigationService.resumeSession(any())).thenReturn(true);
+    }
+
+    @Test
+    void shouldSearchExtraOfficeInParallelAndTheRestOnNewPages() {
+        when(sessionStateStore.find("1234567")).thenReturn(Optional.of(STORED_SESSION));
+        when(webDriver.tryCreateSession(STORED_SESSION)).thenReturn(Optional.of(helper));
+        CountDownLatch helperStarted = new CountDownLatch(1);
+        when(searchService.configureAndSearch(any(), eq("Burnaby"), any(), any(), any())).thenAnswer(invocation -> {
+            helperStarted.countDown();
+            return results("Wednesday, January 7th, 2026");
+        });
+        // The primary office only finishes once the helper is running, which fails if they ran in turn
+        when(searchService.configureAndSearch(eq(primaryPage), eq("Richmond"), any(), any(), any())).thenAnswer(invocation -> {
+            assertTrue(helperStarted.await(5, TimeUnit.SECONDS), "helper office was not searched concurrently");
+            return results("Tuesday, January 6th, 2026");
+        });
+        when(searchService.configureAndSearch(any(), eq("Surrey"), any(), any(), any()))
+                .thenReturn(results("Friday, January 9th, 2026"));
+
+        Map<String, AppointmentResults> found = search.search(primary, config("Richmond", "Burnaby", "Surrey"));
+
+        assertEquals(List.of("Richmond", "Burnaby", "Surrey"), List.copyOf(found.keySet()));
+        verify(webDriver, times(1)).tryCreateSession(STORED_SESSION);
+        verify(helper).close();
+        verify(extraPage).close();
+        verify(navigationService, times(2)).navigateToAppointmentSection(any());
+    }
+
+    @Test
+    void shouldLeaveOutOfficesWhoseSearchFailed() {
+        when(sessionStateStore.find("1234567")).thenReturn(Optional.of(STORED_SESSION));
+        when(webDriver.tryCreateSession(STORED_SESSION)).thenReturn(Optional.empty());
+        when(searchService.configureAndSearch(any(), eq("Richmond"), any(), any(), any()))
+                .thenReturn(results("Tuesday, January 6th, 2026"));
+        when(searchService.configureAndSearch(any(), eq("Burnaby"), any(), any(), any()))
+                .thenThrow(new IllegalStateException("portal error"));
+        when(searchService.configureAndSearch(any(), eq("Surrey"), any(), any(), any()))
+                .thenReturn(AppointmentResults.empty());
+
+        Map<String, AppointmentResults> found = search.search(primary, config("Richmond", "Burnaby", "Surrey"));
+
+        assertEquals(List.of("Richmond", "Surrey"), List.copyOf(found.keySet()));
+        verify(extraPage, times(2)).close();
+    }
+
+    @Test
+    void shouldSearchSingleOfficeOnPrimaryPageOnly() {
+        when(searchService.configureAndSearch(eq(primaryPage), eq("Richmond"), any(), any(), any()))
+                .thenReturn(results("Tuesday, January 6th, 2026"));
+
+        Map<String, AppointmentResults> found = search.search(primary, config("Richmond"));
+
+        assertEquals(Set.of("Richmond"), found.keySet());
+        verifyNoInteractions(webDriver, sessionStateStore, navigationService);
+    }
+
+    private static IcbcConfig config(String preferredLocation, String... additionalLocations) {
+        return new IcbcConfig("Smith", "1234567", "keyword", preferredLocation, Set.of(DaysOfTheWeek.MONDAY),
+                TimePreference.ANY, null, null, List.of(additionalLocations));
+    }
+
+    private static AppointmentResults results(String date) {
+        return new AppointmentResults(List.of(date), List.of("9:35 AM"), Map.of(date, List.of("9:35 AM")));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortalHttpClientUnitTest {
+    private static final String SEARCH_PATH = "/deas-api/v1/web/getAvailableAppointments";
+    private static final String LOCATION = "Vancouver, BC";
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T18:00:00Z"), ZoneId.of("America/Vancouver"));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpServer stubPortal;
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicReference<String> receivedAuthorization = new AtomicReference<>();
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+    private PortalHttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        byte[] recorded = fixture("get-available-appointments.json");
+        stubPortal = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stubPortal.createContext(SEARCH_PATH, exchange -> {
+            receivedAuthorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+            receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            byte[] body = status.get() == 200 ? recorded : new byte[0];
+            exchange.sendResponseHeaders(status.get(), body.length == 0 ? -1 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stubPortal.start();
+
+        client = new PortalHttpClient(new AvailabilityPayloadParser(objectMapper), objectMapper, true,
+                "http://127.0.0.1:" + stubPortal.getAddress().getPort(), Duration.ofSeconds(5), Duration.ofMinutes(20), CLOCK);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubPortal.stop(0);
+    }
+
+    @Test
+    void shouldReplayCapturedSearchWithSessionCredentials() {
+        client.remember("1234567", LOCATION, session(CLOCK.instant()));
+
+        AppointmentResults results = client.search("1234567", LOCATION).orElseThrow();
+
+        assertEquals(4, results.getDateCount());
+        assertEquals("Bearer token-123", receivedAuthorization.get());
+        assertTrue(receivedBody.get().contains("\"examDate\":\"2026-01-01\""), receivedBody.get());
+        assertTrue(receivedBody.get().contains("\"aPosID\":274"));
+    }
+
+    @Test
+    void shouldDropSessionWhenPortalRejectsIt() {
+        client.remember("1234567", LOCATION, session(CLOCK.instant()));
+        status.set(401);
+
+        Optional<AppointmentResults> results = client.search("1234567", LOCATION);
+
+        assertTrue(results.isEmpty());
+        assertFalse(client.hasSession("1234567", LOCATION));
+    }
+
+    @Test
+    void shouldIgnoreExpiredSessions() {
+        client.remember("1234567", LOCATION, session(CLOCK.instant().minus(Duration.ofHours(1))));
+
+        assertTrue(client.search("1234567", LOCATION).isEmpty());
+        assertNull(receivedBody.get());
+    }
+
+    @Test
+    void shouldNotReplaySessionCapturedForAnotherOffice() {
+        client.remember("1234567", LOCATION, session(CLOCK.instant()));
+
+        assertTrue(client.search("1234567", "Surrey, BC").isEmpty());
+        assertNull(receivedBody.get());
+        assertTrue(client.hasSession("1234567", LOCATION));
+    }
+
+    @Test
+    void shouldDoNothingWithoutSession() {
+        assertTrue(client.search("7654321", LOCATION).isEmpty());
+        assertNull(receivedBody.get());
+    }
+
+    private PortalSession session(Instant capturedAt) {
+        return new PortalSession(SEARCH_PATH,
+                Map.of("authorization", "Bearer token-123", "content-type", "application/json"),
+                "{\"aPosID\":274,\"examType\":\"7-R-1\",\"examDate\":\"2025-12-01\",\"ignoreReserveTime\":false," +
+                        "\"prfDaysOfWeek\":\"[0,1,2,3,4,5,6]\",\"prfPartsOfDay\":\"[0,1]\",\"lastName\":\"DOE\",\"licenseNumber\":\"1234567\"}",
+                capturedAt);
+    }
+
+    private byte[] fixture(String name) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/fixtures/" + name)) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ResourceFilterUnitTest {
+
+    private SimpleMeterRegistry registry;
+    private ResourceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        filter = new ResourceFilter(new ResourceFilterProperties(true,
+                List.of("image", "font"),
+                List.of("google-analytics.com"),
+                List.of("/deas-api/")), registry);
+    }
+
+    @Test
+    void shouldBlockConfiguredTypesAndUrls() {
+        assertTrue(filter.shouldBlock("image", "https://onlinebusiness.icbc.com/webdeas-ui/assets/logo.png"));
+        assertTrue(filter.shouldBlock("script", "https://www.Google-Analytics.com/analytics.js"));
+        assertFalse(filter.shouldBlock("script", "https://onlinebusiness.icbc.com/webdeas-ui/main.js"));
+        assertFalse(filter.shouldBlock("document", "https://onlinebusiness.icbc.com/webdeas-ui/driver"));
+    }
+
+    @Test
+    void shouldLetAllowedUrlsThroughRegardlessOfType() {
+        assertFalse(filter.shouldBlock("image", "https://onlinebusiness.icbc.com/deas-api/v1/captcha.png"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldAbortBlockedRequestsAndCountThem() {
+        BrowserContext context = mock(BrowserContext.class);
+        ResourceFilter.Stats stats = filter.install(context);
+
+        ArgumentCaptor<Consumer<Route>> handler = ArgumentCaptor.forClass(Consumer.class);
+        verify(context).route(eq("**/*"), handler.capture());
+
+        Route image = route("image", "https://onlinebusiness.icbc.com/webdeas-ui/assets/banner.jpg");
+        Route api = route("fetch", "https://onlinebusiness.icbc.com/deas-api/v1/web/getAvailableAppointments");
+        handler.getValue().accept(image);
+        handler.getValue().accept(api);
+
+        verify(image).abort(anyString());
+        verify(api).resume();
+        assertEquals(1, stats.blockedRequests());
+        assertTrue(stats.estimatedBytesSaved() > 0);
+        assertEquals(1, registry.get("icbc.browser.resource-filter.blocked").tag("type", "image").counter().count());
+    }
+
+    @Test
+    void shouldNotRouteWhenDisabled() {
+        filter = new ResourceFilter(new ResourceFilterProperties(false, List.of("image"), List.of(), List.of()), registry);
+        BrowserContext context = mock(BrowserContext.class);
+
+        filter.install(context);
+
+        verifyNoInteractions(context);
+    }
+
+    private Route route(String resourceType, String url) {
+        Request request = mock(Request.class);
+        when(request.resourceType()).thenReturn(resourceType);
+        when(request.url()).thenReturn(url);
+        Route route = mock(Route.class);
+        when(route.request()).thenReturn(request);
+        return route;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.SlotQuery;
+import com.example.icbc_road_test_notifier.shared.DateRangePreference;
+import com.example.icbc_road_test_notifier.shared.TimePreference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the extraction script in Chromium and checks that filtering in the browser never changes what the
+// Java-side filter returns; only the payload shrinks. Skipped when Chromium can't be launched
+class ResultsExtractorIntegrationTest {
+
+    private static Playwright playwright;
+    private static Browser browser;
+
+    private final ResultsExtractor extractor = new ResultsExtractor(new ObjectMapper());
+    private final AppointmentParsingServiceImpl parsingService = new AppointmentParsingServiceImpl(null, extractor, null);
+    private Page page;
+
+    @BeforeAll
+    static void launchBrowser() {
+        try {
+            playwright = Playwright.create();
+            browser = playwright.chromium().launch();
+        } catch (RuntimeException e) {
+            closeBrowser();
+            Assumptions.abort("Chromium is not available: " + e.getMessage());
+        }
+    }
+
+    @AfterAll
+    static void closeBrowser() {
+        if (playwright != null) {
+            playwright.close();
+            playwright = null;
+        }
+    }
+
+    @BeforeEach
+    void openFixture() throws IOException {
+        page = browser.newPage();
+        load("results-page.html");
+    }
+
+    @AfterEach
+    void closePage() {
+        page.close();
+    }
+
+    static Stream<SlotQuery> queries() {
+        DateRangePreference midJanuary = new DateRangePreference(LocalDate.of(2026, 1, 7), LocalDate.of(2026, 1, 15));
+        return Stream.of(
+                SlotQuery.unrestricted(),
+                SlotQuery.of(TimePreference.MORNING, null, 0),
+                SlotQuery.of(TimePreference.EVENING, null, 0),
+                SlotQuery.of(null, midJanuary, 0),
+                SlotQuery.of(TimePreference.AFTERNOON, midJanuary, 0));
+    }
+
+    @ParameterizedTest
+    @MethodSource("queries")
+    void shouldReturnSameMatchesWhetherFilteredInBrowserOrNot(SlotQuery query) {
+        ResultsSnapshot everything = extractor.extract(page);
+        ResultsSnapshot prefiltered = extractor.extract(page, query);
+
+        assertEquals(matches(everything, query), matches(prefiltered, query));
+        assertEquals(lastDates(everything), lastDates(prefiltered));
+        assertEquals(everything.viewMoreButtons(), prefiltered.viewMoreButtons());
+        if (query.restrictsDates() || query.restrictsTimes()) {
+            assertTrue(slotCount(prefiltered) < slotCount(everything),
+                    "expected the browser to drop slots for " + query);
+        } else {
+            assertEquals(slotCount(everything), slotCount(prefiltered));
+        }
+    }
+
+    // Without the portal's own time classes, any button or time-like element whose text reads as a time is a slot
+    @Test
+    void shouldFallBackToTimeLikeButtonsWhenNoTimeSlotsAreMarkedUp() throws IOException {
+        load("results-page-unstyled.html");
+
+        ResultsSnapshot snapshot = extractor.extract(page);
+
+        assertEquals(Map.of("Vancouver (Point Grey)", Map.of(
+                        "Tuesday, January 6th, 2026", List.of("8:20 AM", "1:15 PM"),
+                        "Thursday, January 8th, 2026", List.of("10:00 AM"))),
+                matches(snapshot, SlotQuery.unrestricted()));
+        // "Book", "Not available" and the view-more button never leave the browser
+        assertEquals(3, slotCount(snapshot));
+    }
+
+    private void load(String fixture) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/fixtures/" + fixture)) {
+            page.setContent(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private Map<String, Map<String, List<String>>> matches(ResultsSnapshot snapshot, SlotQuery query) {
+        Map<String, Map<String, List<String>>> slotsByLocation = new LinkedHashMap<>();
+        parsingService.collectSlots(snapshot, query, slotsByLocation);
+        return slotsByLocation;
+    }
+
+    private static List<String> lastDates(ResultsSnapshot snapshot) {
+        return snapshot.locations().stream().map(ResultsSnapshot.LocationBlock::lastDate).toList();
+    }
+
+    private static int slotCount(ResultsSnapshot snapshot) {
+        return snapshot.locations().stream()
+                .flatMap(location -> location.dates().stream())
+                .mapToInt(date -> date.slots().size())
+                .sum();
+    }
+}
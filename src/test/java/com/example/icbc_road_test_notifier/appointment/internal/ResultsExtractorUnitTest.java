@@ -0,0 +1,32 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.SlotQuery;
+import com.example.icbc_road_test_notifier.shared.DateRangePreference;
+import com.example.icbc_road_test_notifier.shared.TimePreference;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultsExtractorUnitTest {
+
+    @Test
+    void shouldSendNoFilterForUnrestrictedQuery() {
+        assertNull(ResultsExtractor.scriptFilter(SlotQuery.unrestricted()));
+        assertNull(ResultsExtractor.scriptFilter(SlotQuery.of(TimePreference.ANY, null, 5)));
+    }
+
+    @Test
+    void shouldSendOpenDateBoundsAsNull() {
+        DateRangePreference from = new DateRangePreference(LocalDate.of(2026, 1, 7), null);
+
+        Map<String, Object> filter = ResultsExtractor.scriptFilter(SlotQuery.of(TimePreference.MORNING, from, 0));
+
+        assertEquals(LocalDate.of(2026, 1, 7).toEpochDay(), filter.get("firstEpochDay"));
+        assertNull(filter.get("lastEpochDay"));
+        assertEquals(TimePreference.MORNING.getStartHour() * 60, filter.get("startMinute"));
+        assertEquals(TimePreference.MORNING.getEndHour() * 60, filter.get("endMinute"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SessionRecorderUnitTest {
+    private static final String API = "https://onlinebusiness.icbc.com/deas-api/v1/";
+
+    private BrowserContext context;
+    private Consumer<Route> apiHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        Path har = Path.of(getClass().getResource("/fixtures/session.har").toURI());
+        SessionRecorder recorder = new SessionRecorder(
+                new HarProperties(HarProperties.Mode.REPLAY, Path.of("recordings"), har), new ObjectMapper());
+        context = mock(BrowserContext.class);
+
+        recorder.install(context);
+
+        ArgumentCaptor<Consumer<Route>> handler = ArgumentCaptor.forClass(Consumer.class);
+        verify(context).route(eq("**/deas-api/**"), handler.capture());
+        apiHandler = handler.getValue();
+    }
+
+    @Test
+    void shouldRegisterApiRouteAfterHarSoItTakesPrecedence() {
+        // Playwright runs the most recently registered matching route first
+        InOrder order = inOrder(context);
+        order.verify(context).routeFromHAR(any(Path.class), any(BrowserContext.RouteFromHAROptions.class));
+        order.verify(context).route(eq("**/deas-api/**"), any(Consumer.class));
+    }
+
+    @Test
+    void shouldServeLastRecordedResponseForMethodAndPathIgnoringQuery() {
+        Route.FulfillOptions served = fulfil("POST", API + "web/getAvailableAppointments?ts=99");
+
+        assertEquals(200, served.status);
+        assertEquals("application/json", served.headers.get("content-type"));
+        assertEquals("{\"slots\":[\"recorded\"]}", new String(served.bodyBytes, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldReplayRecordedStatusAndPlainTextBody() {
+        assertEquals("{\"drvrId\":1}", new String(fulfil("PUT", API + "webLogin/webLogin").bodyBytes, StandardCharsets.UTF_8));
+        assertEquals(401, fulfil("GET", API + "web/session").status);
+    }
+
+    @Test
+    void shouldFallBackToHarWhenMethodOrPathWasNotRecorded() {
+        Route route = route("GET", API + "web/getAvailableAppointments");
+
+        apiHandler.accept(route);
+
+        verify(route).fallback();
+        verify(route, never()).fulfill(any());
+    }
+
+    @Test
+    void shouldKeyByMethodAndPathOnly() {
+        assertEquals("POST /deas-api/v1/web/getAvailableAppointments",
+                SessionRecorder.key("POST", API + "web/getAvailableAppointments?ts=1&lang=en"));
+        assertNotEquals(SessionRecorder.key("GET", API + "web/session"), SessionRecorder.key("POST", API + "web/session"));
+    }
+
+    private Route.FulfillOptions fulfil(String method, String url) {
+        Route route = route(method, url);
+        apiHandler.accept(route);
+
+        ArgumentCaptor<Route.FulfillOptions> options = ArgumentCaptor.forClass(Route.FulfillOptions.class);
+        verify(route).fulfill(options.capture());
+        return options.getValue();
+    }
+
+    private static Route route(String method, String url) {
+        Request request = mock(Request.class);
+        when(request.method()).thenReturn(method);
+        when(request.url()).thenReturn(url);
+        Route route = mock(Route.class);
+        when(route.request()).thenReturn(request);
+        return route;
+    }
+}
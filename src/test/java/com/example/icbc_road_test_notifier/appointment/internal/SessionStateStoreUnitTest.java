@@ -0,0 +1,82 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.microsoft.playwright.BrowserContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class SessionStateStoreUnitTest {
+    private static final Instant SAVED_AT = Instant.parse("2026-01-05T08:00:00Z");
+
+    @TempDir
+    Path storageDir;
+
+    @Test
+    void shouldFindSessionWithinExpiry() {
+        storeAt(SAVED_AT).save("1234567", contextWritingState());
+
+        Optional<Path> found = storeAt(SAVED_AT.plus(Duration.ofHours(23))).find("1234567");
+
+        assertTrue(found.isPresent());
+        assertFalse(found.get().getFileName().toString().contains("1234567"));
+    }
+
+    @Test
+    void shouldExpireAndDeleteSessionSavedTooLongAgo() {
+        storeAt(SAVED_AT).save("1234567", contextWritingState());
+        Path saved = storeAt(SAVED_AT).find("1234567").orElseThrow();
+
+        Optional<Path> found = storeAt(SAVED_AT.plus(Duration.ofHours(25))).find("1234567");
+
+        assertTrue(found.isEmpty());
+        assertFalse(Files.exists(saved));
+    }
+
+    @Test
+    void shouldRestartExpiryWhenResumedSessionIsSavedAgain() {
+        storeAt(SAVED_AT).save("1234567", contextWritingState());
+        storeAt(SAVED_AT.plus(Duration.ofHours(20))).save("1234567", contextWritingState());
+
+        Optional<Path> found = storeAt(SAVED_AT.plus(Duration.ofHours(30))).find("1234567");
+
+        assertTrue(found.isPresent());
+    }
+
+    @Test
+    void shouldForgetInvalidatedSessionOnly() {
+        SessionStateStore store = storeAt(SAVED_AT);
+        store.save("1234567", contextWritingState());
+        store.save("7654321", contextWritingState());
+
+        store.invalidate("1234567");
+
+        assertTrue(store.find("1234567").isEmpty());
+        assertTrue(store.find("7654321").isPresent());
+    }
+
+    private SessionStateStore storeAt(Instant now) {
+        return new SessionStateStore(storageDir, 24, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static BrowserContext contextWritingState() {
+        BrowserContext context = mock(BrowserContext.class);
+        doAnswer(invocation -> {
+            BrowserContext.StorageStateOptions options = invocation.getArgument(0);
+            Files.writeString(options.path, "{\"cookies\":[],\"origins\":[]}");
+            return null;
+        }).when(context).storageState(any());
+        return context;
+    }
+}
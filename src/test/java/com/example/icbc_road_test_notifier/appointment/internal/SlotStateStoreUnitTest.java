@@ -0,0 +1,169 @@
+package com.example.icbc_road_test_notifier.appointment.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.example.icbc_road_test_notifier.shared.WatchProfileChanged;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotStateStoreUnitTest {
+    private final MutableClock clock = new MutableClock();
+    private final SlotStateStore store = new SlotStateStore(clock);
+
+    @Test
+    void shouldReportEverySlotOnFirstCheck() {
+        SlotDiff diff = store.update("1234567", "Vancouver, BC", results(Map.of(
+                "Tuesday, January 6th, 2026", List.of("9:35 AM", "1:15 PM"))));
+
+        assertEquals(2, diff.appeared().getTotalSlots());
+        assertTrue(diff.disappeared().isEmpty());
+        assertTrue(diff.firstCheck());
+    }
+
+    @Test
+    void shouldReportOnlyChangedSlotsOnRepeatCheck() {
+        store.update("1234567", "Vancouver, BC", results(Map.of(
+                "Tuesday, January 6th, 2026", List.of("9:35 AM", "1:15 PM"))));
+
+        SlotDiff unchanged = store.update("1234567", "Vancouver, BC", results(Map.of(
+                "Tuesday, January 6th, 2026", List.of("9:35 AM", "1:15 PM"))));
+        SlotDiff changed = store.update("1234567", "Vancouver, BC", results(Map.of(
+                "Tuesday, January 6th, 2026", List.of("9:35 AM"),
+                "Wednesday, January 7th, 2026", List.of("10:00 AM"))));
+
+        assertFalse(unchanged.hasChanges());
+        assertFalse(changed.firstCheck());
+        assertEquals(Map.of("Wednesday, January 7th, 2026", List.of("10:00 AM")), changed.appeared().getDateToSlotsMap());
+        assertEquals(Map.of("Tuesday, January 6th, 2026", List.of("1:15 PM")), changed.disappeared().getDateToSlotsMap());
+    }
+
+    @Test
+    void shouldKeepTheOfficeOfNewSlotsFromPagesListingSeveral() {
+        store.update("1234567", "Vancouver, BC", byOffice(
+                Map.of("Tuesday, January 6th, 2026", List.of("9:35 AM")),
+                Map.of("Tuesday, January 6th, 2026", List.of("1:15 PM"))));
+
+        SlotDiff diff = store.update("1234567", "Vancouver, BC", byOffice(
+                Map.of("Tuesday, January 6th, 2026", List.of("9:35 AM")),
+                Map.of("Tuesday, January 6th, 2026", List.of("1:15 PM"), "Wednesday, January 7th, 2026", List.of("10:00 AM"))));
+
+        assertEquals(List.of("Wednesday, January 7th, 2026 10:00 AM at Vancouver (Kingsway)"),
+                diff.appeared().getSlotsWithLocation());
+    }
+
+    @Test
+    void shouldNotReportUnreadDatesAsWithdrawnWhenListingWasTruncated() {
+        store.update("1234567", "Vancouver, BC", results(Map.of(
+                "Tuesday, January 6th, 2026", List.of("9:35 AM"),
+                "Friday, January 9th, 2026", List.of("2:00 PM"))));
+
+        SlotDiff truncated = store.update("1234567", "Vancouver, BC", results(Map.of(
+                "Tuesday, January 6th, 2026", List.of("9:35 AM"))).truncatedAfter(LocalDate.of(2026, 1, 7)));
+        SlotDiff full = store.update("1234567", "Vancouver, BC", results(Map.of(
+                "Tuesday, January 6th, 2026", List.of("9:35 AM"),
+                "Friday, January 9th, 2026", List.of("2:00 PM"))));
+
+        assertFalse(truncated.hasChanges());
+        assertFalse(full.hasChanges());
+    }
+
+    @Test
+    void shouldKeepProfilesAndLocationsApart() {
+        store.update("1234567", "Vancouver, BC", results(Map.of("Tuesday, January 6th, 2026", List.of("9:35 AM"))));
+
+        SlotDiff otherLocation = store.update("1234567", "Burnaby, BC",
+                results(Map.of("Tuesday, January 6th, 2026", List.of("9:35 AM"))));
+        SlotDiff otherProfile = store.update("7654321", "Vancouver, BC",
+                results(Map.of("Tuesday, January 6th, 2026", List.of("9:35 AM"))));
+
+        assertEquals(1, otherLocation.appeared().getTotalSlots());
+        assertEquals(1, otherProfile.appeared().getTotalSlots());
+    }
+
+    @Test
+    void shouldNotReportPastDaysAsWithdrawnAfterDateRolls() {
+        store.update("1234567", "Vancouver, BC", results(Map.of(
+                "Monday, January 5th, 2026", List.of("3:00 PM"),
+                "Tuesday, January 6th, 2026", List.of("9:35 AM"))));
+
+        clock.advance(Duration.ofDays(1));
+        SlotDiff rolled = store.update("1234567", "Vancouver, BC", results(Map.of(
+                "Tuesday, January 6th, 2026", List.of("9:35 AM"))));
+        SlotDiff withdrawn = store.update("1234567", "Vancouver, BC", results(Map.of()));
+
+        assertFalse(rolled.hasChanges());
+        assertEquals(Map.of("Tuesday, January 6th, 2026", List.of("9:35 AM")), withdrawn.disappeared().getDateToSlotsMap());
+    }
+
+    @Test
+    void shouldStartOverForAProfileThatChanged() {
+        store.update("1234567", "Vancouver, BC", results(Map.of("Tuesday, January 6th, 2026", List.of("9:35 AM"))));
+        store.update("7654321", "Vancouver, BC", results(Map.of("Tuesday, January 6th, 2026", List.of("9:35 AM"))));
+
+        store.profileChanged(new WatchProfileChanged("1234567"));
+
+        SlotDiff changed = store.update("1234567", "Vancouver, BC", results(Map.of()));
+        SlotDiff untouched = store.update("7654321", "Vancouver, BC", results(Map.of()));
+        assertTrue(changed.firstCheck());
+        assertTrue(changed.disappeared().isEmpty());
+        assertFalse(untouched.firstCheck());
+        assertEquals(1, untouched.disappeared().getTotalSlots());
+    }
+
+    @Test
+    void shouldTrackTextItCannotParse() {
+        store.update("1234567", "Vancouver, BC", results(Map.of("Jan 6", List.of("9:35"))));
+
+        SlotDiff diff = store.update("1234567", "Vancouver, BC", results(Map.of("Jan 6", List.of("9:35", "10:05"))));
+
+        assertEquals(Map.of("Jan 6", List.of("10:05")), diff.appeared().getDateToSlotsMap());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-05T08:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private static AppointmentResults results(Map<String, List<String>> dateToSlots) {
+        Map<String, List<String>> ordered = new LinkedHashMap<>(dateToSlots);
+        List<String> timeSlots = new ArrayList<>();
+        ordered.values().forEach(timeSlots::addAll);
+        return new AppointmentResults(new ArrayList<>(ordered.keySet()), timeSlots, ordered);
+    }
+
+    private static AppointmentResults byOffice(Map<String, List<String>> pointGrey, Map<String, List<String>> kingsway) {
+        Map<String, Map<String, List<String>>> slotsByLocation = new LinkedHashMap<>();
+        slotsByLocation.put("Vancouver (Point Grey)", new LinkedHashMap<>(pointGrey));
+        slotsByLocation.put("Vancouver (Kingsway)", new LinkedHashMap<>(kingsway));
+        return AppointmentResults.byLocation(slotsByLocation);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.icbc_road_test_notifier.navigation;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BrowserStepsUnitTest {
+
+    private Recording recording;
+
+    @BeforeEach
+    void startRecording() {
+        recording = new Recording();
+        recording.enable(BrowserStepEvent.class);
+        recording.start();
+    }
+
+    @AfterEach
+    void closeRecording() {
+        recording.close();
+    }
+
+    @Test
+    void shouldRecordActionsOnLocatorsCreatedFromTracedPage() throws IOException {
+        Page page = mock(Page.class);
+        Locator searchButton = mock(Locator.class);
+        when(page.locator("button.search")).thenReturn(searchButton);
+        when(searchButton.count()).thenReturn(3);
+        when(searchButton.toString()).thenReturn("Locator@button.search");
+
+        Locator traced = BrowserSteps.trace(page).locator("button.search");
+        traced.click();
+        assertEquals(3, traced.count());
+
+        List<RecordedEvent> events = stopAndRead();
+        assertEquals(2, events.size());
+        assertEquals("click", events.get(0).getString("action"));
+        assertEquals("Locator@button.search", events.get(0).getString("locator"));
+        assertEquals("ok", events.get(0).getString("result"));
+        assertEquals("count", events.get(1).getString("action"));
+        assertEquals("3", events.get(1).getString("result"));
+        verify(searchButton).click();
+    }
+
+    @Test
+    void shouldRecordTimeoutAndRethrow() throws IOException {
+        Page page = mock(Page.class);
+        doThrow(new TimeoutError("Timeout 5000ms exceeded")).when(page).waitForSelector("mat-option");
+
+        assertThrows(TimeoutError.class, () -> BrowserSteps.trace(page).waitForSelector("mat-option"));
+
+        List<RecordedEvent> events = stopAndRead();
+        assertEquals(1, events.size());
+        assertEquals("mat-option", events.getFirst().getString("locator"));
+        assertEquals("timeout", events.getFirst().getString("result"));
+    }
+
+    @Test
+    void shouldPassUnwrappedLocatorsToPlaywright() {
+        Page page = mock(Page.class);
+        Locator first = mock(Locator.class);
+        Locator second = mock(Locator.class);
+        when(page.locator("a")).thenReturn(first);
+        when(page.locator("b")).thenReturn(second);
+        Page traced = BrowserSteps.trace(page);
+
+        traced.locator("a").or(traced.locator("b"));
+
+        verify(first).or(same(second));
+        assertSame(page, BrowserSteps.unwrap(traced));
+    }
+
+    private List<RecordedEvent> stopAndRead() throws IOException {
+        recording.stop();
+        Path file = Files.createTempFile("browser-steps", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("icbc.BrowserStep"))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.icbc_road_test_notifier.navigation.internal;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.options.LoadState;
+import com.microsoft.playwright.options.WaitForSelectorState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionWaitStrategyUnitTest {
+    private static final WaitProperties PROPERTIES = new WaitProperties(Duration.ofSeconds(5), Duration.ofSeconds(10),
+            Duration.ofSeconds(15), Duration.ofMillis(300), Duration.ofSeconds(5), Duration.ofMillis(30));
+
+    @Mock
+    private Page page;
+
+    private final ConditionWaitStrategy strategy = new ConditionWaitStrategy(PROPERTIES);
+
+    @Test
+    void shouldBoundDomContentLoadedWaitBySettleTimeout() {
+        strategy.settleAfterNetwork(page, 2000);
+
+        ArgumentCaptor<Page.WaitForLoadStateOptions> options = ArgumentCaptor.forClass(Page.WaitForLoadStateOptions.class);
+        verify(page).waitForLoadState(eq(LoadState.DOMCONTENTLOADED), options.capture());
+        assertEquals(5000.0, options.getValue().timeout);
+        verify(page).waitForFunction(anyString(), isNull(), any(Page.WaitForFunctionOptions.class));
+        verify(page, never()).waitForTimeout(anyDouble());
+    }
+
+    @Test
+    void shouldStillSettleWhenDomContentLoadedTimesOut() {
+        doThrow(new TimeoutError("Timeout 5000ms exceeded"))
+                .when(page).waitForLoadState(eq(LoadState.DOMCONTENTLOADED), any(Page.WaitForLoadStateOptions.class));
+
+        assertDoesNotThrow(() -> strategy.settleAfterNetwork(page, 2000));
+
+        verify(page).waitForFunction(anyString(), isNull(), any(Page.WaitForFunctionOptions.class));
+    }
+
+    @Test
+    void shouldContinueWhenPageDoesNotSettle() {
+        when(page.waitForFunction(anyString(), isNull(), any(Page.WaitForFunctionOptions.class)))
+                .thenThrow(new TimeoutError("Timeout 5000ms exceeded"));
+
+        assertDoesNotThrow(() -> strategy.settle(page, 2000));
+    }
+
+    @Test
+    void shouldWaitForElementUpToElementTimeout() {
+        Locator matches = mock(Locator.class);
+        Locator first = mock(Locator.class);
+        when(page.locator("#results")).thenReturn(matches);
+        when(matches.first()).thenReturn(first);
+        doThrow(new TimeoutError("Timeout 10000ms exceeded")).when(first).waitFor(any());
+
+        assertDoesNotThrow(() -> strategy.forElement(page, "#results", WaitForSelectorState.VISIBLE, 2000));
+
+        ArgumentCaptor<Locator.WaitForOptions> options = ArgumentCaptor.forClass(Locator.WaitForOptions.class);
+        verify(first).waitFor(options.capture());
+        assertEquals(WaitForSelectorState.VISIBLE, options.getValue().state);
+        assertEquals(10000.0, options.getValue().timeout);
+    }
+
+    @Test
+    void shouldRunActionWhileWaitingForResponse() {
+        AtomicBoolean clicked = new AtomicBoolean();
+        when(page.waitForResponse(any(Predicate.class), any(Page.WaitForResponseOptions.class), any(Runnable.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<Runnable>getArgument(2).run();
+                    throw new TimeoutError("Timeout 15000ms exceeded");
+                });
+
+        assertDoesNotThrow(() -> strategy.forResponse(page, "/deas-api/", () -> clicked.set(true), 2000));
+
+        assertTrue(clicked.get());
+        verify(page, never()).waitForTimeout(anyDouble());
+    }
+
+    @Test
+    void shouldTypeAtConfiguredKeystrokeDelay() {
+        assertEquals(30.0, strategy.keystrokeDelay(100));
+    }
+}
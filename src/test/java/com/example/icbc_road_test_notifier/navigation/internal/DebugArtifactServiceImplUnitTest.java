@@ -0,0 +1,142 @@
+package com.example.icbc_road_test_notifier.navigation.internal;
+
+import com.example.icbc_road_test_notifier.shared.CheckMetrics;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.ScreenshotType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DebugArtifactServiceImplUnitTest {
+    private static final Instant NOW = Instant.parse("2026-01-06T18:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private DebugArtifactServiceImpl service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void shouldCaptureViewportJpegAndWriteItInTheBackground() throws Exception {
+        service = newService(DebugArtifactProperties.Mode.VIEWPORT_JPEG, 4, DataSize.ofMegabytes(1));
+        service.start();
+        Page page = mock(Page.class);
+        when(page.screenshot(any())).thenReturn(new byte[]{1, 2, 3});
+
+        service.capture(page, "search", "Search error");
+
+        Path written = awaitSingleFile();
+        assertEquals("20260106-180000-000-search-search-error.jpg", written.getFileName().toString());
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(written));
+
+        ArgumentCaptor<Page.ScreenshotOptions> options = ArgumentCaptor.forClass(Page.ScreenshotOptions.class);
+        verify(page).screenshot(options.capture());
+        assertEquals(ScreenshotType.JPEG, options.getValue().type);
+        assertNotEquals(Boolean.TRUE, options.getValue().fullPage);
+        assertEquals(1, registry.get(CheckMetrics.SCREENSHOT_COUNTER).tag("source", "search").counter().count());
+    }
+
+    @Test
+    void shouldDropCapturesWhenTheQueueIsFull() {
+        // Writer not started, so nothing drains the single queue slot
+        service = newService(DebugArtifactProperties.Mode.DOM_HTML, 1, DataSize.ofMegabytes(1));
+        Page page = mock(Page.class);
+        when(page.content()).thenReturn("<html></html>");
+
+        service.capture(page, "parsing", "first");
+        service.capture(page, "parsing", "second");
+
+        assertEquals(1, registry.get("icbc.debug.artifacts.dropped").counter().count());
+        assertEquals(1, registry.get(CheckMetrics.SCREENSHOT_COUNTER).tag("source", "parsing").counter().count());
+    }
+
+    @Test
+    void shouldNotTouchThePageWhenOff() {
+        service = newService(DebugArtifactProperties.Mode.OFF, 4, DataSize.ofMegabytes(1));
+        Page page = mock(Page.class);
+
+        service.capture(page, "search", "search-error");
+
+        verifyNoInteractions(page);
+    }
+
+    @Test
+    void shouldRotateOutExpiredAndThenOldestArtifacts() throws IOException {
+        service = newService(DebugArtifactProperties.Mode.VIEWPORT_JPEG, 4, DataSize.ofBytes(10));
+        Path expired = artifact("20251228-080000-000-search-expired.jpg", 4, NOW.minus(Duration.ofDays(8)));
+        Path older = artifact("20260105-060000-000-search-older.jpg", 6, NOW.minus(Duration.ofHours(2)));
+        Path newer = artifact("20260105-070000-000-search-newer.jpg", 6, NOW.minus(Duration.ofHours(1)));
+
+        service.rotate();
+
+        assertFalse(Files.exists(expired));
+        assertFalse(Files.exists(older));
+        assertTrue(Files.exists(newer));
+    }
+
+    @Test
+    void shouldOnlyRotateFilesNamedLikeArtifacts() throws IOException {
+        service = newService(DebugArtifactProperties.Mode.VIEWPORT_JPEG, 4, DataSize.ofBytes(1));
+        Path notes = artifact("notes.txt", 10, NOW.minus(Duration.ofDays(30)));
+        Path oldPhoto = artifact("holiday.jpg", 10, NOW.minus(Duration.ofDays(30)));
+        Path capture = artifact("20251201-080000-000-search-error.zip", 10, NOW.minus(Duration.ofDays(30)));
+
+        service.rotate();
+
+        assertTrue(Files.exists(notes));
+        assertTrue(Files.exists(oldPhoto));
+        assertFalse(Files.exists(capture));
+    }
+
+    private DebugArtifactServiceImpl newService(DebugArtifactProperties.Mode mode, int queueCapacity, DataSize maxTotalSize) {
+        DebugArtifactProperties properties = new DebugArtifactProperties(mode, directory, queueCapacity, 60,
+                maxTotalSize, Duration.ofDays(7));
+        return new DebugArtifactServiceImpl(properties, new CheckMetrics(registry), registry,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private Path artifact(String name, int bytes, Instant modifiedAt) throws IOException {
+        Path file = Files.write(directory.resolve(name), new byte[bytes]);
+        Files.setLastModifiedTime(file, FileTime.from(modifiedAt));
+        return file;
+    }
+
+    private Path awaitSingleFile() throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            try (Stream<Path> files = Files.list(directory)) {
+                List<Path> written = files.toList();
+                if (!written.isEmpty() && Files.size(written.getFirst()) > 0) {
+                    return written.getFirst();
+                }
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("No debug artifact was written");
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.icbc_road_test_notifier.navigation.internal;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.LoadState;
+import com.microsoft.playwright.options.WaitForSelectorState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FixedDelayWaitStrategyUnitTest {
+
+    @Mock
+    private Page page;
+
+    private final FixedDelayWaitStrategy strategy = new FixedDelayWaitStrategy();
+
+    @Test
+    void shouldSleepForTheFixedDelay() {
+        strategy.settle(page, 2000);
+        strategy.forElement(page, "#results", WaitForSelectorState.VISIBLE, 1000);
+        strategy.forQuiescence(page, "#results", 500);
+
+        verify(page).waitForTimeout(2000);
+        verify(page).waitForTimeout(1000);
+        verify(page).waitForTimeout(500);
+        verify(page, never()).locator(anyString());
+    }
+
+    @Test
+    void shouldWaitForNetworkIdleBeforeSleeping() {
+        strategy.settleAfterNetwork(page, 3000);
+
+        InOrder order = inOrder(page);
+        order.verify(page).waitForLoadState(LoadState.NETWORKIDLE);
+        order.verify(page).waitForTimeout(3000);
+    }
+
+    @Test
+    void shouldRunActionThenSleep() {
+        Runnable action = mock(Runnable.class);
+
+        strategy.forResponse(page, "/deas-api/", action, 1500);
+
+        InOrder order = inOrder(action, page);
+        order.verify(action).run();
+        order.verify(page).waitForTimeout(1500);
+    }
+
+    @Test
+    void shouldNotSleepWithoutDelay() {
+        strategy.settle(page, 0);
+
+        verify(page, never()).waitForTimeout(anyDouble());
+        assertEquals(0.0, strategy.keystrokeDelay(0));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.icbc_road_test_notifier.navigation.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LocationCatalogUnitTest {
+
+    @Mock
+    private CatalogLocationRepository repository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LocationCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new LocationCatalog(repository, new ObjectMapper(), transactionManager, Duration.ofDays(30));
+    }
+
+    @Test
+    void shouldOnlyWriteNamesNotRecordedRecently() {
+        CatalogLocation kingsway = new CatalogLocation("Vancouver (Kingsway)", LocationKind.OFFICE, List.of(), false);
+        when(repository.findByKindAndDisplayNameIn(eq(LocationKind.OFFICE), anyCollection()))
+                .thenReturn(List.of(kingsway), List.of());
+
+        catalog.observe(LocationKind.OFFICE, List.of("Vancouver (Kingsway)"));
+        catalog.observe(LocationKind.OFFICE, List.of(" Vancouver (Kingsway) "));
+        catalog.observe(LocationKind.OFFICE, List.of("Vancouver (Kingsway)", "Vancouver (Point Grey)"));
+
+        // The second observation is skipped and the third only looks up the office it hasn't seen
+        verify(repository, times(2)).findByKindAndDisplayNameIn(eq(LocationKind.OFFICE), anyCollection());
+        verify(repository, times(4)).saveAll(anyList());
+        verify(repository).saveAll(argThat(saved -> saved.iterator().hasNext()
+                && saved.iterator().next().getDisplayName().equals("Vancouver (Point Grey)")));
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void shouldSwallowAConflictingInsertAndRetryTheNameLater() {
+        when(repository.findByKindAndDisplayNameIn(eq(LocationKind.OFFICE), anyCollection())).thenReturn(List.of());
+        when(repository.saveAll(anyList()))
+                .thenReturn(List.of())
+                .thenThrow(new DataIntegrityViolationException("catalog_location_kind_display_name_uk"))
+                .thenReturn(List.of());
+
+        catalog.observe(LocationKind.OFFICE, List.of("Vancouver (Point Grey)"));
+        catalog.observe(LocationKind.OFFICE, List.of("Vancouver (Point Grey)"));
+
+        verify(transactionManager).rollback(any());
+        verify(repository, times(2)).findByKindAndDisplayNameIn(eq(LocationKind.OFFICE), anyCollection());
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void shouldSkipEmptyNamesWithoutTouchingTheDatabase() {
+        catalog.observe(LocationKind.AREA, List.of(" ", ""));
+
+        verifyNoInteractions(repository);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.icbc_road_test_notifier.navigation.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocationIndexUnitTest {
+
+    private final LocationIndex index = LocationIndex.build(List.of(
+            new LocationIndex.Entry("Vancouver, BC", LocationKind.AREA, List.of("Van")),
+            new LocationIndex.Entry("North Vancouver, BC", LocationKind.AREA, List.of("North Van")),
+            new LocationIndex.Entry("Port Coquitlam, BC", LocationKind.AREA, List.of("PoCo")),
+            new LocationIndex.Entry("Coquitlam, BC", LocationKind.AREA, List.of()),
+            new LocationIndex.Entry("Vancouver driver licensing (Point Grey)", LocationKind.OFFICE, List.of())
+    ));
+
+    @Test
+    void shouldPreferTheEntryTheQueryExplainsFully() {
+        assertEquals("Vancouver, BC", resolveArea("vancouver"));
+        assertEquals("North Vancouver, BC", resolveArea("North Vancouver"));
+        assertEquals("Coquitlam, BC", resolveArea("Coquitlam"));
+    }
+
+    @Test
+    void shouldResolveAliasesAndTypos() {
+        assertEquals("Port Coquitlam, BC", resolveArea("poco"));
+        assertEquals("North Vancouver, BC", resolveArea("north van"));
+        assertEquals("Vancouver, BC", resolveArea("Vancuver"));
+    }
+
+    @Test
+    void shouldMatchPrefixesDirectlyAndFallBackToTyposOnAMiss() {
+        assertEquals("Port Coquitlam, BC", resolveArea("Port Coq"));
+        assertEquals("Vancouver driver licensing (Point Grey)",
+                index.resolve("Vancouver Pt Grey", LocationKind.OFFICE).orElseThrow().entry().name());
+        assertEquals("Coquitlam, BC", resolveArea("Coquitlan"));
+    }
+
+    @Test
+    void shouldKeepKindsApart() {
+        assertEquals("Vancouver driver licensing (Point Grey)",
+                index.resolve("point grey", LocationKind.OFFICE).orElseThrow().entry().name());
+        assertTrue(index.resolve("point grey", LocationKind.AREA).isEmpty());
+    }
+
+    @Test
+    void shouldIgnoreUnrelatedQueries() {
+        assertTrue(index.resolve("Kelowna", LocationKind.AREA).isEmpty());
+        assertTrue(index.resolve("driver licensing", LocationKind.AREA).isEmpty());
+    }
+
+    @Test
+    void shouldPickBestCandidateInPageOrder() {
+        List<String> titles = List.of(
+                "North Vancouver driver licensing",
+                "Vancouver driver licensing (Kingsway)",
+                "Vancouver driver licensing (Point Grey)"
+        );
+
+        assertEquals(OptionalInt.of(1), LocationIndex.bestCandidate("Vancouver, BC", titles));
+        assertEquals(OptionalInt.of(2), LocationIndex.bestCandidate("Point Grey", titles));
+        assertTrue(LocationIndex.bestCandidate("Surrey", titles).isEmpty());
+    }
+
+    private String resolveArea(String query) {
+        return index.resolve(query, LocationKind.AREA).orElseThrow().entry().name();
+    }
+}
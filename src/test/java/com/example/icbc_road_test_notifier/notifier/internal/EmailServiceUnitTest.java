@@ -1,39 +1,99 @@
 package com.example.icbc_road_test_notifier.notifier.internal;
 
-import com.example.icbc_road_test_notifier.appointment.AppointmentFound;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class EmailServiceUnitTest {
 
     @Mock
-    private JavaMailSender emailSender;
+    private MailDeliveryQueue deliveryQueue;
 
-    @InjectMocks
     private EmailService emailService;
 
+    @BeforeEach
+    void setUp() {
+        NotificationProperties properties = new NotificationProperties(
+                new NotificationProperties.Email(true, Duration.ofSeconds(60)), null, null, null);
+        emailService = new EmailService(deliveryQueue, properties, "default@example.com");
+    }
+
     @Test
-    void shouldSendEmail_WhenAppointmentEventIsReceived() {
+    void shouldSendEmail_WhenNotified() throws Exception {
+        when(deliveryQueue.submit(any())).thenReturn(CompletableFuture.completedFuture(null));
         String expectedBody = "Available appointments found: 1 dates";
-        AppointmentFound mockEvent = new AppointmentFound(expectedBody);
+        emailService.send(new Notification("ICBC N-Test Appointment Found!", expectedBody, null, null));
+
+        ArgumentCaptor<OutgoingMail> mailCaptor = ArgumentCaptor.forClass(OutgoingMail.class);
+        verify(deliveryQueue).submit(mailCaptor.capture());
+
+        OutgoingMail sentMail = mailCaptor.getValue();
+        assertEquals(expectedBody, sentMail.text());
+        assertEquals("ICBC N-Test Appointment Found!", sentMail.subject());
+        assertEquals("default@example.com", sentMail.to());
+    }
+
+    @Test
+    void shouldAddressProfileRecipient_WhenEventNamesOne() throws Exception {
+        when(deliveryQueue.submit(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        emailService.send(new Notification("Subject", "Found", "Surrey, BC", "learner@example.com"));
+
+        ArgumentCaptor<OutgoingMail> mailCaptor = ArgumentCaptor.forClass(OutgoingMail.class);
+        verify(deliveryQueue).submit(mailCaptor.capture());
+        assertEquals("learner@example.com", mailCaptor.getValue().to());
+        assertEquals("Surrey, BC", mailCaptor.getValue().location());
+    }
+
+    @Test
+    void shouldFail_WhenDeliveryFails() {
+        when(deliveryQueue.submit(any())).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("down")));
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> emailService.send(new Notification("Subject", "Found", null, null)));
+        assertEquals("down", failure.getCause().getMessage());
+    }
 
-        emailService.appointmentListener(mockEvent);
+    @Test
+    void shouldTreatMailStillQueuedAtTheDeadlineAsHandedOff() {
+        emailService = new EmailService(deliveryQueue, new NotificationProperties(
+                new NotificationProperties.Email(true, Duration.ofMillis(1100)), null, null, null), "default@example.com");
+        when(deliveryQueue.submit(any())).thenReturn(new CompletableFuture<>());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> emailService.send(new Notification("Subject", "Found", null, null)));
+    }
+
+    @Test
+    void shouldStopWaiting_WhenDispatcherCancels() throws Exception {
+        when(deliveryQueue.submit(any())).thenReturn(new CompletableFuture<>());
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
 
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(emailSender).send(messageCaptor.capture());
+        Thread sender = Thread.ofVirtual().start(() -> {
+            try {
+                emailService.send(new Notification("Subject", "Found", null, null));
+            } catch (Throwable e) {
+                thrown.set(e);
+            }
+        });
+        Thread.sleep(100);
+        sender.interrupt();
+        sender.join(Duration.ofSeconds(5));
 
-        SimpleMailMessage sentMessage = messageCaptor.getValue();
-        assertEquals(expectedBody, sentMessage.getText());
-        assertEquals("ICBC N-Test Appointment Found!", sentMessage.getSubject());
+        assertFalse(sender.isAlive());
+        assertInstanceOf(InterruptedException.class, thrown.get());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,101 @@
+package com.example.icbc_road_test_notifier.notifier.internal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.modulith.events.EventPublication;
+import org.springframework.modulith.events.IncompleteEventPublications;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventPublicationMaintenanceUnitTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-10T12:00:00Z");
+
+    @Mock
+    private IncompleteEventPublications incompletePublications;
+
+    private JdbcTemplate jdbcTemplate;
+    private EventPublicationMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:publications-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        EventPublicationProperties properties = new EventPublicationProperties(
+                2, Duration.ZERO, Duration.ofDays(7), 3, Duration.ofHours(1));
+        maintenance = new EventPublicationMaintenance(incompletePublications, jdbcTemplate, properties,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void shouldDeleteOnlyCompletedPublicationsPastRetentionInBatches() {
+        IntStream.range(0, 7).forEach(i -> insert(NOW.minus(Duration.ofDays(30)), NOW.minus(Duration.ofDays(10))));
+        insert(NOW.minus(Duration.ofDays(2)), NOW.minus(Duration.ofDays(1)));
+        insert(NOW.minus(Duration.ofDays(30)), null);
+
+        maintenance.compact();
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_publication", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM event_publication WHERE completion_date IS NULL", Integer.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldResubmitPublicationsFromBeforeStartupInBatches() {
+        List<EventPublication> outstanding = IntStream.range(0, 5)
+                .mapToObj(i -> publication(NOW.minus(Duration.ofMinutes(10 - i))))
+                .toList();
+        List<EventPublication> stillIncomplete = new ArrayList<>(outstanding);
+        stillIncomplete.add(publication(NOW.plusSeconds(5)));
+
+        List<Integer> batches = new ArrayList<>();
+        doAnswer(invocation -> {
+            Predicate<EventPublication> filter = invocation.getArgument(0);
+            batches.add((int) stillIncomplete.stream().filter(filter).count());
+            return null;
+        }).when(incompletePublications).resubmitIncompletePublications(any());
+
+        maintenance.resubmitInBatches();
+
+        assertEquals(List.of(2, 2, 1), batches);
+    }
+
+    private EventPublication publication(Instant publishedAt) {
+        EventPublication publication = mock(EventPublication.class);
+        lenient().when(publication.getIdentifier()).thenReturn(UUID.randomUUID());
+        lenient().when(publication.getPublicationDate()).thenReturn(publishedAt);
+        return publication;
+    }
+
+    private void insert(Instant publishedAt, Instant completedAt) {
+        jdbcTemplate.update("""
+                INSERT INTO event_publication (id, listener_id, event_type, serialized_event, publication_date, completion_date)
+                VALUES (?, 'listener', 'AppointmentFound', '{}', ?, ?)
+                """, UUID.randomUUID(), publishedAt.atOffset(ZoneOffset.UTC),
+                completedAt == null ? null : completedAt.atOffset(ZoneOffset.UTC));
+    }
+}
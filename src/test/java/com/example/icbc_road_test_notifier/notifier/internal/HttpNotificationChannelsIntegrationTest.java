@@ -0,0 +1,136 @@
+package com.example.icbc_road_test_notifier.notifier.internal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpNotificationChannelsIntegrationTest {
+
+    private static final Notification NOTIFICATION =
+            new Notification("Appointment Found", "New appointments found: 1 dates", "Surrey, BC", null);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Request> received = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private volatile int status = 200;
+    private volatile Duration stall = Duration.ZERO;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldPostJsonToEveryWebhook() throws Exception {
+        WebhookChannel channel = new WebhookChannel(properties(
+                new NotificationProperties.Webhook(true, List.of(stubUri("/hooks/a"), stubUri("/hooks/b")), Duration.ofSeconds(5)),
+                null), objectMapper);
+
+        channel.send(NOTIFICATION);
+
+        assertEquals(2, received.size());
+        assertEquals(List.of("/hooks/a", "/hooks/b"), received.stream().map(Request::path).sorted().toList());
+        JsonNode payload = objectMapper.readTree(received.getFirst().body());
+        assertEquals("New appointments found: 1 dates", payload.get("text").asText());
+        assertEquals("Surrey, BC", payload.get("location").asText());
+        assertEquals("application/json", received.getFirst().contentType());
+    }
+
+    @Test
+    void shouldFailWebhook_WhenEndpointRejects() {
+        status = 503;
+        WebhookChannel channel = new WebhookChannel(properties(
+                new NotificationProperties.Webhook(true, List.of(stubUri("/hooks/a")), Duration.ofSeconds(5)),
+                null), objectMapper);
+
+        assertThrows(IOException.class, () -> channel.send(NOTIFICATION));
+    }
+
+    @Test
+    void shouldPostFormToSmsGatewayPerRecipient() throws Exception {
+        SmsChannel channel = new SmsChannel(properties(null, new NotificationProperties.Sms(true,
+                stubUri("/Messages.json"), "account", "token", "+16045550000",
+                List.of("+16045551111", "+16045552222"), Duration.ofSeconds(5))));
+
+        channel.send(NOTIFICATION);
+
+        assertEquals(2, received.size());
+        String form = URLDecoder.decode(received.getFirst().body(), StandardCharsets.UTF_8);
+        assertTrue(form.contains("To=+16045551111"));
+        assertTrue(form.contains("From=+16045550000"));
+        assertTrue(form.contains("Body=New appointments found: 1 dates"));
+        assertTrue(received.getFirst().authorization().startsWith("Basic "));
+    }
+
+    @Test
+    void shouldCountAStalledWebhookAsOneBreakerFailure() throws Exception {
+        stall = Duration.ofSeconds(3);
+        WebhookChannel channel = new WebhookChannel(properties(
+                new NotificationProperties.Webhook(true, List.of(stubUri("/hooks/a")), Duration.ofMillis(300)),
+                null), objectMapper);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        NotificationDispatcher dispatcher = new NotificationDispatcher(List.of(channel), new NotificationProperties(null,
+                null, null, new NotificationProperties.CircuitBreaker(2, Duration.ofMinutes(1))), registry);
+        try {
+            assertEquals(NotificationDispatcher.Outcome.TIMEOUT, dispatcher.dispatch(NOTIFICATION).get("webhook"));
+
+            // Past the request's own timeout, which used to surface as a second, late failure
+            Thread.sleep(1000);
+
+            assertEquals(0.0, registry.get("icbc.notification.circuit.open").gauge().value());
+            assertNull(registry.find(NotificationDispatcher.DELIVERY_TIMER).tag("outcome", "failure").timer());
+            assertEquals(1, registry.get(NotificationDispatcher.DELIVERY_TIMER).tag("outcome", "timeout").timer().count());
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    private NotificationProperties properties(NotificationProperties.Webhook webhook, NotificationProperties.Sms sms) {
+        return new NotificationProperties(null, webhook, sms, null);
+    }
+
+    private URI stubUri(String path) {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Thread.sleep(stall);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        received.add(new Request(
+                exchange.getRequestURI().getPath(),
+                exchange.getRequestHeaders().getFirst("Content-Type"),
+                exchange.getRequestHeaders().getFirst("Authorization"),
+                new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private record Request(String path, String contentType, String authorization, String body) {
+    }
+}
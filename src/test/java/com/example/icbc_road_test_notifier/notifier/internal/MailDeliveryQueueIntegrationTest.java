@@ -0,0 +1,134 @@
+package com.example.icbc_road_test_notifier.notifier.internal;
+
+import com.example.icbc_road_test_notifier.shared.CheckMetrics;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MailDeliveryQueueIntegrationTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("sender@example.com", "secret"))
+            .withPerMethodLifecycle(true);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private MailDeliveryQueue deliveryQueue;
+
+    @AfterEach
+    void tearDown() {
+        deliveryQueue.stop();
+    }
+
+    @Test
+    void shouldSendQueuedMailsInOneBatchOverOneConnection() throws Exception {
+        deliveryQueue = startQueue(1, 4);
+
+        List<CompletableFuture<Void>> results = IntStream.range(0, 5)
+                .mapToObj(i -> deliveryQueue.submit(new OutgoingMail(
+                        i % 2 == 0 ? "first@example.com" : "second@example.com",
+                        "Appointment Found", "Slot " + i, "Surrey, BC")))
+                .toList();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(5, received.length);
+        assertEquals(3, greenMail.getReceivedMessagesForDomain("first@example.com").length);
+        assertEquals(2, greenMail.getReceivedMessagesForDomain("second@example.com").length);
+        assertEquals(1.0, registry.get("icbc.mail.connections.opened").counter().count());
+        assertEquals(5, registry.get(MailDeliveryQueue.SEND_TIMER).tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void shouldReconnectAndRetryAfterServerRestart() {
+        deliveryQueue = startQueue(1, 4);
+        deliveryQueue.submit(new OutgoingMail("first@example.com", "Appointment Found", "Before", null)).join();
+
+        greenMail.reset();
+        greenMail.setUser("sender@example.com", "secret");
+        deliveryQueue.submit(new OutgoingMail("first@example.com", "Appointment Found", "After", null)).join();
+
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        assertEquals(2.0, registry.get("icbc.mail.connections.opened").counter().count());
+    }
+
+    @Test
+    void shouldFailAfterMaxAttempts_WhenServerIsDown() {
+        greenMail.stop();
+        deliveryQueue = startQueue(1, 2);
+
+        CompletableFuture<Void> result = deliveryQueue.submit(
+                new OutgoingMail("first@example.com", "Appointment Found", "Lost", null));
+
+        assertThrows(CompletionException.class, result::join);
+        assertEquals(1.0, registry.get("icbc.mail.retries").counter().count());
+        assertEquals(2, registry.get(MailDeliveryQueue.SEND_TIMER).tag("outcome", "failure").timer().count());
+        assertNull(registry.find(CheckMetrics.FAILURE_COUNTER).counter());
+    }
+
+    @Test
+    void shouldFailUnexpectedErrorsPerMailAndKeepDelivering() {
+        deliveryQueue = startQueue(1, 4);
+
+        // MimeMessageHelper rejects a null recipient with an IllegalArgumentException
+        CompletableFuture<Void> broken = deliveryQueue.submit(new OutgoingMail(null, "Appointment Found", "Broken", null));
+        CompletableFuture<Void> fine = deliveryQueue.submit(new OutgoingMail("first@example.com", "Appointment Found", "Fine", null));
+
+        CompletionException failure = assertThrows(CompletionException.class, broken::join);
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+        fine.join();
+        assertEquals(1, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void shouldFailScheduledRetriesOnStop() throws Exception {
+        greenMail.stop();
+        deliveryQueue = startQueue(1, 4, Duration.ofMinutes(1));
+        CompletableFuture<Void> result = deliveryQueue.submit(
+                new OutgoingMail("first@example.com", "Appointment Found", "Pending", null));
+        while (registry.get("icbc.mail.retries").counter().count() < 1) {
+            Thread.sleep(10);
+        }
+
+        deliveryQueue.stop();
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+    }
+
+    private MailDeliveryQueue startQueue(int connections, int maxAttempts) {
+        return startQueue(connections, maxAttempts, Duration.ofMillis(50));
+    }
+
+    private MailDeliveryQueue startQueue(int connections, int maxAttempts, Duration initialBackoff) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        mailSender.setUsername("sender@example.com");
+        mailSender.setPassword("secret");
+        mailSender.getJavaMailProperties().put("mail.smtp.auth", "true");
+
+        MailDeliveryProperties properties = new MailDeliveryProperties(connections, 20, Duration.ofMillis(200), 100,
+                maxAttempts, initialBackoff, initialBackoff.multipliedBy(4), Duration.ofMinutes(1));
+        MailDeliveryQueue queue = new MailDeliveryQueue(mailSender, properties, registry,
+                "sender@example.com");
+        queue.start();
+        return queue;
+    }
+}
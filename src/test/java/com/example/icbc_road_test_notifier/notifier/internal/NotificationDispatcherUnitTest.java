@@ -0,0 +1,145 @@
+package com.example.icbc_road_test_notifier.notifier.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentFound;
+import com.example.icbc_road_test_notifier.notifier.internal.NotificationDispatcher.Outcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationDispatcherUnitTest {
+
+    private static final Notification NOTIFICATION = new Notification("Subject", "Found", "Surrey, BC", null);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock();
+    private NotificationDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void shouldNotWaitForSlowChannelBeyondItsTimeout() {
+        FakeChannel fast = new FakeChannel("webhook", Duration.ofSeconds(5), Duration.ZERO, false);
+        FakeChannel slow = new FakeChannel("email", Duration.ofMillis(200), Duration.ofSeconds(30), false);
+        dispatcher = newDispatcher(List.of(slow, fast));
+
+        long start = System.nanoTime();
+        Map<String, Outcome> outcomes = dispatcher.dispatch(NOTIFICATION);
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+        assertEquals(Outcome.TIMEOUT, outcomes.get("email"));
+        assertEquals(Outcome.SUCCESS, outcomes.get("webhook"));
+        assertEquals(1, registry.get(NotificationDispatcher.DELIVERY_TIMER)
+                .tags("channel", "webhook", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void shouldOpenCircuitAfterConsecutiveFailuresAndRetryAfterOpenDuration() {
+        FakeChannel failing = new FakeChannel("sms", Duration.ofSeconds(1), Duration.ZERO, true);
+        dispatcher = newDispatcher(List.of(failing));
+
+        assertEquals(Outcome.FAILURE, dispatcher.dispatch(NOTIFICATION).get("sms"));
+        assertEquals(Outcome.FAILURE, dispatcher.dispatch(NOTIFICATION).get("sms"));
+        assertEquals(Outcome.REJECTED, dispatcher.dispatch(NOTIFICATION).get("sms"));
+        assertEquals(2, failing.calls.get());
+
+        clock.advance(Duration.ofMinutes(2));
+        failing.failing = false;
+        assertEquals(Outcome.SUCCESS, dispatcher.dispatch(NOTIFICATION).get("sms"));
+        assertEquals(Outcome.SUCCESS, dispatcher.dispatch(NOTIFICATION).get("sms"));
+    }
+
+    @Test
+    void shouldFailEventOnlyWhenNoChannelDelivered() {
+        FakeChannel failing = new FakeChannel("sms", Duration.ofSeconds(1), Duration.ZERO, true);
+        FakeChannel working = new FakeChannel("webhook", Duration.ofSeconds(1), Duration.ZERO, false);
+        dispatcher = newDispatcher(List.of(failing, working));
+        AppointmentFound event = new AppointmentFound("Found", "Surrey, BC");
+
+        assertDoesNotThrow(() -> dispatcher.appointmentListener(event));
+
+        working.failing = true;
+        assertThrows(IllegalStateException.class, () -> dispatcher.appointmentListener(event));
+    }
+
+    private NotificationDispatcher newDispatcher(List<NotificationChannel> channels) {
+        NotificationProperties properties = new NotificationProperties(null, null, null,
+                new NotificationProperties.CircuitBreaker(2, Duration.ofMinutes(1)));
+        return new NotificationDispatcher(channels, properties, registry, clock);
+    }
+
+    private static class FakeChannel implements NotificationChannel {
+        private final String name;
+        private final Duration timeout;
+        private final Duration delay;
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean failing;
+
+        FakeChannel(String name, Duration timeout, Duration delay, boolean failing) {
+            this.name = name;
+            this.timeout = timeout;
+            this.delay = delay;
+            this.failing = failing;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public Duration timeout() {
+            return timeout;
+        }
+
+        @Override
+        public void send(Notification notification) throws Exception {
+            calls.incrementAndGet();
+            Thread.sleep(delay);
+            if (failing) {
+                throw new IllegalStateException(name + " is down");
+            }
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-06-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.icbc_road_test_notifier.shared;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckMetricsUnitTest {
+    private SimpleMeterRegistry registry;
+    private CheckMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new CheckMetrics(registry);
+    }
+
+    @Test
+    void shouldTagSuccessfulCheckByNormalisedLocationWithoutCountingAFailure() {
+        assertEquals("done", metrics.timeCheck("  Surrey,   BC ", () -> "done"));
+
+        assertEquals(1, registry.get(CheckMetrics.CHECK_TIMER)
+                .tags("location", "surrey, bc", "outcome", "success").timer().count());
+        assertNull(registry.find(CheckMetrics.FAILURE_COUNTER).counter());
+    }
+
+    @Test
+    void shouldRecordFailedPhaseAndCountItByPhaseAndLocation() {
+        assertThrows(IllegalStateException.class, () -> metrics.time("parse", "Surrey, BC", () -> {
+            throw new IllegalStateException("portal changed");
+        }));
+
+        assertEquals(1, registry.get(CheckMetrics.PHASE_TIMER)
+                .tags("phase", "parse", "location", "surrey, bc", "outcome", "failure").timer().count());
+        assertEquals(1.0, registry.get(CheckMetrics.FAILURE_COUNTER)
+                .tags("phase", "parse", "location", "surrey, bc").counter().count());
+    }
+
+    @Test
+    void shouldTagMissingLocationAsNone() {
+        metrics.time("session", (String) null, () -> {});
+
+        assertEquals(1, registry.get(CheckMetrics.PHASE_TIMER)
+                .tags("phase", "session", "location", CheckMetrics.NO_LOCATION).timer().count());
+    }
+
+    @Test
+    void shouldCapDistinctLocationTags() {
+        IntStream.range(0, CheckMetrics.MAX_LOCATION_TAGS).forEach(i -> metrics.timeCheck("Office " + i, () -> i));
+
+        metrics.timeCheck("One office too many", () -> null);
+        metrics.timeCheck("OFFICE 0", () -> null);
+
+        assertEquals(1, registry.get(CheckMetrics.CHECK_TIMER).tag("location", CheckMetrics.OTHER_LOCATION).timer().count());
+        assertEquals(2, registry.get(CheckMetrics.CHECK_TIMER).tag("location", "office 0").timer().count());
+        assertEquals(CheckMetrics.MAX_LOCATION_TAGS + 1, registry.find(CheckMetrics.CHECK_TIMER).timers().size());
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckPlannerUnitTest {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Vancouver");
+    // A Tuesday
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 3);
+
+    static WatchScheduleProperties properties(int dailyBudget) {
+        return new WatchScheduleProperties(Duration.ofMinutes(15), 4, false,
+                new WatchScheduleProperties.Adaptive(ZONE, Duration.ofMinutes(30), Duration.ofMinutes(5),
+                        Duration.ofHours(1), Duration.ofDays(28), 5, 0.2, Duration.ofMinutes(5), Duration.ofHours(2),
+                        dailyBudget));
+    }
+
+    // Four weeks of Surrey releasing cancellations at 07:10 every weekday
+    static ReleaseHistogram morningReleaseTrace() {
+        ReleaseHistogram histogram = new ReleaseHistogram(ZONE, Duration.ofMinutes(30));
+        for (int day = 1; day <= 28; day++) {
+            LocalDate date = DAY.minusDays(day);
+            if (date.getDayOfWeek().getValue() <= 5) {
+                histogram.record("Surrey, BC", at(date, 7, 10));
+            }
+        }
+        return histogram;
+    }
+
+    static Instant at(LocalDate date, int hour, int minute) {
+        return date.atTime(LocalTime.of(hour, minute)).atZone(ZONE).toInstant();
+    }
+
+    @Test
+    void shouldCheckDenselyInReleaseWindowAndSparselyOutsideIt() {
+        CheckPlanner planner = new CheckPlanner(properties(0), morningReleaseTrace());
+
+        assertEquals(Duration.ofMinutes(5), planner.intervalAt("Surrey, BC", at(DAY, 7, 15)));
+        assertEquals(Duration.ofHours(1), planner.intervalAt("Surrey, BC", at(DAY, 3, 0)));
+        // Neighbouring buckets are smoothed in, so the window ramps up rather than switching on
+        Duration shoulder = planner.intervalAt("surrey, bc ", at(DAY, 6, 45));
+        assertTrue(shoulder.compareTo(Duration.ofMinutes(5)) > 0 && shoulder.compareTo(Duration.ofHours(1)) < 0);
+    }
+
+    @Test
+    void shouldUseDefaultIntervalUntilEnoughReleasesAreSeen() {
+        ReleaseHistogram histogram = new ReleaseHistogram(ZONE, Duration.ofMinutes(30));
+        histogram.record("Surrey, BC", at(DAY.minusDays(1), 7, 10));
+        CheckPlanner planner = new CheckPlanner(properties(0), histogram);
+
+        assertEquals(Duration.ofMinutes(15), planner.intervalAt("Surrey, BC", at(DAY, 7, 15)));
+    }
+
+    @Test
+    void shouldFallBackToAllLocationsForUnseenOffice() {
+        CheckPlanner planner = new CheckPlanner(properties(0), morningReleaseTrace());
+
+        assertEquals(Duration.ofMinutes(5), planner.intervalAt("Burnaby, BC", at(DAY, 7, 15)));
+    }
+
+    @Test
+    void shouldNotSleepThroughStartOfReleaseWindow() {
+        CheckPlanner planner = new CheckPlanner(properties(0), morningReleaseTrace());
+        Instant now = at(DAY, 6, 5);
+
+        Instant next = planner.nextCheck("Surrey, BC", now, 0, 1.0);
+
+        assertEquals(at(DAY, 6, 30), next);
+    }
+
+    @Test
+    void shouldApplyJitterWithinBounds() {
+        CheckPlanner planner = new CheckPlanner(properties(0), morningReleaseTrace());
+        Instant now = at(DAY, 13, 0);
+
+        assertEquals(now.plus(Duration.ofMinutes(48)), planner.nextCheck("Surrey, BC", now, 0, -1.0));
+        assertEquals(now.plus(Duration.ofMinutes(60)), planner.nextCheck("Surrey, BC", now, 0, 0.0));
+    }
+
+    @Test
+    void shouldBackOffExponentiallyAfterFailures() {
+        CheckPlanner planner = new CheckPlanner(properties(0), morningReleaseTrace());
+        Instant now = at(DAY, 7, 15);
+
+        assertEquals(now.plus(Duration.ofMinutes(5)), planner.nextCheck("Surrey, BC", now, 1, 0.0));
+        assertEquals(now.plus(Duration.ofMinutes(20)), planner.nextCheck("Surrey, BC", now, 3, 0.0));
+        assertEquals(now.plus(Duration.ofHours(2)), planner.nextCheck("Surrey, BC", now, 30, 0.0));
+    }
+
+    @Test
+    void shouldLimitChecksInAnyRolling24Hours() {
+        CheckBudget budget = new CheckBudget(2);
+        Instant now = at(DAY, 0, 0);
+
+        assertTrue(budget.tryAcquire(now));
+        assertTrue(budget.tryAcquire(now.plus(Duration.ofHours(1))));
+        assertFalse(budget.tryAcquire(now.plus(Duration.ofHours(2))));
+        assertTrue(budget.tryAcquire(now.plus(Duration.ofHours(24))));
+        assertFalse(budget.tryAcquire(now.plus(Duration.ofHours(24))));
+    }
+}
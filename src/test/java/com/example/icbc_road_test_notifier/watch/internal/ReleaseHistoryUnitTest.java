@@ -0,0 +1,64 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentFound;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReleaseHistoryUnitTest {
+    // A Monday, 16:10 in Vancouver
+    private static final Instant NOW = Instant.parse("2026-01-06T00:10:00Z");
+
+    private SlotReleaseRepository repository;
+    private ReleaseHistory history;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(SlotReleaseRepository.class);
+        history = new ReleaseHistory(repository, CheckPlannerUnitTest.properties(0), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void shouldRecordReleaseAtTheClocksTime() {
+        history.onAppointmentFound(new AppointmentFound("Found", "Surrey, BC", null, false));
+
+        ArgumentCaptor<SlotRelease> saved = ArgumentCaptor.forClass(SlotRelease.class);
+        verify(repository).save(saved.capture());
+        assertEquals(NOW, saved.getValue().getObservedAt());
+        assertEquals(1.0, history.histogram().intensity("Surrey, BC", NOW, 1).orElseThrow());
+    }
+
+    @Test
+    void shouldIgnoreSlotsReportedByTheFirstCheckAfterStartup() {
+        history.onAppointmentFound(new AppointmentFound("Found", "Surrey, BC", null, true));
+
+        verify(repository, never()).save(any());
+        assertTrue(history.histogram().intensity("Surrey, BC", NOW, 1).isEmpty());
+    }
+
+    @Test
+    void shouldCountOneReleasePerLocationAndBucket() {
+        history.onAppointmentFound(new AppointmentFound("Found", "Surrey, BC", "first@example.com", false));
+        history.onAppointmentFound(new AppointmentFound("Found", "Surrey, BC", "second@example.com", false));
+        history.onAppointmentFound(new AppointmentFound("Found", "Burnaby, BC", "first@example.com", false));
+
+        verify(repository, times(2)).save(any());
+    }
+
+    @Test
+    void shouldPruneAndReloadRelativeToTheClock() {
+        history.prune();
+
+        verify(repository).deleteByObservedAtBefore(NOW.minus(Duration.ofDays(28)));
+        verify(repository).findByObservedAtAfter(NOW.minus(Duration.ofDays(28)));
+    }
+}
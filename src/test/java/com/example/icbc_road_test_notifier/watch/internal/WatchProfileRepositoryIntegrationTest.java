@@ -0,0 +1,81 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import com.example.icbc_road_test_notifier.shared.DaysOfTheWeek;
+import com.example.icbc_road_test_notifier.shared.TimePreference;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(KeywordCipher.class)
+class WatchProfileRepositoryIntegrationTest {
+
+    @Autowired
+    private WatchProfileRepository repository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldStoreKeywordEncryptedAndReadItBack() {
+        Long id = repository.save(profile("1234567", "secret-keyword")).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        String stored = jdbcTemplate.queryForObject("SELECT keyword FROM watch_profile WHERE id = ?", String.class, id);
+        WatchProfile loaded = repository.findById(id).orElseThrow();
+
+        assertTrue(stored.startsWith(KeywordCipher.PREFIX));
+        assertFalse(stored.contains("secret-keyword"));
+        assertEquals("secret-keyword", loaded.getKeyword());
+        assertEquals("secret-keyword", loaded.toConfig().keyword());
+    }
+
+    @Test
+    void shouldReadKeywordsStoredBeforeEncryption() {
+        Long id = repository.save(profile("1234567", "secret-keyword")).getId();
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE watch_profile SET keyword = ? WHERE id = ?", "legacy-keyword", id);
+        entityManager.clear();
+
+        assertEquals("legacy-keyword", repository.findById(id).orElseThrow().getKeyword());
+    }
+
+    @Test
+    void shouldFindEnabledProfilesAndExistingLicences() {
+        WatchProfile paused = profile("7654321", "other");
+        paused.setEnabled(false);
+        repository.save(profile("1234567", "secret-keyword"));
+        repository.save(paused);
+
+        assertEquals(List.of("1234567"), repository.findByEnabledTrue().stream()
+                .map(WatchProfile::getLicenseNumber)
+                .toList());
+        assertTrue(repository.existsByLicenseNumber("7654321"));
+        assertFalse(repository.existsByLicenseNumber("1111111"));
+    }
+
+    private static WatchProfile profile(String licenseNumber, String keyword) {
+        WatchProfile profile = new WatchProfile();
+        profile.setLastName("Doe");
+        profile.setLicenseNumber(licenseNumber);
+        profile.setKeyword(keyword);
+        profile.setPreferredLocation("Surrey, BC");
+        profile.setAdditionalLocations(List.of("Burnaby, BC"));
+        profile.setPreferredDays(EnumSet.of(DaysOfTheWeek.MONDAY));
+        profile.setTimePreference(TimePreference.ANY);
+        profile.setStartDate(LocalDate.of(2026, 1, 1));
+        profile.setEndDate(LocalDate.of(2026, 12, 31));
+        return profile;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.icbc_road_test_notifier.watch.internal;
+
+import com.example.icbc_road_test_notifier.appointment.AppointmentCheckService;
+import com.example.icbc_road_test_notifier.appointment.AppointmentResults;
+import com.example.icbc_road_test_notifier.appointment.CheckJob;
+import com.example.icbc_road_test_notifier.shared.DaysOfTheWeek;
+import com.example.icbc_road_test_notifier.shared.TimePreference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static com.example.icbc_road_test_notifier.watch.internal.CheckPlannerUnitTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WatchSchedulerUnitTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 3);
+
+    @Mock
+    private WatchProfileRepository repository;
+
+    @Mock
+    private AppointmentCheckService checkService;
+
+    private final MutableClock clock = new MutableClock();
+    private final List<Instant> checks = new ArrayList<>();
+    private boolean failing;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findByEnabledTrue()).thenReturn(List.of(profile("1234567", "Surrey, BC")));
+        when(checkService.submit(any())).thenAnswer(invocation -> {
+            checks.add(clock.instant());
+            CheckJob job = mock(CheckJob.class);
+            when(job.getCompletion()).thenReturn(failing
+                    ? CompletableFuture.failedFuture(new IllegalStateException("portal down"))
+                    : CompletableFuture.completedFuture(AppointmentResults.empty()));
+            return job;
+        });
+    }
+
+    @Test
+    void shouldConcentrateChecksInReleaseWindow() {
+        WatchScheduler scheduler = newScheduler(0);
+
+        simulateDay(scheduler);
+
+        long hot = checksBetween(7, 8);
+        long quiet = checksBetween(2, 3);
+        assertTrue(hot >= 6, "expected dense checks in the release window but got " + hot);
+        assertTrue(quiet <= 2, "expected sparse checks overnight but got " + quiet);
+        assertTrue(checks.size() < 24 * 4, "expected fewer checks than a fixed 15 minute poll but got " + checks.size());
+    }
+
+    @Test
+    void shouldStayWithinDailyBudget() {
+        WatchScheduler scheduler = newScheduler(10);
+
+        simulateDay(scheduler);
+
+        assertEquals(10, checks.size());
+    }
+
+    @Test
+    void shouldBackOffWhileChecksKeepFailing() {
+        failing = true;
+        WatchScheduler scheduler = newScheduler(0);
+
+        simulateDay(scheduler);
+
+        Duration firstGap = Duration.between(checks.get(0), checks.get(1));
+        Duration laterGap = Duration.between(checks.get(5), checks.get(6));
+        assertTrue(laterGap.compareTo(firstGap) > 0);
+        assertEquals(Duration.ofHours(2), Duration.between(checks.get(checks.size() - 2), checks.getLast()));
+    }
+
+    private WatchScheduler newScheduler(int dailyBudget) {
+        WatchScheduleProperties properties = properties(dailyBudget);
+        return new WatchScheduler(repository, checkService, null,
+                new CheckPlanner(properties, morningReleaseTrace()), new CheckBudget(dailyBudget),
+                1, clock, new Random(42));
+    }
+
+    // Ticks once a minute through the simulated Tuesday
+    private void simulateDay(WatchScheduler scheduler) {
+        clock.now = at(DAY, 0, 0);
+        Instant end = at(DAY.plusDays(1), 0, 0);
+        while (clock.now.isBefore(end)) {
+            scheduler.checkDueProfiles();
+            clock.now = clock.now.plus(Duration.ofMinutes(1));
+        }
+    }
+
+    private long checksBetween(int fromHour, int toHour) {
+        return checks.stream()
+                .filter(check -> !check.isBefore(at(DAY, fromHour, 0)) && check.isBefore(at(DAY, toHour, 0)))
+                .count();
+    }
+
+    private static WatchProfile profile(String licenseNumber, String location) {
+        WatchProfile profile = new WatchProfile();
+        profile.setLastName("Doe");
+        profile.setLicenseNumber(licenseNumber);
+        profile.setKeyword("secret");
+        profile.setPreferredLocation(location);
+        profile.setPreferredDays(Set.of(DaysOfTheWeek.TUESDAY));
+        profile.setTimePreference(TimePreference.ANY);
+        profile.setStartDate(DAY);
+        profile.setEndDate(DAY.plusMonths(3));
+        return profile;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-06-01T12:00:00Z");
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}